@@ -0,0 +1,46 @@
+package com.ondongne.backend.domain.crawler.dto;
+
+import lombok.*;
+
+/**
+ * 크롤링 캐시 항목 (추출된 본문 + 재검증용 정보)
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CrawlCacheEntry {
+
+    /**
+     * 본문을 추출한 실제 페이지 URL (재검증 요청 대상, 네이버는 iframe 내부 주소)
+     */
+    private String finalUrl;
+
+    private String etag;
+
+    private String lastModified;
+
+    /**
+     * 응답 본문 바이트의 해시 (검증 헤더가 없는 서버에서도 바뀌지 않았으면 파싱 생략)
+     */
+    private String bodyHash;
+
+    /**
+     * 추출된 본문의 해시 (바뀌면 이 원본으로 만든 퀴즈 캐시를 무효화)
+     */
+    private String textHash;
+
+    private String text;
+
+    // 메모리/Redis 용량 계산용 대략적인 크기 (bytes)
+    public long estimatedBytes() {
+        long size = 256;
+        for (String value : new String[]{finalUrl, etag, lastModified, bodyHash, textHash, text}) {
+            if (value != null) {
+                size += value.length() * 2L;
+            }
+        }
+        return size;
+    }
+}
@@ -0,0 +1,19 @@
+package com.ondongne.backend.domain.crawler.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 크롤링 결과
+ */
+@Getter
+@AllArgsConstructor
+public class CrawledContent {
+
+    private final String text;
+
+    /**
+     * 이전에 캐시해 둔 본문과 내용이 달라졌는지 여부 (처음 크롤링이면 false)
+     */
+    private final boolean changed;
+}
@@ -0,0 +1,38 @@
+package com.ondongne.backend.domain.crawler.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 크롤러가 내려받은 페이지 (리다이렉트를 따라간 최종 응답)
+ */
+@Getter
+@Builder
+public class FetchedPage {
+
+    /**
+     * 리다이렉트를 모두 따라간 최종 URL (상대 경로 해석 기준)
+     */
+    private final String finalUrl;
+
+    private final int statusCode;
+
+    /**
+     * 압축 해제된 본문 바이트 (최대 크기 제한 적용)
+     */
+    private final byte[] body;
+
+    /**
+     * Content-Type 헤더의 charset (없으면 null, Jsoup이 meta 태그로 판별)
+     */
+    private final String charset;
+
+    /**
+     * 조건부 요청에 304로 응답 (본문 없음, 캐시 그대로 사용)
+     */
+    private final boolean notModified;
+
+    private final String etag;
+
+    private final String lastModified;
+}
@@ -0,0 +1,29 @@
+package com.ondongne.backend.domain.crawler.extractor;
+
+import org.jsoup.nodes.Document;
+
+import java.net.URI;
+
+/**
+ * 사이트별 본문 추출기
+ * ContentExtractorRegistry가 호스트로 추출기를 고르고, 본문을 찾지 못하면(null) 다음 추출기로 넘어갑니다.
+ */
+public interface ContentExtractor {
+
+    /**
+     * 이 추출기가 처리할 수 있는 호스트인지 (소문자, www. 포함 그대로)
+     */
+    boolean supports(String host);
+
+    /**
+     * 실제로 내려받을 URL. 본문이 다른 주소에 있는 사이트(네이버 iframe 등)는 여기서 바로 그 주소로 바꿔 이중 요청을 없앱니다.
+     */
+    default String resolveFetchUrl(URI uri) {
+        return uri.toString();
+    }
+
+    /**
+     * 본문을 문단 단위 줄바꿈 텍스트로 반환합니다. 찾지 못하면 null.
+     */
+    String extract(Document doc);
+}
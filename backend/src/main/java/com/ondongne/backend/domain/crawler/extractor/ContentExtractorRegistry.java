@@ -0,0 +1,78 @@
+package com.ondongne.backend.domain.crawler.extractor;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.nodes.Document;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 호스트에 맞는 본문 추출기를 고릅니다.
+ * 사이트 전용 추출기(@Order 순)를 먼저 시도하고, 본문을 찾지 못하면 범용 추출기(GenericContentExtractor)로 넘어갑니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ContentExtractorRegistry {
+
+    // 본문이 아닌 것이 확실한 요소 (모든 추출기 공통)
+    private static final String NON_CONTENT_SELECTOR =
+            "script, style, noscript, template, header, footer, nav, aside, form, iframe, .sidebar, .comment, .advertisement, .ads, .cookie-banner";
+
+    // @Order 순으로 정렬되어 주입됨 (범용 추출기가 마지막)
+    private final List<ContentExtractor> extractors;
+
+    /**
+     * 실제로 내려받을 URL (사이트 전용 추출기가 본문 주소로 바꿀 수 있음)
+     */
+    public String resolveFetchUrl(String url) {
+        URI uri = toUri(url);
+        if (uri == null) {
+            return url;
+        }
+        String host = hostOf(uri);
+        for (ContentExtractor extractor : extractors) {
+            if (extractor.supports(host)) {
+                return extractor.resolveFetchUrl(uri);
+            }
+        }
+        return url;
+    }
+
+    /**
+     * 본문을 추출합니다. 찾지 못하면 null.
+     */
+    public String extract(Document doc, String url) {
+        URI uri = toUri(url);
+        String host = uri == null ? "" : hostOf(uri);
+
+        doc.select(NON_CONTENT_SELECTOR).remove();
+
+        for (ContentExtractor extractor : extractors) {
+            if (!extractor.supports(host)) {
+                continue;
+            }
+            String text = extractor.extract(doc);
+            if (text != null && !text.isBlank()) {
+                log.info(">>>>> 본문 추출: {} (길이: {})", extractor.getClass().getSimpleName(), text.length());
+                return text;
+            }
+        }
+        return null;
+    }
+
+    private URI toUri(String url) {
+        try {
+            return URI.create(url);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private String hostOf(URI uri) {
+        return uri.getHost() == null ? "" : uri.getHost().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,173 @@
+package com.ondongne.backend.domain.crawler.extractor;
+
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+import org.jsoup.select.NodeTraversor;
+import org.jsoup.select.NodeVisitor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 범용 본문 추출기 (readability 방식의 점수 계산)
+ * DOM을 한 번만 순회하면서 요소별 텍스트 길이/링크 텍스트 길이를 아래에서 위로 누적하고,
+ * 문단(p, pre 등)의 점수를 부모와 조부모에게 나눠 준 뒤 '점수 x (1 - 링크 밀도)'가 가장 높은 요소를 본문으로 고릅니다.
+ * (후보마다 text()를 다시 호출해 하위 트리를 반복 순회하지 않음)
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class GenericContentExtractor implements ContentExtractor {
+
+    private static final Set<String> PARAGRAPH_TAGS = Set.of("p", "pre", "td", "blockquote", "li");
+
+    private static final Pattern POSITIVE = Pattern.compile(
+            "article|body|content|entry|main|post|text|blog|story", Pattern.CASE_INSENSITIVE);
+    private static final Pattern NEGATIVE = Pattern.compile(
+            "comment|meta|footer|footnote|sidebar|widget|share|social|related|recommend|banner|advert|promo|popup|menu|breadcrumb|subscribe",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final int MIN_PARAGRAPH_LENGTH = 25;
+    private static final int MIN_TEXT_LENGTH = 100;
+
+    @Override
+    public boolean supports(String host) {
+        return true;
+    }
+
+    @Override
+    public String extract(Document doc) {
+        Element body = doc.body();
+        if (body == null) {
+            return null;
+        }
+
+        Map<Element, NodeStats> stats = new IdentityHashMap<>();
+
+        NodeTraversor.traverse(new NodeVisitor() {
+            @Override
+            public void head(Node node, int depth) {
+            }
+
+            @Override
+            public void tail(Node node, int depth) {
+                if (node instanceof TextNode textNode) {
+                    if (textNode.parent() instanceof Element parent) {
+                        String text = textNode.text();
+                        NodeStats parentStats = stats.computeIfAbsent(parent, e -> new NodeStats());
+                        parentStats.textLength += text.length();
+                        parentStats.commas += countCommas(text);
+                    }
+                    return;
+                }
+                if (!(node instanceof Element element)) {
+                    return;
+                }
+
+                // 자식까지 모두 집계된 시점
+                NodeStats current = stats.computeIfAbsent(element, e -> new NodeStats());
+                if (element.normalName().equals("a")) {
+                    current.linkTextLength = current.textLength;
+                }
+
+                Element parent = element.parent();
+                if (parent == null || element == body) {
+                    return;
+                }
+                NodeStats parentStats = stats.computeIfAbsent(parent, e -> new NodeStats());
+                parentStats.textLength += current.textLength;
+                parentStats.linkTextLength += current.linkTextLength;
+                parentStats.commas += current.commas;
+
+                if (PARAGRAPH_TAGS.contains(element.normalName()) && current.textLength >= MIN_PARAGRAPH_LENGTH) {
+                    double score = 1 + current.commas + Math.min(current.textLength / 100, 3);
+                    addScore(parent, parentStats, score);
+
+                    Element grandParent = parent.parent();
+                    if (grandParent != null) {
+                        addScore(grandParent, stats.computeIfAbsent(grandParent, e -> new NodeStats()), score / 2);
+                    }
+                }
+            }
+        }, body);
+
+        Element best = null;
+        double bestScore = 0;
+        for (Map.Entry<Element, NodeStats> entry : stats.entrySet()) {
+            NodeStats candidate = entry.getValue();
+            if (!candidate.scored || candidate.textLength == 0) {
+                continue;
+            }
+            double linkDensity = (double) candidate.linkTextLength / candidate.textLength;
+            double finalScore = candidate.score * (1 - linkDensity);
+            if (finalScore > bestScore) {
+                bestScore = finalScore;
+                best = entry.getKey();
+            }
+        }
+
+        String text = TextRenderer.render(best != null ? best : body);
+        return text.length() >= MIN_TEXT_LENGTH ? text : null;
+    }
+
+    // 처음 후보가 될 때 태그/클래스 가중치를 한 번만 반영
+    private void addScore(Element element, NodeStats nodeStats, double score) {
+        if (!nodeStats.scored) {
+            nodeStats.scored = true;
+            nodeStats.score = tagWeight(element) + classWeight(element);
+        }
+        nodeStats.score += score;
+    }
+
+    private double tagWeight(Element element) {
+        return switch (element.normalName()) {
+            case "article", "main" -> 10;
+            case "div", "section" -> 5;
+            case "pre", "td", "blockquote" -> 3;
+            case "ol", "ul", "form", "li" -> -3;
+            case "h1", "h2", "h3", "h4", "h5", "h6", "th" -> -5;
+            default -> 0;
+        };
+    }
+
+    private double classWeight(Element element) {
+        double weight = 0;
+        for (String value : new String[]{element.className(), element.id()}) {
+            if (value.isEmpty()) {
+                continue;
+            }
+            if (NEGATIVE.matcher(value).find()) {
+                weight -= 25;
+            }
+            if (POSITIVE.matcher(value).find()) {
+                weight += 25;
+            }
+        }
+        return weight;
+    }
+
+    private static int countCommas(String text) {
+        int count = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ',' || c == '，' || c == '、') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static class NodeStats {
+        private int textLength;
+        private int linkTextLength;
+        private int commas;
+        private boolean scored;
+        private double score;
+    }
+}
@@ -0,0 +1,59 @@
+package com.ondongne.backend.domain.crawler.extractor;
+
+import org.jsoup.nodes.Document;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 네이버 블로그
+ * 게시글 페이지는 본문을 iframe(PostView)으로 감싸므로, 처음부터 PostView 주소를 요청해 이중 요청을 없앱니다.
+ */
+@Component
+@Order(1)
+public class NaverBlogExtractor implements ContentExtractor {
+
+    private static final String POST_VIEW_URL = "https://blog.naver.com/PostView.naver?blogId=%s&logNo=%s&redirect=Dlog&widgetTypeCall=true&directAccess=false";
+
+    // blog.naver.com/{blogId}/{logNo}
+    private static final Pattern PATH_PATTERN = Pattern.compile("^/([A-Za-z0-9_-]+)/(\\d+)/?$");
+    private static final Pattern BLOG_ID_PARAM = Pattern.compile("(?:^|&)blogId=([A-Za-z0-9_-]+)");
+    private static final Pattern LOG_NO_PARAM = Pattern.compile("(?:^|&)logNo=(\\d+)");
+
+    @Override
+    public boolean supports(String host) {
+        return host.equals("blog.naver.com") || host.equals("m.blog.naver.com");
+    }
+
+    @Override
+    public String resolveFetchUrl(URI uri) {
+        String path = uri.getPath() == null ? "" : uri.getPath();
+
+        Matcher pathMatcher = PATH_PATTERN.matcher(path);
+        if (pathMatcher.matches()) {
+            return String.format(POST_VIEW_URL, pathMatcher.group(1), pathMatcher.group(2));
+        }
+
+        // PostView.naver?blogId=..&logNo=.. / PostView.nhn 등
+        String query = uri.getRawQuery();
+        if (query != null && path.startsWith("/PostView")) {
+            Matcher blogId = BLOG_ID_PARAM.matcher(query);
+            Matcher logNo = LOG_NO_PARAM.matcher(query);
+            if (blogId.find() && logNo.find()) {
+                return String.format(POST_VIEW_URL, blogId.group(1), logNo.group(1));
+            }
+        }
+        return uri.toString();
+    }
+
+    @Override
+    public String extract(Document doc) {
+        return SelectorExtractorSupport.extractFirst(doc,
+                ".se-main-container",   // 스마트에디터 ONE
+                "#postViewArea",        // 구 에디터
+                ".se_component_wrap");  // 스마트에디터 3
+    }
+}
@@ -0,0 +1,29 @@
+package com.ondongne.backend.domain.crawler.extractor;
+
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+
+/**
+ * 본문 위치가 알려진 사이트용: 셀렉터를 순서대로 시도해 처음 찾은 요소를 본문으로 사용
+ */
+final class SelectorExtractorSupport {
+
+    private static final int MIN_TEXT_LENGTH = 100;
+
+    private SelectorExtractorSupport() {
+    }
+
+    static String extractFirst(Document doc, String... selectors) {
+        for (String selector : selectors) {
+            Element content = doc.selectFirst(selector);
+            if (content == null) {
+                continue;
+            }
+            String text = TextRenderer.render(content);
+            if (text.length() >= MIN_TEXT_LENGTH) {
+                return text;
+            }
+        }
+        return null;
+    }
+}
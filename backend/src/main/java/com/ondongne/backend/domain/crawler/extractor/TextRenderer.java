@@ -0,0 +1,94 @@
+package com.ondongne.backend.domain.crawler.extractor;
+
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+import org.jsoup.select.NodeTraversor;
+import org.jsoup.select.NodeVisitor;
+
+import java.util.Set;
+
+/**
+ * 본문 요소를 문단 단위로 줄바꿈한 평문으로 변환합니다. (Element.text()는 모든 문단을 한 줄로 붙임)
+ * 코드 블록(pre)은 ``` 줄로 감싸 뒤 단계(TextPreprocessor)가 코드 줄을 그대로 두도록 표시합니다.
+ */
+final class TextRenderer {
+
+    private static final String CODE_FENCE = "```";
+
+    private static final Set<String> BLOCK_TAGS = Set.of(
+            "p", "div", "section", "article", "main", "blockquote", "pre", "li", "ul", "ol",
+            "h1", "h2", "h3", "h4", "h5", "h6", "tr", "table", "figure", "figcaption", "dd", "dt", "br", "hr"
+    );
+
+    private TextRenderer() {
+    }
+
+    static String render(Element root) {
+        StringBuilder out = new StringBuilder();
+
+        NodeTraversor.traverse(new NodeVisitor() {
+            // 코드 블록(pre) 안에서는 줄바꿈/들여쓰기를 그대로 유지
+            private int preDepth;
+
+            @Override
+            public void head(Node node, int depth) {
+                if (node instanceof TextNode textNode) {
+                    if (preDepth > 0) {
+                        out.append(textNode.getWholeText());
+                    } else {
+                        appendText(out, textNode.text());
+                    }
+                } else if (node instanceof Element element) {
+                    if (BLOCK_TAGS.contains(element.normalName())) {
+                        newLine(out);
+                    }
+                    if (element.normalName().equals("pre") && preDepth++ == 0) {
+                        out.append(CODE_FENCE).append('\n');
+                    }
+                }
+            }
+
+            @Override
+            public void tail(Node node, int depth) {
+                if (node instanceof Element element) {
+                    if (BLOCK_TAGS.contains(element.normalName())) {
+                        newLine(out);
+                    }
+                    if (element.normalName().equals("pre") && --preDepth == 0) {
+                        out.append(CODE_FENCE).append('\n');
+                    }
+                }
+            }
+        }, root);
+
+        return out.toString().strip();
+    }
+
+    private static void appendText(StringBuilder out, String text) {
+        // TextNode.text()는 연속 공백을 이미 하나로 합쳐 줌 (nbsp만 일반 공백으로 변환)
+        String normalized = text.replace('\u00a0', ' ');
+        if (normalized.isBlank()) {
+            if (out.length() > 0 && out.charAt(out.length() - 1) != ' ' && out.charAt(out.length() - 1) != '\n') {
+                out.append(' ');
+            }
+            return;
+        }
+        if (out.length() > 0 && out.charAt(out.length() - 1) == '\n' && normalized.startsWith(" ")) {
+            normalized = normalized.substring(1);
+        }
+        out.append(normalized);
+    }
+
+    private static void newLine(StringBuilder out) {
+        // 앞 공백 제거 후 빈 줄 없이 한 번만 줄바꿈
+        int end = out.length();
+        while (end > 0 && out.charAt(end - 1) == ' ') {
+            end--;
+        }
+        out.setLength(end);
+        if (end > 0 && out.charAt(end - 1) != '\n') {
+            out.append('\n');
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.ondongne.backend.domain.crawler.extractor;
+
+import org.jsoup.nodes.Document;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * 티스토리 (*.tistory.com, 스킨마다 본문 클래스가 조금씩 다름)
+ */
+@Component
+@Order(2)
+public class TistoryExtractor implements ContentExtractor {
+
+    @Override
+    public boolean supports(String host) {
+        return host.endsWith(".tistory.com");
+    }
+
+    @Override
+    public String extract(Document doc) {
+        return SelectorExtractorSupport.extractFirst(doc,
+                ".tt_article_useless_p_margin",
+                ".contents_style",
+                "#article-view",
+                ".article-view",
+                ".entry-content");
+    }
+}
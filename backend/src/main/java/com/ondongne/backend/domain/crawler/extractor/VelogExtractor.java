@@ -0,0 +1,25 @@
+package com.ondongne.backend.domain.crawler.extractor;
+
+import org.jsoup.nodes.Document;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Velog (마크다운 렌더링 영역)
+ */
+@Component
+@Order(3)
+public class VelogExtractor implements ContentExtractor {
+
+    @Override
+    public boolean supports(String host) {
+        return host.equals("velog.io");
+    }
+
+    @Override
+    public String extract(Document doc) {
+        return SelectorExtractorSupport.extractFirst(doc,
+                ".atom-one",
+                "[class*=markdown]");
+    }
+}
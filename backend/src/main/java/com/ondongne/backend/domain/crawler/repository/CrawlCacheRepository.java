@@ -0,0 +1,131 @@
+package com.ondongne.backend.domain.crawler.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ondongne.backend.domain.crawler.dto.CrawlCacheEntry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 크롤링 캐시의 Redis 계층 (여러 노드가 공유)
+ * - crawl:page:{url}   : 항목 JSON (TTL)
+ * - crawl:page:lru     : 최근 사용 시각 (ZSET)
+ * - crawl:page:sizes   : 항목별 크기 (HASH)
+ * - crawl:page:bytes   : 전체 크기 합계
+ * 전체 크기가 예산을 넘으면 가장 오래 사용되지 않은 항목부터 제거합니다.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class CrawlCacheRepository {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.crawler.cache.redis-max-bytes}")
+    private long maxBytes;
+
+    @Value("${app.crawler.cache.ttl-hours}")
+    private long ttlHours;
+
+    private static final String KEY_PREFIX = "crawl:page:";
+    private static final String LRU_KEY = "crawl:page:lru";
+    private static final String SIZES_KEY = "crawl:page:sizes";
+    private static final String TOTAL_BYTES_KEY = "crawl:page:bytes";
+
+    // 저장 + 크기 합계 갱신 + 예산 초과분 제거를 원자적으로 처리
+    private static final RedisScript<Long> SAVE_SCRIPT = new DefaultRedisScript<>("""
+            local old = tonumber(redis.call('HGET', KEYS[3], KEYS[1]) or '0')
+            redis.call('SET', KEYS[1], ARGV[1], 'EX', ARGV[2])
+            redis.call('ZADD', KEYS[2], ARGV[3], KEYS[1])
+            redis.call('HSET', KEYS[3], KEYS[1], ARGV[4])
+            local total = redis.call('INCRBY', KEYS[4], tonumber(ARGV[4]) - old)
+            local evicted = 0
+            while total > tonumber(ARGV[5]) do
+                local victim = redis.call('ZPOPMIN', KEYS[2])
+                if #victim == 0 then
+                    break
+                end
+                local size = tonumber(redis.call('HGET', KEYS[3], victim[1]) or '0')
+                redis.call('DEL', victim[1])
+                redis.call('HDEL', KEYS[3], victim[1])
+                total = redis.call('DECRBY', KEYS[4], size)
+                evicted = evicted + 1
+            end
+            return evicted
+            """, Long.class);
+
+    // TTL로 사라진 항목의 인덱스/크기 정리
+    private static final RedisScript<Long> FORGET_SCRIPT = new DefaultRedisScript<>("""
+            local size = tonumber(redis.call('HGET', KEYS[3], KEYS[1]) or '0')
+            redis.call('DEL', KEYS[1])
+            redis.call('ZREM', KEYS[2], KEYS[1])
+            redis.call('HDEL', KEYS[3], KEYS[1])
+            if size > 0 then
+                redis.call('DECRBY', KEYS[4], size)
+            end
+            return size
+            """, Long.class);
+
+    // 조회 (Read)
+    public CrawlCacheEntry find(String url) {
+        String key = KEY_PREFIX + url;
+        String json = stringRedisTemplate.opsForValue().get(key);
+        if (json == null) {
+            forget(key);
+            return null;
+        }
+
+        try {
+            CrawlCacheEntry entry = objectMapper.readValue(json, CrawlCacheEntry.class);
+            stringRedisTemplate.opsForZSet().add(LRU_KEY, key, System.currentTimeMillis());
+            return entry;
+        } catch (JsonProcessingException e) {
+            log.warn(">>>>> 크롤링 캐시 역직렬화 실패 ({}): {}", url, e.getMessage());
+            forget(key);
+            return null;
+        }
+    }
+
+    // 저장 (Create / Update)
+    public void save(String url, CrawlCacheEntry entry) {
+        String key = KEY_PREFIX + url;
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(entry);
+        } catch (JsonProcessingException e) {
+            log.warn(">>>>> 크롤링 캐시 직렬화 실패 ({}): {}", url, e.getMessage());
+            return;
+        }
+
+        long size = json.getBytes(StandardCharsets.UTF_8).length;
+        if (size > maxBytes) {
+            return;
+        }
+
+        Long evicted = stringRedisTemplate.execute(SAVE_SCRIPT,
+                List.of(key, LRU_KEY, SIZES_KEY, TOTAL_BYTES_KEY),
+                json,
+                String.valueOf(Duration.ofHours(ttlHours).toSeconds()),
+                String.valueOf(System.currentTimeMillis()),
+                String.valueOf(size),
+                String.valueOf(maxBytes));
+
+        if (evicted != null && evicted > 0) {
+            log.info(">>>>> 크롤링 캐시 용량 초과로 {}건 제거", evicted);
+        }
+    }
+
+    private void forget(String key) {
+        stringRedisTemplate.execute(FORGET_SCRIPT, List.of(key, LRU_KEY, SIZES_KEY, TOTAL_BYTES_KEY));
+    }
+}
@@ -0,0 +1,125 @@
+package com.ondongne.backend.domain.crawler.service;
+
+import com.ondongne.backend.domain.crawler.dto.CrawlCacheEntry;
+import com.ondongne.backend.domain.crawler.dto.CrawledContent;
+import com.ondongne.backend.domain.crawler.dto.FetchedPage;
+import com.ondongne.backend.domain.crawler.extractor.ContentExtractorRegistry;
+import com.ondongne.backend.global.exception.FailCrawlException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 블로그/웹 게시글 본문 추출
+ * 다운로드는 PageFetcher(논블로킹)가 담당하고, 여기서는 받은 바이트를 Jsoup으로 파싱한 뒤 사이트별 추출기(ContentExtractorRegistry)로 본문만 골라냅니다.
+ * 추출한 본문은 검증 정보(ETag, Last-Modified, 해시)와 함께 CrawlCache에 저장해 두고 재크롤링 시 재검증에 사용합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ContentCrawler {
+
+    private final PageFetcher pageFetcher;
+    private final CrawlCache crawlCache;
+    private final ContentExtractorRegistry extractorRegistry;
+
+    /**
+     * 본문을 크롤링합니다. 캐시가 있으면 조건부 요청으로 재검증하고, 바뀌지 않았으면(304 또는 동일 본문) 파싱/추출을 생략합니다.
+     */
+    public Mono<CrawledContent> crawl(String url) {
+        log.info(">>>>> 크롤링 시작: {}", url);
+
+        return crawlCache.find(url)
+                .flatMap(cached -> revalidate(url, cached))
+                .switchIfEmpty(Mono.defer(() -> fetchContentPage(url)
+                        .flatMap(page -> extractAndStore(url, page, null))))
+                .doOnError(e -> log.error(">>>>> 비동기 크롤링 중 오류 발생: {}", e.getMessage()))
+                .onErrorMap(e -> !(e instanceof FailCrawlException), FailCrawlException::new);
+    }
+
+    private Mono<CrawledContent> revalidate(String url, CrawlCacheEntry cached) {
+        return pageFetcher.fetch(cached.getFinalUrl(), cached.getEtag(), cached.getLastModified())
+                .flatMap(page -> {
+                    if (page.isNotModified()) {
+                        log.info(">>>>> 크롤링 캐시 재검증 (304): {}", cached.getFinalUrl());
+                        return Mono.just(new CrawledContent(cached.getText(), false));
+                    }
+                    if (sha256(page.getBody()).equals(cached.getBodyHash())) {
+                        // 검증 헤더를 주지 않는 서버: 본문이 그대로면 파싱 생략하고 검증 정보만 갱신
+                        log.info(">>>>> 크롤링 캐시 재검증 (본문 동일): {}", cached.getFinalUrl());
+                        cached.setEtag(page.getEtag());
+                        cached.setLastModified(page.getLastModified());
+                        return crawlCache.save(url, cached).thenReturn(new CrawledContent(cached.getText(), false));
+                    }
+                    return extractAndStore(url, page, cached);
+                });
+    }
+
+    private Mono<CrawledContent> extractAndStore(String url, FetchedPage page, CrawlCacheEntry previous) {
+        return Mono.fromCallable(() -> extractText(page))
+                .subscribeOn(Schedulers.parallel()) // 파싱은 CPU 작업이므로 네트워크 이벤트 루프가 아닌 parallel 스케줄러에서 수행
+                .flatMap(text -> {
+                    String textHash = sha256(text.getBytes(StandardCharsets.UTF_8));
+                    boolean changed = previous != null && !textHash.equals(previous.getTextHash());
+                    if (changed) {
+                        log.info(">>>>> 본문 변경 감지: {}", page.getFinalUrl());
+                    }
+
+                    CrawlCacheEntry entry = CrawlCacheEntry.builder()
+                            .finalUrl(page.getFinalUrl())
+                            .etag(page.getEtag())
+                            .lastModified(page.getLastModified())
+                            .bodyHash(sha256(page.getBody()))
+                            .textHash(textHash)
+                            .text(text)
+                            .build();
+
+                    return crawlCache.save(url, entry).thenReturn(new CrawledContent(text, changed));
+                });
+    }
+
+    // 사이트 전용 추출기가 본문 주소를 알면 그 주소를 바로 요청 (네이버 PostView 등)
+    private Mono<FetchedPage> fetchContentPage(String url) {
+        String fetchUrl = extractorRegistry.resolveFetchUrl(url);
+        if (!fetchUrl.equals(url)) {
+            log.info(">>>>> 본문 주소로 바로 요청: {}", fetchUrl);
+        }
+        return pageFetcher.fetch(fetchUrl);
+    }
+
+    private String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Document parse(FetchedPage page) {
+        try {
+            return Jsoup.parse(new ByteArrayInputStream(page.getBody()), page.getCharset(), page.getFinalUrl());
+        } catch (IOException e) {
+            throw new FailCrawlException(e);
+        }
+    }
+
+    private String extractText(FetchedPage page) {
+        String text = extractorRegistry.extract(parse(page), page.getFinalUrl());
+        if (text == null || text.isBlank()) {
+            log.warn(">>>>> 명시적인 본문 영역을 찾지 못했습니다.");
+            throw new FailCrawlException();
+        }
+        return text;
+    }
+}
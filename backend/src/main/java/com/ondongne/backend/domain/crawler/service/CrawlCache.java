@@ -0,0 +1,86 @@
+package com.ondongne.backend.domain.crawler.service;
+
+import com.ondongne.backend.domain.crawler.dto.CrawlCacheEntry;
+import com.ondongne.backend.domain.crawler.repository.CrawlCacheRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 2계층 크롤링 캐시
+ * - 1계층 : 노드 메모리 (접근 순서 LRU, 바이트 예산 초과 시 오래된 항목부터 제거)
+ * - 2계층 : Redis (CrawlCacheRepository, 노드 간 공유)
+ * Redis 장애는 캐시 미스로 처리하여 크롤링 자체를 막지 않습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CrawlCache {
+
+    private final CrawlCacheRepository crawlCacheRepository;
+
+    @Value("${app.crawler.cache.memory-max-bytes}")
+    private long memoryMaxBytes;
+
+    private final LinkedHashMap<String, CrawlCacheEntry> memory = new LinkedHashMap<>(64, 0.75f, true);
+    private long memoryBytes;
+
+    public Mono<CrawlCacheEntry> find(String url) {
+        CrawlCacheEntry local = findInMemory(url);
+        if (local != null) {
+            return Mono.just(local);
+        }
+
+        return Mono.fromCallable(() -> crawlCacheRepository.find(url))
+                .subscribeOn(Schedulers.boundedElastic())
+                .doOnNext(entry -> putInMemory(url, entry))
+                .onErrorResume(e -> {
+                    log.warn(">>>>> 크롤링 캐시 조회 실패 (미스로 처리): {}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    public Mono<Void> save(String url, CrawlCacheEntry entry) {
+        putInMemory(url, entry);
+
+        return Mono.fromRunnable(() -> crawlCacheRepository.save(url, entry))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(e -> {
+                    log.warn(">>>>> 크롤링 캐시 저장 실패 (무시): {}", e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private synchronized CrawlCacheEntry findInMemory(String url) {
+        return memory.get(url);
+    }
+
+    private synchronized void putInMemory(String url, CrawlCacheEntry entry) {
+        long size = entry.estimatedBytes();
+        if (size > memoryMaxBytes) {
+            return;
+        }
+
+        CrawlCacheEntry previous = memory.put(url, entry);
+        if (previous != null) {
+            memoryBytes -= previous.estimatedBytes();
+        }
+        memoryBytes += size;
+
+        // 접근 순서 LRU: 앞쪽이 가장 오래 사용되지 않은 항목
+        Iterator<Map.Entry<String, CrawlCacheEntry>> iterator = memory.entrySet().iterator();
+        while (memoryBytes > memoryMaxBytes && iterator.hasNext()) {
+            Map.Entry<String, CrawlCacheEntry> eldest = iterator.next();
+            memoryBytes -= eldest.getValue().estimatedBytes();
+            iterator.remove();
+        }
+    }
+}
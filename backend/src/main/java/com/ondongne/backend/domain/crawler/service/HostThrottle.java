@@ -0,0 +1,106 @@
+package com.ondongne.backend.domain.crawler.service;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+/**
+ * 호스트 1개에 대한 동시 요청 수 + 요청 시작 간격 제한
+ * (blog.naver.com, tistory 등에서 차단당하지 않도록 호스트별로 예의 있게 요청)
+ */
+class HostThrottle {
+
+    private final int maxConcurrency;
+    private final long minIntervalMillis;
+
+    private final Queue<Sinks.One<Boolean>> waiters = new ArrayDeque<>();
+    private int active;
+    private long nextStartAt;
+    private long lastUsedAt = System.currentTimeMillis();
+
+    HostThrottle(int maxConcurrency, double requestsPerSecond) {
+        this.maxConcurrency = maxConcurrency;
+        this.minIntervalMillis = (long) (1000 / requestsPerSecond);
+    }
+
+    /**
+     * 자리가 나고 요청 간격이 지나면 request를 실행하고, 끝나면(성공/실패/취소) 자리를 반납합니다.
+     */
+    <T> Mono<T> run(Mono<T> request) {
+        return Mono.usingWhen(
+                acquire(),
+                permit -> Mono.delay(reserveStartDelay()).then(request),
+                permit -> Mono.fromRunnable(this::release),
+                (permit, error) -> Mono.fromRunnable(this::release),
+                permit -> Mono.fromRunnable(this::release));
+    }
+
+    private Mono<Boolean> acquire() {
+        return Mono.defer(() -> {
+            Sinks.One<Boolean> waiter;
+            synchronized (this) {
+                lastUsedAt = System.currentTimeMillis();
+                if (active < maxConcurrency) {
+                    active++;
+                    return Mono.just(true);
+                }
+                waiter = Sinks.one();
+                waiters.add(waiter);
+            }
+            return waiter.asMono()
+                    .doOnCancel(() -> cancel(waiter));
+        });
+    }
+
+    private void cancel(Sinks.One<Boolean> waiter) {
+        synchronized (this) {
+            if (waiters.remove(waiter)) {
+                return;
+            }
+        }
+        // 이미 자리를 넘겨받은 뒤 취소되었다면 다음 대기자에게 넘김
+        release();
+    }
+
+    private void release() {
+        Sinks.One<Boolean> next;
+        synchronized (this) {
+            lastUsedAt = System.currentTimeMillis();
+            next = waiters.poll();
+            if (next == null) {
+                active--;
+                return;
+            }
+        }
+        // 자리(active)는 그대로 다음 대기자에게 넘김
+        if (next.tryEmitValue(true).isFailure()) {
+            release();
+        }
+    }
+
+    // 요청 시작 시각을 minInterval 간격으로 예약
+    private synchronized Duration reserveStartDelay() {
+        long now = System.currentTimeMillis();
+        long startAt = Math.max(now, nextStartAt);
+        nextStartAt = startAt + minIntervalMillis;
+        return Duration.ofMillis(startAt - now);
+    }
+
+    /**
+     * 사용할 차례가 된 요청이 있음을 표시합니다. (PageFetcher가 맵에서 꺼낼 때 호출해 정리 대상에서 제외)
+     */
+    synchronized HostThrottle touch() {
+        lastUsedAt = System.currentTimeMillis();
+        return this;
+    }
+
+    /**
+     * 처리 중/대기 중인 요청이 없고, cutoff 이후로 쓰이지 않았으며, 예약된 시작 간격도 지났는지
+     */
+    synchronized boolean isIdleSince(long cutoff) {
+        return active == 0 && waiters.isEmpty() && lastUsedAt < cutoff && nextStartAt <= System.currentTimeMillis();
+    }
+}
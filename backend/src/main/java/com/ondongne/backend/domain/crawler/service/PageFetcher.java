@@ -0,0 +1,227 @@
+package com.ondongne.backend.domain.crawler.service;
+
+import com.ondongne.backend.domain.crawler.dto.FetchedPage;
+import com.ondongne.backend.global.exception.FailCrawlException;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 논블로킹 페이지 다운로더 (reactor-netty WebClient)
+ * - 호스트별 keep-alive 커넥션 풀 재사용 (요청마다 새 연결을 열지 않음)
+ * - 호스트별 동시 요청 수 / 초당 요청 수 제한 (한동안 쓰이지 않은 호스트의 제한 상태는 정리)
+ * - gzip/deflate 응답 자동 해제, 본문 최대 크기 제한
+ * - 리다이렉트는 직접 따라가며 각 호스트의 제한을 그대로 적용
+ * 내려받은 바이트는 Jsoup 파싱에만 사용하므로 크롤링이 스레드를 점유하지 않습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PageFetcher {
+
+    @Value("${app.crawler.max-connections}")
+    private int maxConnections;
+
+    @Value("${app.crawler.per-host.max-concurrency}")
+    private int perHostConcurrency;
+
+    @Value("${app.crawler.per-host.requests-per-second}")
+    private double perHostRequestsPerSecond;
+
+    @Value("${app.crawler.per-host.idle-evict-seconds}")
+    private long perHostIdleEvictSeconds;
+
+    @Value("${app.crawler.max-body-bytes}")
+    private int maxBodyBytes;
+
+    @Value("${app.crawler.connect-timeout-millis}")
+    private int connectTimeoutMillis;
+
+    @Value("${app.crawler.response-timeout-seconds}")
+    private long responseTimeoutSeconds;
+
+    @Value("${app.crawler.max-redirects}")
+    private int maxRedirects;
+
+    @Value("${app.crawler.user-agent}")
+    private String userAgent;
+
+    private final WebClient.Builder webClientBuilder;
+
+    private final Map<String, HostThrottle> throttles = new ConcurrentHashMap<>();
+
+    private ConnectionProvider connectionProvider;
+    private WebClient webClient;
+
+    @PostConstruct
+    void init() {
+        connectionProvider = ConnectionProvider.builder("crawler")
+                .maxConnections(maxConnections)             // 원격 주소(호스트)별 풀 크기
+                .pendingAcquireMaxCount(-1)                 // 대기 제한은 HostThrottle이 담당
+                .maxIdleTime(Duration.ofSeconds(30))
+                .evictInBackground(Duration.ofSeconds(60))
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .compress(true)                             // Accept-Encoding: gzip, deflate + 자동 해제
+                .followRedirect(false)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+                .responseTimeout(Duration.ofSeconds(responseTimeoutSeconds));
+
+        webClient = webClientBuilder.clone()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .defaultHeader(HttpHeaders.USER_AGENT, userAgent)
+                .defaultHeader(HttpHeaders.ACCEPT, "text/html,application/xhtml+xml;q=0.9,*/*;q=0.8")
+                .defaultHeader(HttpHeaders.ACCEPT_LANGUAGE, "ko-KR,ko;q=0.9,en;q=0.8")
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (connectionProvider != null) {
+            connectionProvider.dispose();
+        }
+    }
+
+    /**
+     * 사용자가 넣은 주소의 호스트마다 제한 상태가 쌓이지 않도록, idle-evict 동안 쓰이지 않은 호스트를 지웁니다.
+     */
+    @Scheduled(fixedDelayString = "${app.crawler.per-host.idle-evict-seconds}", timeUnit = TimeUnit.SECONDS)
+    public void evictIdleThrottles() {
+        long cutoff = System.currentTimeMillis() - Duration.ofSeconds(perHostIdleEvictSeconds).toMillis();
+        int before = throttles.size();
+        for (String host : throttles.keySet()) {
+            throttles.computeIfPresent(host, (h, throttle) -> throttle.isIdleSince(cutoff) ? null : throttle);
+        }
+        int evicted = before - throttles.size();
+        if (evicted > 0) {
+            log.debug(">>>>> 쓰이지 않는 호스트 제한 상태 {}개 정리 (남은 호스트: {})", evicted, throttles.size());
+        }
+    }
+
+    /**
+     * 페이지를 내려받습니다. 2xx가 아니거나 크기 제한을 넘으면 FailCrawlException.
+     */
+    public Mono<FetchedPage> fetch(String url) {
+        return fetch(url, null, null);
+    }
+
+    /**
+     * 조건부 요청 (If-None-Match / If-Modified-Since). 바뀌지 않았으면 notModified 페이지를 반환합니다.
+     */
+    public Mono<FetchedPage> fetch(String url, String etag, String lastModified) {
+        return Mono.defer(() -> fetch(URI.create(url), etag, lastModified, 0))
+                .switchIfEmpty(Mono.error(new FailCrawlException())) // 본문 없음
+                .onErrorMap(e -> !(e instanceof FailCrawlException), FailCrawlException::new);
+    }
+
+    private Mono<FetchedPage> fetch(URI uri, String etag, String lastModified, int redirects) {
+        String host = uri.getHost() == null ? "" : uri.getHost().toLowerCase(Locale.ROOT);
+        // 정리(evictIdleThrottles)와 겹치지 않도록 꺼내는 시점에 사용 시각을 갱신
+        HostThrottle throttle = throttles.compute(host, (h, existing) ->
+                (existing != null ? existing : new HostThrottle(perHostConcurrency, perHostRequestsPerSecond)).touch());
+
+        Mono<FetchResult> request = webClient.get()
+                .uri(uri)
+                .headers(headers -> {
+                    if (etag != null) {
+                        headers.setIfNoneMatch(etag);
+                    }
+                    if (lastModified != null) {
+                        headers.set(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+                    }
+                })
+                .exchangeToMono(response -> {
+                    if (response.statusCode().value() == 304) {
+                        return response.releaseBody().thenReturn(FetchResult.ofPage(FetchedPage.builder()
+                                .finalUrl(uri.toString())
+                                .statusCode(304)
+                                .notModified(true)
+                                .etag(response.headers().asHttpHeaders().getETag())
+                                .lastModified(response.headers().asHttpHeaders().getFirst(HttpHeaders.LAST_MODIFIED))
+                                .build()));
+                    }
+                    if (response.statusCode().is3xxRedirection()) {
+                        URI location = response.headers().asHttpHeaders().getLocation();
+                        return response.releaseBody().then(location == null
+                                ? Mono.error(new FailCrawlException())
+                                : Mono.just(FetchResult.ofRedirect(uri.resolve(location))));
+                    }
+                    if (!response.statusCode().is2xxSuccessful()) {
+                        log.warn(">>>>> 크롤링 응답 오류: {} ({})", response.statusCode().value(), uri);
+                        return response.releaseBody().then(Mono.error(new FailCrawlException()));
+                    }
+                    return readBody(response, uri).map(FetchResult::ofPage);
+                });
+
+        // 리다이렉트는 Location을 따라 다시 요청 (다른 호스트면 그 호스트의 제한을 적용)
+        return throttle.run(request)
+                .flatMap(result -> {
+                    if (result.page() != null) {
+                        return Mono.just(result.page());
+                    }
+                    if (redirects >= maxRedirects) {
+                        log.warn(">>>>> 리다이렉트 횟수 초과: {}", uri);
+                        return Mono.error(new FailCrawlException());
+                    }
+                    return fetch(result.redirect(), etag, lastModified, redirects + 1);
+                });
+    }
+
+    private Mono<FetchedPage> readBody(ClientResponse response, URI uri) {
+        String charset = response.headers().contentType()
+                .map(MediaType::getCharset)
+                .map(Charset::name)
+                .orElse(null);
+
+        // 최대 크기를 넘으면 DataBufferLimitException
+        return DataBufferUtils.join(response.bodyToFlux(DataBuffer.class), maxBodyBytes)
+                .map(buffer -> {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    DataBufferUtils.release(buffer);
+                    return FetchedPage.builder()
+                            .finalUrl(uri.toString())
+                            .statusCode(response.statusCode().value())
+                            .body(bytes)
+                            .charset(charset)
+                            .etag(response.headers().asHttpHeaders().getETag())
+                            .lastModified(response.headers().asHttpHeaders().getFirst(HttpHeaders.LAST_MODIFIED))
+                            .build();
+                });
+    }
+
+    private record FetchResult(FetchedPage page, URI redirect) {
+
+        static FetchResult ofPage(FetchedPage page) {
+            return new FetchResult(page, null);
+        }
+
+        static FetchResult ofRedirect(URI location) {
+            return new FetchResult(null, location);
+        }
+    }
+}
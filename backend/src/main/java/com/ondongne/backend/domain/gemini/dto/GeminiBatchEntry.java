@@ -0,0 +1,43 @@
+package com.ondongne.backend.domain.gemini.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.util.Map;
+
+/**
+ * Gemini Batch API로 보낼 요청 1건 (Redis 대기열 항목)
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GeminiBatchEntry {
+
+    /**
+     * 결과를 돌려받을 식별자 (작업 ID). 배치 입력 파일의 "key"로 사용
+     */
+    private String key;
+
+    /**
+     * 결과를 작업에 반영할 때 필요한 값 (원본 URL, 문제 수 등)
+     */
+    private Map<String, String> metadata;
+
+    /**
+     * generateContent 요청 본문 JSON (제출 후에는 비워서 보관)
+     */
+    private String request;
+
+    /**
+     * 대기열에 들어온 시각 (epoch millis)
+     */
+    private long enqueuedAt;
+
+    /**
+     * 제출 실패 횟수
+     */
+    private int attempts;
+}
@@ -0,0 +1,33 @@
+package com.ondongne.backend.domain.gemini.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * 제출되어 진행 중인 Gemini 배치 작업
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GeminiBatchJob {
+
+    /**
+     * 배치 리소스 이름 (예: "batches/abc123")
+     */
+    private String name;
+
+    /**
+     * 제출에 사용한 API 키 식별자 (같은 키로만 상태/결과를 조회할 수 있음)
+     */
+    private String keyId;
+
+    private long submittedAt;
+
+    /**
+     * 배치에 담긴 요청들 (요청 본문은 제외)
+     */
+    private List<GeminiBatchEntry> entries;
+}
@@ -0,0 +1,33 @@
+package com.ondongne.backend.domain.gemini.dto;
+
+import com.ondongne.backend.domain.quiz.dto.QuizResultDto;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * 배치 요청 1건의 처리 결과 (애플리케이션 이벤트)
+ * 성공이면 result, 실패면 errorMessage가 담깁니다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class GeminiBatchResultEvent {
+
+    private final String key;
+    private final Map<String, String> metadata;
+    private final QuizResultDto result;
+    private final String errorMessage;
+
+    public static GeminiBatchResultEvent succeeded(GeminiBatchEntry entry, QuizResultDto result) {
+        return new GeminiBatchResultEvent(entry.getKey(), entry.getMetadata(), result, null);
+    }
+
+    public static GeminiBatchResultEvent failed(GeminiBatchEntry entry, String errorMessage) {
+        return new GeminiBatchResultEvent(entry.getKey(), entry.getMetadata(), null, errorMessage);
+    }
+
+    public boolean isSucceeded() {
+        return result != null;
+    }
+}
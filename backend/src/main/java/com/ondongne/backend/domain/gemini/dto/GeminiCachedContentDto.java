@@ -0,0 +1,46 @@
+package com.ondongne.backend.domain.gemini.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * cachedContents API 요청/응답 (시스템 지시문 + 반복해서 쓰는 큰 입력을 서버에 캐시)
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GeminiCachedContentDto {
+
+    /**
+     * 캐시 리소스 이름 (응답, 예: "cachedContents/abc123")
+     * generateContent 요청의 cachedContent 필드에 그대로 넣습니다.
+     */
+    private String name;
+
+    /**
+     * 캐시를 사용할 모델 (예: "models/gemini-flash-latest")
+     * *주의: 다른 모델로는 이 캐시를 사용할 수 없습니다.*
+     */
+    private String model;
+
+    private String displayName;
+
+    private GeminiRequestDto.SystemInstruction systemInstruction;
+
+    private List<GeminiRequestDto.Content> contents;
+
+    /**
+     * 보관 기간 (요청, 예: "3600s")
+     */
+    private String ttl;
+
+    /**
+     * 구글 서버에서 캐시가 삭제되는 시각 (응답, RFC 3339)
+     */
+    private String expireTime;
+}
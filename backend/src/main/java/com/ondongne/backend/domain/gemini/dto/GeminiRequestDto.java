@@ -1,5 +1,6 @@
 package com.ondongne.backend.domain.gemini.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 
 import java.util.List;
@@ -7,8 +8,15 @@ import java.util.List;
 @Getter
 @Setter
 @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class GeminiRequestDto {
 
+    /**
+     * 미리 만들어 둔 캐시 이름 (예: "cachedContents/abc123")
+     * 지정하면 캐시에 담긴 시스템 지시문/입력은 다시 보내지 않습니다. (systemInstruction은 비워야 함)
+     */
+    private String cachedContent;
+
     /**
      * 시스템 지시문(System Instructions)입니다.
      * AI에게 부여할 역할(Persona)이나 절대적인 규칙을 설정할 때 사용합니다. (예: "너는 퀴즈 생성기야")
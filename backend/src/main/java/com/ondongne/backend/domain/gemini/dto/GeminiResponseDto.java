@@ -49,5 +49,6 @@ public class GeminiResponseDto {
         private int promptTokenCount;     // 질문(입력)에 사용된 토큰 수
         private int candidatesTokenCount; // 답변(출력) 생성에 사용된 토큰 수
         private int totalTokenCount;      // 총 합계
+        private int cachedContentTokenCount; // 입력 중 캐시에서 읽은 토큰 수 (cachedContent 사용 시)
     }
 }
@@ -0,0 +1,38 @@
+package com.ondongne.backend.domain.gemini.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GeminiUploadedFile {
+
+    /**
+     * 퀴즈 생성 요청(fileData)에 사용하는 파일 URI
+     * 예: https://generativelanguage.googleapis.com/v1beta/files/abc123
+     */
+    private String fileUri;
+
+    /**
+     * 파일 리소스 이름 (예: "files/abc123")
+     */
+    private String name;
+
+    /**
+     * 업로드에 사용한 API 키 식별자
+     * *주의: 업로드한 키와 다른 키로는 이 파일을 참조할 수 없습니다.*
+     */
+    private String keyId;
+
+    /**
+     * 구글 서버에서 파일이 삭제되는 시각 (RFC 3339, 업로드 후 약 48시간)
+     */
+    private String expirationTime;
+
+    /**
+     * 업로드된 파일 크기 (처리 상태 확인 간격 산정용, 모르면 null)
+     */
+    private Long sizeBytes;
+}
@@ -0,0 +1,216 @@
+package com.ondongne.backend.domain.gemini.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ondongne.backend.domain.gemini.dto.GeminiBatchEntry;
+import com.ondongne.backend.domain.gemini.dto.GeminiBatchJob;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Gemini Batch API 대기열/진행 목록 (여러 노드가 공유)
+ * - gemini:batch:pending            : 제출 전 요청 (LIST, 먼저 들어온 순서)
+ * - gemini:batch:processing:{node}  : 노드가 꺼내서 제출 중인 요청 (LIST, 진행 목록에 기록된 뒤에 지움)
+ * - gemini:batch:lease:{node}       : 제출 중인 노드의 임대 표식 (만료되면 그 노드의 제출 중 요청을 대기열로 되돌림)
+ * - gemini:batch:nodes              : 제출 중 목록을 가진 노드 (SET)
+ * - gemini:batch:active             : 배치 이름 -> 진행 중인 배치 (HASH)
+ * 대기열에서 꺼내기(LMOVE)와 완료 처리 선점(HDEL)이 원자적이므로 여러 노드가 동시에 실행해도 같은 요청을 두 번 처리하지 않고,
+ * 꺼낸 뒤 진행 목록에 기록하기 전에 노드가 죽어도 요청을 잃지 않습니다.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class GeminiBatchRepository {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+
+    private static final String PENDING_KEY = "gemini:batch:pending";
+    private static final String ACTIVE_KEY = "gemini:batch:active";
+    private static final String PROCESSING_PREFIX = "gemini:batch:processing:";
+    private static final String LEASE_PREFIX = "gemini:batch:lease:";
+    private static final String NODES_KEY = "gemini:batch:nodes";
+
+    // 임대 표식을 갱신하고 대기열 앞에서부터 최대 count건을 제출 중 목록으로 옮김
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> TAKE_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('SET', KEYS[3], '1', 'PX', ARGV[3])
+            redis.call('SADD', KEYS[4], ARGV[2])
+            local taken = {}
+            for i = 1, tonumber(ARGV[1]) do
+                local entry = redis.call('LMOVE', KEYS[1], KEYS[2], 'LEFT', 'RIGHT')
+                if not entry then
+                    break
+                end
+                taken[#taken + 1] = entry
+            end
+            return taken
+            """, List.class);
+
+    // 진행 목록에 기록하면서 제출 중 목록을 비움
+    private static final RedisScript<Long> ACTIVATE_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])
+            return redis.call('DEL', KEYS[2])
+            """, Long.class);
+
+    // 다시 시도할 요청을 대기열 앞에 되돌리면서 제출 중 목록을 비움 (ARGV는 역순)
+    private static final RedisScript<Long> REQUEUE_SCRIPT = new DefaultRedisScript<>("""
+            for i = 1, #ARGV do
+                redis.call('LPUSH', KEYS[1], ARGV[i])
+            end
+            return redis.call('DEL', KEYS[2])
+            """, Long.class);
+
+    // 임대가 끝난(또는 force) 노드의 제출 중 요청을 원래 순서대로 대기열 앞에 되돌림
+    private static final RedisScript<Long> RECOVER_SCRIPT = new DefaultRedisScript<>("""
+            if ARGV[2] ~= '1' and redis.call('EXISTS', KEYS[3]) == 1 then
+                return 0
+            end
+            local moved = 0
+            while redis.call('RPOPLPUSH', KEYS[1], KEYS[2]) do
+                moved = moved + 1
+            end
+            if ARGV[2] ~= '1' then
+                redis.call('SREM', KEYS[4], ARGV[1])
+            end
+            return moved
+            """, Long.class);
+
+    // 대기열에 추가하고 현재 대기 건수를 반환
+    public long enqueue(GeminiBatchEntry entry) {
+        Long size = stringRedisTemplate.opsForList().rightPush(PENDING_KEY, write(entry));
+        return size == null ? 0 : size;
+    }
+
+    public long pendingSize() {
+        Long size = stringRedisTemplate.opsForList().size(PENDING_KEY);
+        return size == null ? 0 : size;
+    }
+
+    // 가장 오래 기다린 요청의 대기 시작 시각 (없으면 null)
+    public Long oldestEnqueuedAt() {
+        String json = stringRedisTemplate.opsForList().index(PENDING_KEY, 0);
+        GeminiBatchEntry entry = json == null ? null : read(json, GeminiBatchEntry.class);
+        return entry == null ? null : entry.getEnqueuedAt();
+    }
+
+    /**
+     * 앞에서부터 최대 count건을 이 노드의 제출 중 목록으로 옮겨 꺼냅니다.
+     * 제출 결과는 activate(성공) 또는 requeue(실패)로 반드시 정리해야 하며, 그 전까지 lease 동안 다른 노드가 회수하지 않습니다.
+     */
+    @SuppressWarnings("unchecked")
+    public List<GeminiBatchEntry> take(String node, int count, Duration lease) {
+        List<String> jsons = stringRedisTemplate.execute(TAKE_SCRIPT,
+                List.of(PENDING_KEY, processingKey(node), leaseKey(node), NODES_KEY),
+                String.valueOf(count), node, String.valueOf(lease.toMillis()));
+        if (jsons == null) {
+            return List.of();
+        }
+
+        List<GeminiBatchEntry> entries = new ArrayList<>(jsons.size());
+        for (String json : jsons) {
+            GeminiBatchEntry entry = read(json, GeminiBatchEntry.class);
+            if (entry != null) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    // 제출에 실패한 요청을 원래 순서대로 대기열 앞에 되돌리고, 제출 중 목록을 비움 (빠진 요청은 실패 처리된 것)
+    public void requeue(String node, List<GeminiBatchEntry> entries) {
+        List<String> jsons = new ArrayList<>(entries.size());
+        for (GeminiBatchEntry entry : entries) {
+            jsons.add(write(entry));
+        }
+        Collections.reverse(jsons);
+        stringRedisTemplate.execute(REQUEUE_SCRIPT, List.of(PENDING_KEY, processingKey(node)), jsons.toArray());
+    }
+
+    // 제출한 배치를 진행 목록에 저장하고, 제출 중 목록을 비움
+    public void activate(String node, GeminiBatchJob job) {
+        stringRedisTemplate.execute(ACTIVATE_SCRIPT, List.of(ACTIVE_KEY, processingKey(node)), job.getName(), write(job));
+    }
+
+    /**
+     * 제출 중에 멈춘 요청을 대기열로 되돌립니다.
+     * - 이 노드 : 이전 주기에 정리하지 못하고 남은 요청 (Redis 오류 등)
+     * - 다른 노드 : 임대 표식이 만료된(죽은) 노드의 요청
+     * @return 되돌린 요청 수
+     */
+    public long recoverAbandoned(String node) {
+        long recovered = recover(node, true);
+        Set<String> nodes = stringRedisTemplate.opsForSet().members(NODES_KEY);
+        if (nodes != null) {
+            for (String other : nodes) {
+                if (!other.equals(node)) {
+                    recovered += recover(other, false);
+                }
+            }
+        }
+        return recovered;
+    }
+
+    private long recover(String node, boolean force) {
+        Long moved = stringRedisTemplate.execute(RECOVER_SCRIPT,
+                List.of(processingKey(node), PENDING_KEY, leaseKey(node), NODES_KEY),
+                node, force ? "1" : "0");
+        return moved == null ? 0 : moved;
+    }
+
+    // 조회 (Read)
+    public List<GeminiBatchJob> findActive() {
+        List<Object> jsons = stringRedisTemplate.opsForHash().values(ACTIVE_KEY);
+        List<GeminiBatchJob> jobs = new ArrayList<>(jsons.size());
+        for (Object json : jsons) {
+            GeminiBatchJob job = read(String.valueOf(json), GeminiBatchJob.class);
+            if (job != null) {
+                jobs.add(job);
+            }
+        }
+        return jobs;
+    }
+
+    /**
+     * 끝난 배치를 목록에서 제거합니다. 제거에 성공한 노드만 결과를 작업에 반영합니다.
+     */
+    public boolean claimFinished(String batchName) {
+        Long removed = stringRedisTemplate.opsForHash().delete(ACTIVE_KEY, batchName);
+        return removed != null && removed > 0;
+    }
+
+    private static String processingKey(String node) {
+        return PROCESSING_PREFIX + node;
+    }
+
+    private static String leaseKey(String node) {
+        return LEASE_PREFIX + node;
+    }
+
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("배치 항목 직렬화 실패", e);
+        }
+    }
+
+    private <T> T read(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            log.warn(">>>>> 배치 항목 역직렬화 실패 (건너뜀): {}", e.getMessage());
+            return null;
+        }
+    }
+}
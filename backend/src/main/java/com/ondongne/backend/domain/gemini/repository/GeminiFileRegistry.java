@@ -0,0 +1,96 @@
+package com.ondongne.backend.domain.gemini.repository;
+
+import com.ondongne.backend.domain.gemini.dto.GeminiUploadedFile;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 유튜브 videoId -> Gemini에 업로드된 파일(URI, 소유 키, 만료 시각) 레지스트리
+ * - 같은 영상은 문제 수가 달라도 업로드 파일을 재사용 (다운로드/업로드/처리 대기 생략)
+ * - 모든 노드가 공유하도록 Redis에 저장
+ * - 구글 서버의 만료 시각보다 refresh-margin 만큼 먼저 만료시켜, 생성 도중 파일이 사라지지 않게 함
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class GeminiFileRegistry {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    @Value("${app.gemini.file-registry.refresh-margin-minutes}")
+    private long refreshMarginMinutes;
+
+    private static final String KEY_PREFIX = "gemini:file:";
+    private static final String EXPIRY_INDEX_KEY = "gemini:file:expiry";
+
+    // 파일 API가 만료 시각을 주지 않을 때의 기본 보관 기간
+    private static final Duration DEFAULT_FILE_LIFETIME = Duration.ofHours(48);
+
+    // 조회 (Read)
+    public GeminiUploadedFile find(String videoId) {
+        return (GeminiUploadedFile) redisTemplate.opsForValue().get(KEY_PREFIX + videoId);
+    }
+
+    // 저장 (Create / Update)
+    public void save(String videoId, GeminiUploadedFile uploadedFile) {
+        Instant evictAt = expiresAt(uploadedFile).minus(Duration.ofMinutes(refreshMarginMinutes));
+        Duration ttl = Duration.between(Instant.now(), evictAt);
+        if (ttl.isNegative() || ttl.isZero()) {
+            return;
+        }
+
+        String key = KEY_PREFIX + videoId;
+        redisTemplate.opsForValue().set(key, uploadedFile, ttl);
+        redisTemplate.opsForZSet().add(EXPIRY_INDEX_KEY, key, evictAt.toEpochMilli());
+    }
+
+    // 삭제 (만료되었거나 더 이상 참조할 수 없는 파일)
+    public void evict(String videoId) {
+        String key = KEY_PREFIX + videoId;
+        redisTemplate.delete(key);
+        redisTemplate.opsForZSet().remove(EXPIRY_INDEX_KEY, key);
+    }
+
+    /**
+     * 만료가 임박한 항목을 주기적으로 정리합니다.
+     * 값 자체는 TTL로 사라지지만, 인덱스와 함께 확실히 지워 재사용 대상에서 미리 빼둡니다. (여러 노드가 동시에 실행해도 무해)
+     */
+    @Scheduled(fixedDelayString = "${app.gemini.file-registry.sweep-interval-ms}")
+    public void sweepExpiring() {
+        try {
+            long now = System.currentTimeMillis();
+            Set<Object> expiring = redisTemplate.opsForZSet().rangeByScore(EXPIRY_INDEX_KEY, 0, now);
+            if (expiring == null || expiring.isEmpty()) {
+                return;
+            }
+
+            List<String> keys = expiring.stream().map(String::valueOf).toList();
+            redisTemplate.delete(keys);
+            redisTemplate.opsForZSet().removeRangeByScore(EXPIRY_INDEX_KEY, 0, now);
+            log.info(">>>>> 만료 임박 Gemini 파일 {}건 레지스트리에서 제거", keys.size());
+        } catch (Exception e) {
+            log.warn(">>>>> Gemini 파일 레지스트리 정리 실패: {}", e.getMessage());
+        }
+    }
+
+    private Instant expiresAt(GeminiUploadedFile uploadedFile) {
+        if (uploadedFile.getExpirationTime() != null) {
+            try {
+                return Instant.parse(uploadedFile.getExpirationTime());
+            } catch (DateTimeParseException e) {
+                log.warn(">>>>> 파일 만료 시각 파싱 실패: {}", uploadedFile.getExpirationTime());
+            }
+        }
+        return Instant.now().plus(DEFAULT_FILE_LIFETIME);
+    }
+}
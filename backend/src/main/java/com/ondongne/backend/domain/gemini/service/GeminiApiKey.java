@@ -0,0 +1,163 @@
+package com.ondongne.backend.domain.gemini.service;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gemini API 키 1개와 그 키의 사용량 상태입니다.
+ * - 분당 요청 수(RPM) / 분당 토큰 수(TPM)를 각각 토큰 버킷으로 관리합니다.
+ * - 429/503 응답을 받으면 Retry-After 동안 선택 대상에서 제외(eject)됩니다.
+ */
+public class GeminiApiKey {
+
+    /**
+     * 로그/메트릭/Redis에 남겨도 안전한 키 식별자 (키 원문의 SHA-256 앞 8자리)
+     * 설정 순서와 무관하게 모든 노드에서 동일한 값이 나옵니다.
+     */
+    @Getter
+    private final String id;
+
+    @Getter
+    private final String value;
+
+    private final TokenBucket requestBucket;
+    private final TokenBucket tokenBucket;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile long ejectedUntil = 0L;
+
+    public GeminiApiKey(String value, long requestsPerMinute, long tokensPerMinute) {
+        this.value = value.trim();
+        this.id = fingerprint(this.value);
+        this.requestBucket = new TokenBucket(requestsPerMinute);
+        this.tokenBucket = new TokenBucket(tokensPerMinute);
+    }
+
+    // 요청 1건 + 예상 토큰을 소비 (둘 다 여유가 있을 때만)
+    public synchronized boolean tryConsume(long estimatedTokens) {
+        long now = System.currentTimeMillis();
+        if (isEjected(now)) {
+            return false;
+        }
+        requestBucket.refill(now);
+        tokenBucket.refill(now);
+
+        long tokens = Math.min(estimatedTokens, tokenBucket.capacity);
+        if (requestBucket.available < 1 || tokenBucket.available < tokens) {
+            return false;
+        }
+        requestBucket.available -= 1;
+        tokenBucket.available -= tokens;
+        return true;
+    }
+
+    // 다시 사용 가능해지기까지 남은 시간 (ms)
+    public synchronized long millisUntilAvailable(long estimatedTokens) {
+        long now = System.currentTimeMillis();
+        requestBucket.refill(now);
+        tokenBucket.refill(now);
+
+        long tokens = Math.min(estimatedTokens, tokenBucket.capacity);
+        long wait = Math.max(requestBucket.millisUntil(1), tokenBucket.millisUntil(tokens));
+        return Math.max(wait, ejectedUntil - now);
+    }
+
+    // 실제 사용 토큰(usageMetadata)과 예상치의 차이를 보정
+    public synchronized void adjustTokens(long delta) {
+        tokenBucket.refill(System.currentTimeMillis());
+        tokenBucket.available = Math.min(tokenBucket.capacity, tokenBucket.available - delta);
+    }
+
+    // 제외(eject) 상태가 풀리기까지 남은 시간 (ms)
+    public long millisUntilReinstated() {
+        return Math.max(0L, ejectedUntil - System.currentTimeMillis());
+    }
+
+    public void eject(Duration duration) {
+        ejectedUntil = Math.max(ejectedUntil, System.currentTimeMillis() + duration.toMillis());
+    }
+
+    public boolean isEjected() {
+        return isEjected(System.currentTimeMillis());
+    }
+
+    private boolean isEjected(long now) {
+        return now < ejectedUntil;
+    }
+
+    public int incrementInFlight() {
+        return inFlight.incrementAndGet();
+    }
+
+    public int decrementInFlight() {
+        return inFlight.decrementAndGet();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    // 남은 여유 비율 (0.0 ~ 1.0) : RPM/TPM 중 더 빠듯한 쪽 기준
+    public synchronized double headroom() {
+        long now = System.currentTimeMillis();
+        requestBucket.refill(now);
+        tokenBucket.refill(now);
+        return Math.min(requestBucket.available / requestBucket.capacity, tokenBucket.available / tokenBucket.capacity);
+    }
+
+    public synchronized double requestUtilization() {
+        requestBucket.refill(System.currentTimeMillis());
+        return 1.0 - requestBucket.available / requestBucket.capacity;
+    }
+
+    public synchronized double tokenUtilization() {
+        tokenBucket.refill(System.currentTimeMillis());
+        return 1.0 - tokenBucket.available / tokenBucket.capacity;
+    }
+
+    private static String fingerprint(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest).substring(0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 1분 동안 capacity 만큼 선형으로 다시 채워지는 토큰 버킷
+     */
+    private static class TokenBucket {
+        private final double capacity;
+        private final double refillPerMillis;
+        private double available;
+        private long lastRefill;
+
+        TokenBucket(long perMinute) {
+            this.capacity = Math.max(1, perMinute);
+            this.refillPerMillis = this.capacity / 60_000.0;
+            this.available = this.capacity;
+            this.lastRefill = System.currentTimeMillis();
+        }
+
+        void refill(long now) {
+            if (now > lastRefill) {
+                available = Math.min(capacity, available + (now - lastRefill) * refillPerMillis);
+                lastRefill = now;
+            }
+        }
+
+        long millisUntil(double amount) {
+            if (available >= amount) {
+                return 0L;
+            }
+            return (long) Math.ceil((amount - available) / refillPerMillis);
+        }
+    }
+}
@@ -0,0 +1,407 @@
+package com.ondongne.backend.domain.gemini.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.ondongne.backend.domain.gemini.dto.GeminiBatchEntry;
+import com.ondongne.backend.domain.gemini.dto.GeminiBatchJob;
+import com.ondongne.backend.domain.gemini.dto.GeminiBatchResultEvent;
+import com.ondongne.backend.domain.gemini.dto.GeminiRequestDto;
+import com.ondongne.backend.domain.gemini.repository.GeminiBatchRepository;
+import com.ondongne.backend.domain.quiz.dto.QuizResultDto;
+import com.ondongne.backend.global.exception.GeminiFailException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gemini Batch API로 처리하는 저우선순위(비대화형) 생성 요청
+ * 1. enqueue : 요청을 Redis 대기열에 쌓음
+ * 2. flush   : 대기 건수가 max-requests에 이르거나 가장 오래된 요청이 max-wait-seconds를 넘으면
+ *              JSONL 입력 파일을 업로드하고 batchGenerateContent로 배치 생성
+ * 3. poll    : 진행 중인 배치의 상태를 조회하고, 끝나면 결과 파일을 내려받아 요청별 GeminiBatchResultEvent 발행
+ * 배치는 키의 분당 한도(RPM/TPM)와 별개로 처리되므로 File API 키로 제출하고, 실시간 생성의 한도를 소모하지 않습니다.
+ * flush/poll은 업로드/다운로드를 최대 REQUEST_TIMEOUT까지 기다리므로, 공용 @Scheduled 스레드가 아닌 전용 스레드에서 실행합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GeminiBatchService {
+
+    @Value("${app.gemini.base-url}")
+    private String baseUrl;
+
+    @Value("${app.gemini.model}")
+    private String modelName;
+
+    @Value("${app.gemini.batch.enabled}")
+    private boolean enabled;
+
+    // 배치 1개에 담는 최대 요청 수
+    @Value("${app.gemini.batch.max-requests}")
+    private int maxRequests;
+
+    // 요청이 대기열에서 기다리는 최대 시간 (이후 건수가 적어도 제출)
+    @Value("${app.gemini.batch.max-wait-seconds}")
+    private long maxWaitSeconds;
+
+    // 제출 실패가 이 횟수에 이르면 해당 요청은 실패 처리
+    @Value("${app.gemini.batch.max-submit-attempts}")
+    private int maxSubmitAttempts;
+
+    @Value("${app.gemini.batch.flush-interval-ms}")
+    private long flushIntervalMs;
+
+    @Value("${app.gemini.batch.poll-interval-ms}")
+    private long pollIntervalMs;
+
+    private final GeminiBatchRepository batchRepository;
+    private final GeminiFileUploader fileUploader;
+    private final GeminiKeyPool keyPool;
+    private final WebClient.Builder webClientBuilder;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    private static final String JSONL_MIME_TYPE = "application/jsonl";
+
+    // 업로드/조회/다운로드 1회의 최대 대기 시간 (배치 전용 스레드에서 기다림)
+    private static final Duration REQUEST_TIMEOUT = Duration.ofMinutes(5);
+
+    // 꺼낸 요청을 제출하는 동안 다른 노드가 회수하지 않는 시간 (제출 1회의 최대 대기 시간보다 길게)
+    private static final Duration SUBMIT_LEASE = REQUEST_TIMEOUT.multipliedBy(2);
+
+    // 노드마다(재시작마다) 다른 이름. 죽은 노드의 제출 중 요청은 임대 만료 후 다른 노드가 되돌림
+    private final String nodeName = System.getenv().getOrDefault("HOSTNAME", "node")
+            + "-" + UUID.randomUUID().toString().substring(0, 8);
+
+    private ScheduledExecutorService executor;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "gemini-batch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 제출과 상태 확인은 서로 다른 스레드에서 실행되어 한쪽이 느려도 다른 쪽을 막지 않음
+        executor.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(this::poll, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor != null) {
+            // 제출 중이던 요청은 임대가 끝나면 다른 노드(또는 재시작한 이 노드)가 대기열로 되돌림
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 요청을 배치 대기열에 넣습니다. 결과는 key와 metadata가 담긴 GeminiBatchResultEvent로 전달됩니다.
+     */
+    public Mono<Void> enqueue(String key, Map<String, String> metadata, GeminiRequestDto request) {
+        return Mono.fromCallable(() -> batchRepository.enqueue(GeminiBatchEntry.builder()
+                        .key(key)
+                        .metadata(metadata)
+                        .request(objectMapper.writeValueAsString(request))
+                        .enqueuedAt(System.currentTimeMillis())
+                        .build()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .doOnNext(size -> {
+                    meterRegistry.counter("gemini.batch.requests", "result", "enqueued").increment();
+                    log.info(">>>>> [Job: {}] 배치 대기열 등록 (대기: {}건)", key, size);
+                })
+                .then();
+    }
+
+    /**
+     * 제출 조건을 만족하는 동안 대기열의 요청을 배치로 묶어 제출합니다. (여러 노드가 동시에 실행해도 서로 다른 요청을 꺼냄)
+     */
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            long recovered = batchRepository.recoverAbandoned(nodeName);
+            if (recovered > 0) {
+                log.warn(">>>>> 제출 도중 멈춘 배치 요청 {}건을 대기열로 되돌림", recovered);
+            }
+
+            while (isFlushDue()) {
+                List<GeminiBatchEntry> entries = batchRepository.take(nodeName, maxRequests, SUBMIT_LEASE);
+                if (entries.isEmpty()) {
+                    batchRepository.requeue(nodeName, List.of()); // 형식이 잘못된 항목만 꺼냈다면 버림
+                    return;
+                }
+                if (!submitOrRequeue(entries)) {
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            log.warn(">>>>> 배치 제출 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 진행 중인 배치의 상태를 확인하고, 끝난 배치의 결과를 요청별로 전달합니다.
+     */
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        List<GeminiBatchJob> jobs;
+        try {
+            jobs = batchRepository.findActive();
+        } catch (Exception e) {
+            log.warn(">>>>> 진행 중인 배치 목록 조회 실패: {}", e.getMessage());
+            return;
+        }
+
+        for (GeminiBatchJob job : jobs) {
+            try {
+                check(job);
+            } catch (Exception e) {
+                // 일시적인 조회 실패는 다음 주기에 다시 확인
+                log.warn(">>>>> 배치 상태 확인 실패 ({}): {}", job.getName(), e.getMessage());
+            }
+        }
+    }
+
+    private boolean isFlushDue() {
+        long size = batchRepository.pendingSize();
+        if (size == 0) {
+            return false;
+        }
+        if (size >= maxRequests) {
+            return true;
+        }
+        Long oldest = batchRepository.oldestEnqueuedAt();
+        return oldest != null && System.currentTimeMillis() - oldest >= TimeUnit.SECONDS.toMillis(maxWaitSeconds);
+    }
+
+    // 제출에 실패하면 요청을 대기열에 되돌리고 false (시도 횟수를 넘은 요청은 실패 처리)
+    private boolean submitOrRequeue(List<GeminiBatchEntry> entries) {
+        GeminiBatchJob job;
+        try {
+            job = submit(entries).block(REQUEST_TIMEOUT);
+        } catch (RuntimeException e) {
+            log.warn(">>>>> 배치 제출 실패 ({}건, 다음 주기에 다시 시도): {}", entries.size(), e.getMessage());
+            List<GeminiBatchEntry> retries = new ArrayList<>();
+            for (GeminiBatchEntry entry : entries) {
+                entry.setAttempts(entry.getAttempts() + 1);
+                if (entry.getAttempts() < maxSubmitAttempts) {
+                    retries.add(entry);
+                } else {
+                    publish(GeminiBatchResultEvent.failed(entry, "배치 제출 실패"));
+                }
+            }
+            batchRepository.requeue(nodeName, retries);
+            return false;
+        }
+
+        batchRepository.activate(nodeName, job);
+        meterRegistry.counter("gemini.batch.requests", "result", "submitted").increment(entries.size());
+        log.info(">>>>> 배치 제출 완료 ({}, {}건, key: {})", job.getName(), entries.size(), job.getKeyId());
+        return true;
+    }
+
+    // 입력 파일 업로드 → 배치 생성. 배치는 파일을 업로드한 키로만 만들 수 있음
+    Mono<GeminiBatchJob> submit(List<GeminiBatchEntry> entries) {
+        return Mono.fromCallable(() -> toJsonl(entries))
+                .flatMap(jsonl -> keyPool.withFileApiKey(null, key -> {
+                    String displayName = "quiz-batch-" + System.currentTimeMillis();
+                    return fileUploader.uploadStream(key, displayName + ".jsonl", JSONL_MIME_TYPE, Flux.just(jsonl))
+                            .flatMap(inputFile -> createBatch(key, displayName, inputFile.getName()))
+                            .map(name -> GeminiBatchJob.builder()
+                                    .name(name)
+                                    .keyId(key.getId())
+                                    .submittedAt(System.currentTimeMillis())
+                                    .entries(entries.stream().map(entry -> GeminiBatchEntry.builder()
+                                            .key(entry.getKey())
+                                            .metadata(entry.getMetadata())
+                                            .enqueuedAt(entry.getEnqueuedAt())
+                                            .build()).toList())
+                                    .build());
+                }))
+                .switchIfEmpty(Mono.error(new GeminiFailException())); // 배치 이름을 받지 못함
+    }
+
+    // 한 줄에 요청 1건 : {"key": "...", "request": {generateContent 요청}}
+    private byte[] toJsonl(List<GeminiBatchEntry> entries) throws JsonProcessingException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (GeminiBatchEntry entry : entries) {
+            ObjectNode line = objectMapper.createObjectNode();
+            line.put("key", entry.getKey());
+            line.set("request", objectMapper.readTree(entry.getRequest()));
+            out.writeBytes(objectMapper.writeValueAsBytes(line));
+            out.write('\n');
+        }
+        return out.toByteArray();
+    }
+
+    private Mono<String> createBatch(GeminiApiKey key, String displayName, String inputFileName) {
+        Map<String, Object> body = Map.of("batch", Map.of(
+                "display_name", displayName,
+                "input_config", Map.of("file_name", inputFileName)));
+
+        return webClientBuilder.build()
+                .post()
+                .uri(URI.create(String.format("%s/v1beta/models/%s:batchGenerateContent?key=%s", baseUrl, modelName.trim(), key.getValue())))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, keyPool::toGeminiError)
+                .bodyToMono(JsonNode.class)
+                .mapNotNull(response -> response.path("name").textValue());
+    }
+
+    void check(GeminiBatchJob job) {
+        GeminiApiKey key = keyPool.findById(job.getKeyId());
+        if (key == null) {
+            // 배치는 만든 키로만 조회할 수 있음
+            finish(job, null, "배치를 제출한 API 키를 사용할 수 없습니다.");
+            return;
+        }
+
+        JsonNode batch = fetchBatch(key, job.getName()).block(REQUEST_TIMEOUT);
+        if (batch == null) {
+            return;
+        }
+
+        String state = firstText(batch.path("metadata").path("state"), batch.path("state"));
+        if (state == null || !(state.endsWith("_SUCCEEDED") || state.endsWith("_FAILED")
+                || state.endsWith("_CANCELLED") || state.endsWith("_EXPIRED"))) {
+            return; // 아직 진행 중
+        }
+
+        String responsesFile = firstText(batch.path("response").path("responsesFile"),
+                batch.path("metadata").path("output").path("responsesFile"));
+        if (!state.endsWith("_SUCCEEDED") || responsesFile == null) {
+            finish(job, null, "배치 처리 실패 (" + state + ")");
+            return;
+        }
+
+        // 내려받기를 마친 뒤에 선점하므로, 다운로드 도중 장애가 나도 다른 노드가 다시 처리할 수 있음
+        Map<String, JsonNode> responses = downloadResponses(key, responsesFile).block(REQUEST_TIMEOUT);
+        finish(job, responses, "배치 결과에 응답이 없습니다.");
+    }
+
+    // 결과를 요청별로 전달 (목록에서 제거에 성공한 노드만)
+    private void finish(GeminiBatchJob job, Map<String, JsonNode> responses, String missingMessage) {
+        if (!batchRepository.claimFinished(job.getName())) {
+            return;
+        }
+
+        int succeeded = 0;
+        for (GeminiBatchEntry entry : job.getEntries()) {
+            JsonNode response = responses == null ? null : responses.get(entry.getKey());
+            GeminiBatchResultEvent event = response == null
+                    ? GeminiBatchResultEvent.failed(entry, missingMessage)
+                    : toEvent(entry, response);
+            if (event.isSucceeded()) {
+                succeeded++;
+            }
+            meterRegistry.timer("gemini.batch.turnaround")
+                    .record(System.currentTimeMillis() - entry.getEnqueuedAt(), TimeUnit.MILLISECONDS);
+            publish(event);
+        }
+
+        meterRegistry.counter("gemini.batch.requests", "result", "succeeded").increment(succeeded);
+        meterRegistry.counter("gemini.batch.requests", "result", "failed").increment(job.getEntries().size() - succeeded);
+        log.info(">>>>> 배치 완료 ({}, 성공: {}/{})", job.getName(), succeeded, job.getEntries().size());
+    }
+
+    private GeminiBatchResultEvent toEvent(GeminiBatchEntry entry, JsonNode line) {
+        if (line.hasNonNull("error")) {
+            return GeminiBatchResultEvent.failed(entry, line.path("error").path("message").asText("요청 처리 실패"));
+        }
+
+        StringBuilder text = new StringBuilder();
+        for (JsonNode part : line.path("response").path("candidates").path(0).path("content").path("parts")) {
+            text.append(part.path("text").asText(""));
+        }
+        try {
+            return GeminiBatchResultEvent.succeeded(entry, objectMapper.readValue(text.toString(), QuizResultDto.class));
+        } catch (JsonProcessingException e) {
+            log.warn(">>>>> [Job: {}] 배치 응답 파싱 오류: {}", entry.getKey(), e.getMessage());
+            return GeminiBatchResultEvent.failed(entry, "응답 파싱 실패");
+        }
+    }
+
+    private void publish(GeminiBatchResultEvent event) {
+        try {
+            eventPublisher.publishEvent(event);
+        } catch (Exception e) {
+            log.warn(">>>>> [Job: {}] 배치 결과 반영 실패: {}", event.getKey(), e.getMessage());
+        }
+    }
+
+    private Mono<JsonNode> fetchBatch(GeminiApiKey key, String batchName) {
+        return webClientBuilder.build()
+                .get()
+                .uri(URI.create(String.format("%s/v1beta/%s?key=%s", baseUrl, batchName, key.getValue())))
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, keyPool::toGeminiError)
+                .bodyToMono(JsonNode.class);
+    }
+
+    // 결과 파일은 줄 단위로 읽어 key -> 응답 줄로 모음 (파일 전체를 한 번에 버퍼링하지 않음)
+    private Mono<Map<String, JsonNode>> downloadResponses(GeminiApiKey key, String responsesFile) {
+        return webClientBuilder.build()
+                .get()
+                .uri(URI.create(String.format("%s/download/v1beta/%s:download?alt=media&key=%s", baseUrl, responsesFile, key.getValue())))
+                .accept(MediaType.ALL)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, keyPool::toGeminiError)
+                .bodyToFlux(String.class)
+                .filter(line -> !line.isBlank())
+                .concatMap(line -> {
+                    try {
+                        return Mono.just(objectMapper.readTree(line));
+                    } catch (JsonProcessingException e) {
+                        log.warn(">>>>> 배치 결과 줄 파싱 실패 (건너뜀): {}", e.getMessage());
+                        return Mono.empty();
+                    }
+                })
+                .filter(line -> line.hasNonNull("key"))
+                .collectMap(line -> line.path("key").asText());
+    }
+
+    private static String firstText(JsonNode... candidates) {
+        for (JsonNode candidate : candidates) {
+            if (candidate.isTextual()) {
+                return candidate.textValue();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,214 @@
+package com.ondongne.backend.domain.gemini.service;
+
+import com.ondongne.backend.domain.gemini.dto.GeminiCachedContentDto;
+import com.ondongne.backend.domain.gemini.dto.GeminiRequestDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gemini cachedContents 관리
+ * - 고정된 시스템 지시문은 키마다 캐시 1개를 만들어 모든 호출이 공유
+ * - 같은 큰 입력(영상 파일, 긴 텍스트)이 같은 키로 여러 번 쓰이면 시스템 지시문 + 입력을 함께 캐시
+ * - 캐시는 API 키(프로젝트)에 묶이므로 키별로 이름과 만료 시각을 기록하고, 만료 전에 새로 만듦
+ * - 만들기에 실패하면(최소 토큰 미달 등) 한동안 다시 시도하지 않고 캐시 없이 호출하도록 빈 Mono를 반환
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GeminiContextCache {
+
+    @Value("${app.gemini.base-url}")
+    private String baseUrl;
+
+    @Value("${app.gemini.model}")
+    private String modelName;
+
+    @Value("${app.gemini.context-cache.enabled}")
+    private boolean enabled;
+
+    @Value("${app.gemini.context-cache.ttl-minutes}")
+    private long ttlMinutes;
+
+    // 구글 서버 만료보다 이만큼 먼저 새 캐시로 교체 (생성 도중 만료 방지)
+    @Value("${app.gemini.context-cache.refresh-margin-seconds}")
+    private long refreshMarginSeconds;
+
+    // 이보다 작은 입력은 따로 캐시하지 않음 (API 최소 토큰 수)
+    @Value("${app.gemini.context-cache.min-content-tokens}")
+    private long minContentTokens;
+
+    // 같은 입력이 이 횟수만큼 쓰이면 캐시 생성
+    @Value("${app.gemini.context-cache.reuse-threshold}")
+    private int reuseThreshold;
+
+    @Value("${app.gemini.context-cache.failure-backoff-minutes}")
+    private long failureBackoffMinutes;
+
+    private final WebClient.Builder webClientBuilder;
+    private final MeterRegistry meterRegistry;
+
+    private static final String SYSTEM_CONTENT_ID = "system";
+
+    // "{keyId}:{contentId}" -> 캐시 (생성 중이면 같은 Mono를 공유)
+    private final Map<String, Mono<CachedContext>> caches = new ConcurrentHashMap<>();
+    // "{keyId}:{contentId}" -> 사용 횟수
+    private final Map<String, UseCount> useCounts = new ConcurrentHashMap<>();
+    // "{keyId}:{contentId}" -> 다시 시도해도 되는 시각
+    private final Map<String, Long> failedUntil = new ConcurrentHashMap<>();
+
+    /**
+     * 이 키로 쓸 수 있는 캐시를 반환합니다. 없거나 만들 수 없으면 빈 Mono (캐시 없이 호출)
+     *
+     * @param contentId     입력 식별자 (파일 URI, 텍스트 해시 등). 입력을 캐시하지 않으려면 null
+     * @param contentTokens 입력의 예상 토큰 수
+     */
+    public Mono<CachedContext> resolve(GeminiApiKey key, GeminiRequestDto.Part systemPart,
+                                       GeminiRequestDto.Part contentPart, String contentId, long contentTokens) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+
+        Mono<CachedContext> systemOnly = getOrCreate(key, SYSTEM_CONTENT_ID, systemPart, null);
+        if (contentId == null || contentTokens < minContentTokens || recordUse(key, contentId) < reuseThreshold) {
+            return systemOnly;
+        }
+        return getOrCreate(key, contentId, systemPart, contentPart).switchIfEmpty(systemOnly);
+    }
+
+    /**
+     * 호출 시 캐시를 찾을 수 없었음(삭제/만료) : 기록을 지워 다음 호출에서 새로 만들게 함
+     */
+    public void evict(GeminiApiKey key, CachedContext cached) {
+        caches.remove(cacheKey(key, cached.contentId()));
+        log.info(">>>>> Gemini 컨텍스트 캐시 제거 ({}, key: {})", cached.name(), key.getId());
+    }
+
+    private Mono<CachedContext> getOrCreate(GeminiApiKey key, String contentId, GeminiRequestDto.Part systemPart,
+                                            GeminiRequestDto.Part contentPart) {
+        String cacheKey = cacheKey(key, contentId);
+        Long retryAt = failedUntil.get(cacheKey);
+        if (retryAt != null) {
+            if (retryAt > System.currentTimeMillis()) {
+                return Mono.empty();
+            }
+            failedUntil.remove(cacheKey, retryAt);
+        }
+
+        Mono<CachedContext> cached = caches.computeIfAbsent(cacheKey, k -> create(key, contentId, systemPart, contentPart));
+        return cached.flatMap(context -> {
+            if (context.usableUntil().isAfter(Instant.now())) {
+                meterRegistry.counter("gemini.context-cache.requests", "result", "hit").increment();
+                return Mono.just(context);
+            }
+            // 만료 임박 : 교체 (다른 호출이 이미 교체했으면 그 결과를 사용)
+            caches.remove(cacheKey, cached);
+            return caches.computeIfAbsent(cacheKey, k -> create(key, contentId, systemPart, contentPart));
+        });
+    }
+
+    private Mono<CachedContext> create(GeminiApiKey key, String contentId, GeminiRequestDto.Part systemPart,
+                                       GeminiRequestDto.Part contentPart) {
+        String cacheKey = cacheKey(key, contentId);
+
+        GeminiCachedContentDto request = GeminiCachedContentDto.builder()
+                .model("models/" + modelName.trim())
+                .displayName(contentPart == null ? "quiz-system" : "quiz-content")
+                .systemInstruction(GeminiRequestDto.SystemInstruction.builder()
+                        .parts(Collections.singletonList(systemPart))
+                        .build())
+                .contents(contentPart == null ? null : Collections.singletonList(GeminiRequestDto.Content.builder()
+                        .role("user")
+                        .parts(List.of(contentPart))
+                        .build()))
+                .ttl(Duration.ofMinutes(ttlMinutes).toSeconds() + "s")
+                .build();
+
+        return webClientBuilder.build()
+                .post()
+                .uri(URI.create(String.format("%s/v1beta/cachedContents?key=%s", baseUrl, key.getValue())))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, response -> response.bodyToMono(String.class)
+                        .defaultIfEmpty("")
+                        .map(body -> new IllegalStateException(response.statusCode().value() + " " + body)))
+                .bodyToMono(GeminiCachedContentDto.class)
+                .map(response -> new CachedContext(response.getName(), contentId, contentPart != null,
+                        usableUntil(response.getExpireTime())))
+                .doOnNext(context -> {
+                    meterRegistry.counter("gemini.context-cache.requests", "result", "created").increment();
+                    log.info(">>>>> Gemini 컨텍스트 캐시 생성 ({}, 입력 포함: {}, key: {})", context.name(), context.includesContent(), key.getId());
+                })
+                .onErrorResume(e -> {
+                    meterRegistry.counter("gemini.context-cache.requests", "result", "failed").increment();
+                    log.warn(">>>>> Gemini 컨텍스트 캐시 생성 실패 (캐시 없이 진행, key: {}): {}", key.getId(), e.getMessage());
+                    failedUntil.put(cacheKey, System.currentTimeMillis() + Duration.ofMinutes(failureBackoffMinutes).toMillis());
+                    caches.remove(cacheKey);
+                    return Mono.empty();
+                })
+                .cache(); // 동시에 들어온 호출은 생성 요청 1건을 공유
+    }
+
+    private int recordUse(GeminiApiKey key, String contentId) {
+        long now = System.currentTimeMillis();
+        long window = Duration.ofMinutes(ttlMinutes).toMillis();
+        useCounts.values().removeIf(useCount -> useCount.expiresAt < now);
+
+        UseCount useCount = useCounts.compute(cacheKey(key, contentId), (k, current) ->
+                current == null || current.expiresAt < now ? new UseCount(1, now + window) : new UseCount(current.count + 1, current.expiresAt));
+        return useCount.count;
+    }
+
+    private Instant usableUntil(String expireTime) {
+        Instant expiresAt;
+        try {
+            expiresAt = Optional.ofNullable(expireTime).map(Instant::parse).orElse(null);
+        } catch (DateTimeParseException e) {
+            log.warn(">>>>> 캐시 만료 시각 파싱 실패: {}", expireTime);
+            expiresAt = null;
+        }
+        if (expiresAt == null) {
+            expiresAt = Instant.now().plus(Duration.ofMinutes(ttlMinutes));
+        }
+        return expiresAt.minusSeconds(refreshMarginSeconds);
+    }
+
+    private static String cacheKey(GeminiApiKey key, String contentId) {
+        return key.getId() + ":" + contentId;
+    }
+
+    /**
+     * @param includesContent true면 입력까지 캐시에 들어 있으므로 요청에는 사용자 지시만 보냄
+     */
+    public record CachedContext(String name, String contentId, boolean includesContent, Instant usableUntil) {
+    }
+
+    private record UseCount(int count, long expiresAt) {
+    }
+
+    /**
+     * generateContent가 캐시를 찾지 못함 (구글 서버에서 삭제/만료)
+     */
+    public static class StaleCachedContentException extends RuntimeException {
+        public StaleCachedContentException() {
+            super("Gemini 컨텍스트 캐시를 참조할 수 없습니다.");
+        }
+    }
+}
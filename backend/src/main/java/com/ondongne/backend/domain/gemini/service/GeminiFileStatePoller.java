@@ -0,0 +1,296 @@
+package com.ondongne.backend.domain.gemini.service;
+
+import com.ondongne.backend.domain.gemini.dto.GeminiUploadedFile;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 업로드된 파일들의 처리 상태(PROCESSING -> ACTIVE)를 한 곳에서 모아 확인합니다.
+ * - 대기 중인 파일을 모두 추적하고, 주기마다 확인 시각이 된 파일만 골라 키별로 묶어서 조회
+ * - 같은 키에 대기 파일이 여러 개면 files.list 한 번으로 상태를 확인 (파일마다 GET 하지 않음)
+ * - 키별로 따로 조회하므로 한 키가 느려도(한도 대기, 응답 지연) 다른 키의 파일 확인은 계속됨
+ * - 확인 간격은 파일 크기와 대기 시간에 따라 늘어나며, 동시에 몰리지 않도록 jitter를 줌
+ * - 기다리는 작업은 파일별 sink로 완료/실패를 전달받음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GeminiFileStatePoller {
+
+    @Value("${app.gemini.file-poller.tick-millis}")
+    private long tickMillis;
+
+    @Value("${app.gemini.file-poller.min-interval-millis}")
+    private long minIntervalMillis;
+
+    @Value("${app.gemini.file-poller.max-interval-millis}")
+    private long maxIntervalMillis;
+
+    @Value("${app.gemini.file-poller.list-threshold}")
+    private int listThreshold;
+
+    @Value("${app.gemini.file-poller.timeout-seconds}")
+    private long timeoutSeconds;
+
+    @Value("${app.gemini.file-poller.request-timeout-seconds}")
+    private long requestTimeoutSeconds;
+
+    @Value("${app.gemini.base-url}")
+    private String baseUrl;
+
+    private final WebClient.Builder webClientBuilder;
+    private final GeminiKeyPool keyPool;
+    private final MeterRegistry meterRegistry;
+
+    private static final int LIST_PAGE_SIZE = 100;
+    private static final int LIST_MAX_PAGES = 3;
+
+    // 크기 기준 첫 확인 지연 (영상 처리는 대략 크기에 비례)
+    private static final long BYTES_PER_INITIAL_SECOND = 20L * 1024 * 1024;
+    private static final double BACKOFF_MULTIPLIER = 1.5;
+    private static final double JITTER_RATIO = 0.2;
+
+    // 파일 이름(files/abc) -> 대기 정보
+    private final Map<String, PendingFile> pendingFiles = new ConcurrentHashMap<>();
+    // 조회가 진행 중인 키 (이전 조회가 끝나지 않은 키는 다음 주기에 건너뜀)
+    private final Set<String> pollingKeys = ConcurrentHashMap.newKeySet();
+
+    private Disposable ticker;
+
+    @PostConstruct
+    void start() {
+        meterRegistry.gaugeMapSize("gemini.file.poll.pending", List.of(), pendingFiles);
+        ticker = Flux.interval(Duration.ofMillis(tickMillis))
+                .onBackpressureDrop()
+                .subscribe(tick -> runCycle());
+    }
+
+    @PreDestroy
+    void stop() {
+        if (ticker != null) {
+            ticker.dispose();
+        }
+    }
+
+    /**
+     * 파일이 ACTIVE가 될 때까지 기다립니다.
+     * FAILED면 오류, 삭제/만료된 파일이면 StaleFileException, 제한 시간을 넘기면 타임아웃 오류로 끝납니다.
+     */
+    public Mono<Void> awaitActive(GeminiUploadedFile uploadedFile) {
+        return Mono.defer(() -> {
+            PendingFile pending = pendingFiles.computeIfAbsent(uploadedFile.getName(), name -> new PendingFile(uploadedFile));
+            pending.waiters.incrementAndGet();
+
+            return pending.sink.asMono()
+                    .timeout(Duration.ofSeconds(timeoutSeconds))
+                    .doFinally(signalType -> {
+                        if (pending.waiters.decrementAndGet() == 0) {
+                            pendingFiles.remove(uploadedFile.getName(), pending);
+                        }
+                    });
+        });
+    }
+
+    /**
+     * 파일 상태를 한 번만 조회합니다. (재사용 전 확인 등)
+     */
+    public Mono<String> fetchState(GeminiUploadedFile uploadedFile) {
+        return getFile(uploadedFile.getKeyId(), uploadedFile.getName())
+                .map(response -> String.valueOf(response.get("state")));
+    }
+
+    private void runCycle() {
+        if (pendingFiles.isEmpty()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        Map<String, List<PendingFile>> dueByKey = pendingFiles.values().stream()
+                .filter(pending -> pending.nextCheckAt <= now)
+                .filter(pending -> !pollingKeys.contains(pending.file.getKeyId()))
+                .collect(Collectors.groupingBy(pending -> pending.file.getKeyId()));
+
+        dueByKey.forEach((keyId, due) -> {
+            if (!pollingKeys.add(keyId)) {
+                return;
+            }
+            pollKey(keyId, due)
+                    .doFinally(signalType -> pollingKeys.remove(keyId))
+                    .subscribe();
+        });
+    }
+
+    private Mono<Void> pollKey(String keyId, List<PendingFile> due) {
+        Mono<Void> poll;
+        if (due.size() >= listThreshold) {
+            poll = listStates(keyId)
+                    .flatMap(states -> {
+                        List<PendingFile> missing = new ArrayList<>();
+                        for (PendingFile pending : due) {
+                            String state = states.get(pending.file.getName());
+                            if (state == null) {
+                                missing.add(pending); // 목록 범위 밖이면 개별 조회
+                            } else {
+                                applyState(pending, state);
+                            }
+                        }
+                        return Flux.fromIterable(missing).flatMap(this::pollSingle).then();
+                    });
+        } else {
+            poll = Flux.fromIterable(due).flatMap(this::pollSingle).then();
+        }
+
+        return poll.onErrorResume(e -> {
+            log.warn(">>>>> 파일 상태 일괄 조회 실패 (key: {}): {}", keyId, e.getMessage());
+            due.forEach(this::scheduleNext);
+            return Mono.empty();
+        });
+    }
+
+    private Mono<Void> pollSingle(PendingFile pending) {
+        return fetchState(pending.file)
+                .doOnNext(state -> applyState(pending, state))
+                .onErrorResume(StaleFileException.class, e -> {
+                    complete(pending, e);
+                    return Mono.empty();
+                })
+                .onErrorResume(e -> {
+                    log.warn(">>>>> 파일 상태 조회 실패 ({}): {}", pending.file.getName(), e.getMessage());
+                    scheduleNext(pending);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private void applyState(PendingFile pending, String state) {
+        if ("ACTIVE".equals(state)) {
+            complete(pending, null);
+        } else if ("FAILED".equals(state)) {
+            complete(pending, new RuntimeException("Gemini 비디오 처리 실패 (FAILED)"));
+        } else {
+            log.debug(">>>>> Video State Check: {} ({})", state, pending.file.getName());
+            scheduleNext(pending);
+        }
+    }
+
+    private void complete(PendingFile pending, Throwable error) {
+        pendingFiles.remove(pending.file.getName(), pending);
+        if (error == null) {
+            pending.sink.tryEmitEmpty();
+        } else {
+            pending.sink.tryEmitError(error);
+        }
+    }
+
+    // 확인할 때마다 간격을 늘리되(대기 시간이 길수록 천천히) 최대 간격을 넘지 않음
+    private void scheduleNext(PendingFile pending) {
+        pending.checks++;
+        double interval = Math.min(maxIntervalMillis, pending.baseIntervalMillis * Math.pow(BACKOFF_MULTIPLIER, pending.checks));
+        double jitter = interval * JITTER_RATIO * (ThreadLocalRandom.current().nextDouble() * 2 - 1);
+        pending.nextCheckAt = System.currentTimeMillis() + (long) (interval + jitter);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Mono<Map<String, String>> listStates(String keyId) {
+        Map<String, String> states = new HashMap<>();
+
+        return listPage(keyId, null)
+                .expand(page -> {
+                    String nextPageToken = (String) page.get("nextPageToken");
+                    return nextPageToken == null || nextPageToken.isEmpty() ? Mono.empty() : listPage(keyId, nextPageToken);
+                })
+                .take(LIST_MAX_PAGES)
+                .doOnNext(page -> {
+                    List<Map<String, Object>> files = (List<Map<String, Object>>) page.get("files");
+                    if (files != null) {
+                        files.forEach(file -> states.put(String.valueOf(file.get("name")), String.valueOf(file.get("state"))));
+                    }
+                })
+                .then(Mono.fromSupplier(() -> states));
+    }
+
+    @SuppressWarnings("rawtypes")
+    private Mono<Map> listPage(String keyId, String pageToken) {
+        meterRegistry.counter("gemini.file.poll.requests", "method", "list").increment();
+
+        return keyPool.withFileApiKey(keyId, key -> {
+            String url = String.format("%s/v1beta/files?pageSize=%d&key=%s", baseUrl, LIST_PAGE_SIZE, key.getValue())
+                    + (pageToken == null ? "" : "&pageToken=" + URLEncoder.encode(pageToken, StandardCharsets.UTF_8));
+
+            return webClientBuilder.build()
+                    .get()
+                    .uri(URI.create(url))
+                    .retrieve()
+                    .onStatus(HttpStatusCode::isError, keyPool::toGeminiError)
+                    .bodyToMono(Map.class);
+        }).timeout(Duration.ofSeconds(requestTimeoutSeconds));
+    }
+
+    // 파일이 삭제/만료되었으면(403, 404) StaleFileException
+    // list/get 모두 키 대기 + 요청 시간을 request-timeout-seconds로 제한 (넘기면 실패로 보고 다음 확인 시각에 재시도)
+    @SuppressWarnings("rawtypes")
+    private Mono<Map> getFile(String keyId, String fileName) {
+        meterRegistry.counter("gemini.file.poll.requests", "method", "get").increment();
+        String fileId = fileName.substring(fileName.lastIndexOf("/") + 1);
+
+        return keyPool.withFileApiKey(keyId, key -> webClientBuilder.build()
+                .get()
+                .uri(URI.create(String.format("%s/v1beta/files/%s?key=%s", baseUrl, fileId, key.getValue())))
+                .retrieve()
+                .onStatus(status -> status.value() == 403 || status.value() == 404,
+                        response -> Mono.error(new StaleFileException()))
+                .onStatus(HttpStatusCode::isError, keyPool::toGeminiError)
+                .bodyToMono(Map.class))
+                .timeout(Duration.ofSeconds(requestTimeoutSeconds));
+    }
+
+    private class PendingFile {
+        private final GeminiUploadedFile file;
+        private final Sinks.Empty<Void> sink = Sinks.empty();
+        private final AtomicInteger waiters = new AtomicInteger();
+        private final long baseIntervalMillis;
+        private volatile long nextCheckAt;
+        private volatile int checks;
+
+        private PendingFile(GeminiUploadedFile file) {
+            this.file = file;
+            long sizeBytes = file.getSizeBytes() == null ? 0L : file.getSizeBytes();
+            this.baseIntervalMillis = Math.min(maxIntervalMillis, minIntervalMillis + sizeBytes * 1000 / BYTES_PER_INITIAL_SECOND);
+            this.nextCheckAt = System.currentTimeMillis() + baseIntervalMillis;
+        }
+    }
+
+    /**
+     * 파일이 더 이상 존재하지 않거나 참조할 수 없음 (만료, 삭제)
+     */
+    public static class StaleFileException extends RuntimeException {
+        public StaleFileException() {
+            super("Gemini 파일을 참조할 수 없습니다.");
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.ondongne.backend.domain.gemini.service;
+
+import com.ondongne.backend.domain.gemini.dto.GeminiUploadedFile;
+import com.ondongne.backend.global.exception.FailDownloadException;
+import com.ondongne.backend.global.exception.GeminiFailException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+/**
+ * Gemini File API의 resumable 업로드 프로토콜 (X-Goog-Upload-*) 구현
+ * 1. start    : 업로드 세션 생성 → X-Goog-Upload-URL 발급
+ * 2. upload   : 지정한 offset부터 청크 전송 (마지막 청크는 "upload, finalize")
+ * 3. query    : 전송 실패 시 세션이 실제로 받은 바이트 수를 조회해 그 위치부터 재개
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GeminiFileUploader {
+
+    @Value("${app.gemini.upload.chunk-size-bytes}")
+    private int chunkSize;
+
+    @Value("${app.gemini.upload.max-chunk-retries}")
+    private int maxChunkRetries;
+
+    @Value("${app.gemini.upload.prefetch-next-chunk}")
+    private boolean prefetchNextChunk;
+
+    @Value("${app.gemini.base-url}")
+    private String baseUrl;
+
+    private final WebClient.Builder webClientBuilder;
+    private final GeminiKeyPool keyPool;
+    private final MeterRegistry meterRegistry;
+
+    private Counter chunkRetryCounter;
+
+
+    // 스트림 끝 표식 (참조 비교용)
+    private static final byte[] END_OF_STREAM = new byte[0];
+
+    private static final long RETRY_BACKOFF_MILLIS = 500L;
+
+    @PostConstruct
+    void init() {
+        chunkRetryCounter = Counter.builder("gemini.upload.chunk.retries")
+                .description("업로드 청크 재전송 횟수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 로컬 파일을 청크 단위로 업로드합니다.
+     * 다음 청크를 미리 읽어두는 옵션(prefetch-next-chunk)을 켜면, 현재 청크 전송 중에 디스크 읽기가 겹쳐서 진행됩니다.
+     */
+    public Mono<GeminiUploadedFile> uploadFile(GeminiApiKey key, File file, String mimeType) {
+        long fileSize = file.length();
+
+        return startSession(key, file.getName(), mimeType, fileSize)
+                .flatMap(uploadUrl -> Flux.using(
+                                () -> FileChannel.open(file.toPath(), StandardOpenOption.READ),
+                                channel -> Flux.fromStream(LongStream.iterate(0L, offset -> offset < fileSize, offset -> offset + chunkSize).boxed())
+                                        .concatMap(offset -> readChunk(channel, offset, (int) Math.min(chunkSize, fileSize - offset))),
+                                this::closeQuietly)
+                        .concatMap(chunk -> sendChunkWithRecovery(uploadUrl, chunk.data(), chunk.offset(),
+                                chunk.offset() + chunk.data().length >= fileSize, mimeType, 0), prefetchNextChunk ? 1 : 0)
+                        .next())
+                .switchIfEmpty(Mono.error(new GeminiFailException()))
+                .map(response -> toUploadedFile(response, key));
+    }
+
+    /**
+     * 전체 크기를 모르는 바이트 스트림을 청크 단위로 업로드합니다.
+     * 마지막 청크를 알아내기 위해 한 청크를 미리 읽어두고(look-ahead), 스트림이 정상 종료된 뒤에만 finalize 합니다.
+     * 청크는 업로드가 끝나야 다음 청크를 요청하므로, 업로드 속도가 다운로드 속도를 조절합니다.
+     *
+     * @param chunks 마지막을 제외한 모든 청크는 업로드 단위(256KB)의 배수 크기여야 함
+     */
+    public Mono<GeminiUploadedFile> uploadStream(GeminiApiKey key, String displayName, String mimeType, Flux<byte[]> chunks) {
+        return startSession(key, displayName, mimeType, null)
+                .flatMap(uploadUrl -> {
+                    AtomicLong offset = new AtomicLong();
+
+                    return chunks.concatWith(Mono.just(END_OF_STREAM))
+                            .buffer(2, 1)
+                            .concatMap(window -> {
+                                byte[] chunk = window.get(0);
+                                if (chunk == END_OF_STREAM) {
+                                    return Mono.empty();
+                                }
+                                boolean last = window.size() < 2 || window.get(1) == END_OF_STREAM;
+                                long chunkOffset = offset.getAndAdd(chunk.length);
+                                return sendChunkWithRecovery(uploadUrl, chunk, chunkOffset, last, mimeType, 0);
+                            }, 1)
+                            .next()
+                            .doOnSuccess(response -> log.info(">>>>> 스트리밍 업로드 완료 ({} bytes)", offset.get()));
+                })
+                .switchIfEmpty(Mono.error(new FailDownloadException())) // 받은 바이트가 하나도 없는 경우
+                .map(response -> toUploadedFile(response, key));
+    }
+
+    // 업로드 세션 시작 (업로드 URL 발급). 전체 크기를 모르면 contentLength = null
+    private Mono<String> startSession(GeminiApiKey key, String displayName, String mimeType, Long contentLength) {
+        Map<String, Object> metadata = Map.of("file", Map.of("display_name", displayName));
+        String uploadUrlString = String.format("%s/upload/v1beta/files?key=%s", baseUrl, key.getValue());
+
+        return webClientBuilder.build()
+                .post()
+                .uri(URI.create(uploadUrlString))
+                .headers(headers -> {
+                    headers.set("X-Goog-Upload-Protocol", "resumable");
+                    headers.set("X-Goog-Upload-Command", "start");
+                    headers.set("X-Goog-Upload-Header-Content-Type", mimeType);
+                    if (contentLength != null) {
+                        headers.set("X-Goog-Upload-Header-Content-Length", String.valueOf(contentLength));
+                    }
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(metadata)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, keyPool::toGeminiError)
+                .toEntity(String.class)
+                .mapNotNull(entity -> entity.getHeaders().getFirst("X-Goog-Upload-URL"));
+    }
+
+    /**
+     * 청크 1개를 전송하고, 네트워크 오류나 5xx로 실패하면 세션에 실제로 반영된 offset을 조회해 그 지점부터 이어서 전송합니다.
+     * (파일 전체를 처음부터 다시 보내지 않음)
+     */
+    @SuppressWarnings("rawtypes")
+    private Mono<Map> sendChunkWithRecovery(String uploadUrl, byte[] chunk, long offset, boolean last, String mimeType, int attempt) {
+        return sendChunk(uploadUrl, chunk, offset, last, mimeType)
+                .onErrorResume(e -> isRecoverable(e) && attempt < maxChunkRetries, e -> {
+                    log.warn(">>>>> 청크 전송 실패 (offset: {}, 시도: {}). 반영된 위치 조회 후 재개: {}", offset, attempt + 1, e.getMessage());
+                    chunkRetryCounter.increment();
+
+                    return Mono.delay(Duration.ofMillis(RETRY_BACKOFF_MILLIS * (1L << attempt)))
+                            .then(queryCommittedOffset(uploadUrl))
+                            .flatMap(committed -> {
+                                long chunkEnd = offset + chunk.length;
+                                if (committed < offset || committed > chunkEnd) {
+                                    log.error(">>>>> 업로드 세션 offset 불일치 (기대: {}~{}, 실제: {})", offset, chunkEnd, committed);
+                                    return Mono.error(new GeminiFailException(e));
+                                }
+                                if (committed == chunkEnd && !last) {
+                                    return Mono.empty(); // 응답만 유실되고 청크는 이미 반영됨
+                                }
+                                byte[] remaining = Arrays.copyOfRange(chunk, (int) (committed - offset), chunk.length);
+                                return sendChunkWithRecovery(uploadUrl, remaining, committed, last, mimeType, attempt + 1);
+                            });
+                })
+                .onErrorMap(WebClientException.class, GeminiFailException::new);
+    }
+
+    // 청크 1개 전송. 마지막 청크의 응답에만 파일 정보가 담김
+    @SuppressWarnings("rawtypes")
+    private Mono<Map> sendChunk(String uploadUrl, byte[] chunk, long offset, boolean last, String mimeType) {
+        WebClient.ResponseSpec response = webClientBuilder.build()
+                .post()
+                .uri(URI.create(uploadUrl))
+                .header("X-Goog-Upload-Command", last ? "upload, finalize" : "upload")
+                .header("X-Goog-Upload-Offset", String.valueOf(offset))
+                .contentType(MediaType.parseMediaType(mimeType))
+                .bodyValue(chunk)
+                .retrieve();
+
+        return last ? response.bodyToMono(Map.class) : response.toBodilessEntity().then(Mono.empty());
+    }
+
+    // 업로드 세션이 지금까지 받은 바이트 수 조회
+    private Mono<Long> queryCommittedOffset(String uploadUrl) {
+        return webClientBuilder.build()
+                .post()
+                .uri(URI.create(uploadUrl))
+                .header("X-Goog-Upload-Command", "query")
+                .retrieve()
+                .toBodilessEntity()
+                .map(entity -> {
+                    String received = entity.getHeaders().getFirst("X-Goog-Upload-Size-Received");
+                    return received == null ? 0L : Long.parseLong(received);
+                });
+    }
+
+    // 네트워크 오류, 408/429, 5xx는 같은 세션으로 재개 가능
+    private boolean isRecoverable(Throwable e) {
+        if (e instanceof WebClientRequestException) {
+            return true;
+        }
+        if (e instanceof WebClientResponseException responseException) {
+            HttpStatusCode status = responseException.getStatusCode();
+            return status.is5xxServerError() || status.value() == 408 || status.value() == 429;
+        }
+        return false;
+    }
+
+    private Mono<FileChunk> readChunk(FileChannel channel, long offset, int length) {
+        return Mono.fromCallable(() -> {
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) {
+                    break;
+                }
+            }
+            return new FileChunk(offset, buffer.array());
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private void closeQuietly(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn(">>>>> 파일 채널 닫기 실패: {}", e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private GeminiUploadedFile toUploadedFile(Map<String, Object> response, GeminiApiKey key) {
+        Map<String, Object> fileInfo = (Map<String, Object>) response.get("file");
+        return GeminiUploadedFile.builder()
+                .fileUri((String) fileInfo.get("uri")) // 최종 File URI
+                .name((String) fileInfo.get("name"))
+                .expirationTime((String) fileInfo.get("expirationTime"))
+                .sizeBytes(fileInfo.get("sizeBytes") == null ? null : Long.valueOf(String.valueOf(fileInfo.get("sizeBytes"))))
+                .keyId(key.getId())
+                .build();
+    }
+
+    private record FileChunk(long offset, byte[] data) {}
+}
@@ -0,0 +1,265 @@
+package com.ondongne.backend.domain.gemini.service;
+
+import com.ondongne.backend.domain.gemini.dto.GeminiResponseDto;
+import com.ondongne.backend.global.exception.GeminiFailException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 여러 개의 Gemini API 키를 묶어 관리하는 키 풀입니다.
+ * - 선택 : 한도 여유(headroom)가 가장 큰 키 → 동률이면 진행 중 요청이 적은 키
+ * - 429/503 : 해당 키를 Retry-After 동안 제외하고 다른 키로 재시도
+ * - 파일 고정 : 업로드한 파일은 업로드한 키로만 참조 가능하므로 keyId를 지정해 같은 키를 사용
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GeminiKeyPool {
+
+    @Value("${app.gemini.api-keys}")
+    private List<String> apiKeyValues;
+
+    @Value("${app.gemini.key-pool.requests-per-minute}")
+    private long requestsPerMinute;
+
+    @Value("${app.gemini.key-pool.tokens-per-minute}")
+    private long tokensPerMinute;
+
+    @Value("${app.gemini.key-pool.default-retry-after-seconds}")
+    private long defaultRetryAfterSeconds;
+
+    @Value("${app.gemini.key-pool.max-wait-seconds}")
+    private long maxWaitSeconds;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, GeminiApiKey> keys = new LinkedHashMap<>();
+
+    // 한 요청에서 다른 키로 갈아타는 최대 횟수
+    private static final int MAX_ROTATIONS = 3;
+    private static final long MIN_WAIT_MILLIS = 100L;
+
+    // 429 응답 본문의 RetryInfo (예: "retryDelay": "31s")
+    private static final Pattern RETRY_DELAY_PATTERN = Pattern.compile("\"retryDelay\"\\s*:\\s*\"(\\d+)(?:\\.\\d+)?s\"");
+
+    @PostConstruct
+    void init() {
+        for (String value : apiKeyValues) {
+            if (value == null || value.isBlank()) {
+                continue;
+            }
+            GeminiApiKey key = new GeminiApiKey(value, requestsPerMinute, tokensPerMinute);
+            if (keys.putIfAbsent(key.getId(), key) == null) {
+                registerMetrics(key);
+            }
+        }
+
+        if (keys.isEmpty()) {
+            log.warn(">>>>> Gemini API 키가 설정되지 않았습니다. (app.gemini.api-keys)");
+        } else {
+            log.info(">>>>> Gemini API 키 {}개 로드 완료: {}", keys.size(), keys.keySet());
+        }
+    }
+
+    /**
+     * 모델 호출(generateContent 등)용 키를 빌려 call을 실행합니다. RPM/TPM 한도를 차감합니다.
+     *
+     * @param pinnedKeyId 특정 키만 사용해야 할 때(업로드 파일 참조 등) 지정, 아니면 null
+     */
+    public <T> Mono<T> withGenerationKey(String pinnedKeyId, long estimatedTokens, Function<GeminiApiKey, Mono<T>> call) {
+        return withKey(pinnedKeyId, estimatedTokens, true, call);
+    }
+
+    /**
+     * File API(업로드, 상태 조회)용 키를 빌려 call을 실행합니다. 모델 호출 한도는 차감하지 않습니다.
+     */
+    public <T> Mono<T> withFileApiKey(String pinnedKeyId, Function<GeminiApiKey, Mono<T>> call) {
+        return withKey(pinnedKeyId, 0L, false, call);
+    }
+
+    // 응답의 실제 토큰 사용량으로 예상치를 보정
+    public void reportUsage(GeminiApiKey key, long estimatedTokens, GeminiResponseDto.UsageMetadata usage) {
+        if (usage != null && usage.getTotalTokenCount() > 0) {
+            key.adjustTokens(usage.getTotalTokenCount() - estimatedTokens);
+        }
+    }
+
+    public GeminiApiKey findById(String keyId) {
+        return keys.get(keyId);
+    }
+
+    public Collection<GeminiApiKey> getKeys() {
+        return keys.values();
+    }
+
+    // Retry-After 헤더(초 또는 HTTP-date) → 본문 retryDelay → 기본값 순으로 해석
+    public Duration parseRetryAfter(String retryAfterHeader, String errorBody) {
+        if (retryAfterHeader != null && !retryAfterHeader.isBlank()) {
+            try {
+                return Duration.ofSeconds(Long.parseLong(retryAfterHeader.trim()));
+            } catch (NumberFormatException ignored) {
+                try {
+                    ZonedDateTime retryAt = ZonedDateTime.parse(retryAfterHeader.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                    Duration untilRetry = Duration.between(ZonedDateTime.now(), retryAt);
+                    if (!untilRetry.isNegative()) {
+                        return untilRetry;
+                    }
+                } catch (Exception e) {
+                    log.debug(">>>>> Retry-After 헤더 해석 실패: {}", retryAfterHeader);
+                }
+            }
+        }
+
+        if (errorBody != null) {
+            Matcher matcher = RETRY_DELAY_PATTERN.matcher(errorBody);
+            if (matcher.find()) {
+                return Duration.ofSeconds(Long.parseLong(matcher.group(1)));
+            }
+        }
+
+        return Duration.ofSeconds(defaultRetryAfterSeconds);
+    }
+
+    // 429/503은 키 교체 대상, 그 외 오류는 Gemini 실패로 처리 (WebClient onStatus용)
+    public Mono<? extends Throwable> toGeminiError(ClientResponse clientResponse) {
+        int status = clientResponse.statusCode().value();
+        String retryAfter = clientResponse.headers().asHttpHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+
+        return clientResponse.bodyToMono(String.class)
+                .defaultIfEmpty("")
+                .map(errorBody -> {
+                    if (status == 429 || status == 503) {
+                        return (Throwable) new RateLimitedException(parseRetryAfter(retryAfter, errorBody));
+                    }
+                    log.error(">>>>> Gemini API 오류 응답 ({}): {}", status, errorBody);
+                    return (Throwable) new GeminiFailException();
+                });
+    }
+
+    private <T> Mono<T> withKey(String pinnedKeyId, long estimatedTokens, boolean rateLimited,
+                                Function<GeminiApiKey, Mono<T>> call) {
+        return Mono.defer(() -> {
+                    long deadline = System.currentTimeMillis() + Duration.ofSeconds(maxWaitSeconds).toMillis();
+                    return acquire(pinnedKeyId, estimatedTokens, rateLimited, deadline);
+                })
+                .flatMap(key -> {
+                    key.incrementInFlight();
+                    return call.apply(key)
+                            .doOnError(RateLimitedException.class, e -> {
+                                log.warn(">>>>> Gemini 키 {} 한도 초과. {}초간 제외", key.getId(), e.getRetryAfter().toSeconds());
+                                key.eject(e.getRetryAfter());
+                            })
+                            .doFinally(signalType -> key.decrementInFlight());
+                })
+                .retryWhen(Retry.max(MAX_ROTATIONS)
+                        .filter(RateLimitedException.class::isInstance)
+                        .doBeforeRetry(retrySignal -> log.info(">>>>> Gemini 키 교체 후 재시도 ({}회)", retrySignal.totalRetries() + 1)))
+                .onErrorMap(Exceptions::isRetryExhausted, e -> new GeminiFailException(e.getCause()));
+    }
+
+    private Mono<GeminiApiKey> acquire(String pinnedKeyId, long estimatedTokens, boolean rateLimited, long deadline) {
+        return Mono.defer(() -> {
+            List<GeminiApiKey> candidates = candidates(pinnedKeyId);
+            if (candidates.isEmpty()) {
+                log.error(">>>>> 사용 가능한 Gemini 키가 없습니다. (요청 키: {})", pinnedKeyId);
+                return Mono.error(new GeminiFailException());
+            }
+
+            GeminiApiKey selected = select(candidates, estimatedTokens, rateLimited);
+            if (selected != null) {
+                return Mono.just(selected);
+            }
+
+            long wait = candidates.stream()
+                    .mapToLong(key -> rateLimited ? key.millisUntilAvailable(estimatedTokens) : key.millisUntilReinstated())
+                    .min()
+                    .orElse(MIN_WAIT_MILLIS);
+            wait = Math.max(wait, MIN_WAIT_MILLIS);
+
+            if (System.currentTimeMillis() + wait > deadline) {
+                log.error(">>>>> Gemini 키 한도 대기 시간 초과 ({}초)", maxWaitSeconds);
+                return Mono.error(new GeminiFailException());
+            }
+
+            log.debug(">>>>> 모든 Gemini 키가 한도에 도달. {}ms 대기", wait);
+            return Mono.delay(Duration.ofMillis(wait))
+                    .then(acquire(pinnedKeyId, estimatedTokens, rateLimited, deadline));
+        });
+    }
+
+    private List<GeminiApiKey> candidates(String pinnedKeyId) {
+        if (pinnedKeyId == null) {
+            return List.copyOf(keys.values());
+        }
+        GeminiApiKey pinned = keys.get(pinnedKeyId);
+        return pinned == null ? List.of() : List.of(pinned);
+    }
+
+    // 여유가 가장 큰 키부터 차감을 시도
+    private GeminiApiKey select(List<GeminiApiKey> candidates, long estimatedTokens, boolean rateLimited) {
+        List<GeminiApiKey> ordered = candidates.stream()
+                .sorted(Comparator.comparingDouble(GeminiApiKey::headroom).reversed()
+                        .thenComparingInt(GeminiApiKey::getInFlight))
+                .toList();
+
+        for (GeminiApiKey key : ordered) {
+            if (rateLimited ? key.tryConsume(estimatedTokens) : !key.isEjected()) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    private void registerMetrics(GeminiApiKey key) {
+        Gauge.builder("gemini.key.requests.utilization", key, GeminiApiKey::requestUtilization)
+                .description("분당 요청 한도 대비 사용률")
+                .tag("key", key.getId())
+                .register(meterRegistry);
+        Gauge.builder("gemini.key.tokens.utilization", key, GeminiApiKey::tokenUtilization)
+                .description("분당 토큰 한도 대비 사용률")
+                .tag("key", key.getId())
+                .register(meterRegistry);
+        Gauge.builder("gemini.key.in-flight", key, GeminiApiKey::getInFlight)
+                .tag("key", key.getId())
+                .register(meterRegistry);
+        Gauge.builder("gemini.key.ejected", key, k -> k.isEjected() ? 1 : 0)
+                .tag("key", key.getId())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Gemini가 429(Too Many Requests) / 503(Unavailable)을 응답한 경우
+     */
+    @Getter
+    public static class RateLimitedException extends RuntimeException {
+        private final Duration retryAfter;
+
+        public RateLimitedException(Duration retryAfter) {
+            super("Gemini API 한도 초과 (retry after " + retryAfter.toSeconds() + "s)");
+            this.retryAfter = retryAfter;
+        }
+    }
+}
@@ -3,108 +3,92 @@ package com.ondongne.backend.domain.gemini.service;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ondongne.backend.domain.gemini.dto.GeminiRequestDto;
 import com.ondongne.backend.domain.gemini.dto.GeminiResponseDto;
-import com.ondongne.backend.domain.quiz.dto.QuizResponseDto;
+import com.ondongne.backend.domain.gemini.dto.GeminiUploadedFile;
+import com.ondongne.backend.domain.gemini.repository.GeminiFileRegistry;
 import com.ondongne.backend.domain.quiz.dto.QuizResultDto;
-import com.ondongne.backend.domain.quiz.repository.JobRedisRepository;
 import com.ondongne.backend.global.exception.GeminiFailException;
+import com.ondongne.backend.global.scheduler.JobScheduler;
+import com.ondongne.backend.global.scheduler.JobStage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
-import reactor.util.retry.Retry;
 
 import java.io.File;
 import java.net.URI;
-import java.time.Duration;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class GeminiService {
 
-    @Value("${app.gemini.api-key}")
-    private String apiKey;
+    @Value("${app.gemini.base-url}")
+    private String baseUrl;
 
     @Value("${app.gemini.model}")
     private String modelName;
 
-    private final ObjectMapper objectMapper;
-    private final WebClient.Builder webClientBuilder;
-    private final JobRedisRepository jobRedisRepository;
+    @Value("${app.gemini.key-pool.video-token-estimate}")
+    private long videoTokenEstimate;
 
-    private static final String GEMINI_BASE_URL = "https://generativelanguage.googleapis.com/v1beta/models";
-    private static final String UPLOAD_API_URL = "https://generativelanguage.googleapis.com/upload/v1beta";
+    // 파이프라인에 QuestionListener가 있을 때 streamGenerateContent 사용
+    @Value("${app.gemini.streaming.enabled}")
+    private boolean streamingEnabled;
 
-    public void generateQuizFromText(String jobId, String text, int count) {
-        log.info(">>>>> Gemini Text Request Start. Length: {}", text.length());
+    // 이 토큰 수를 넘는 텍스트는 덩어리로 나눠 병렬 생성 후 합침
+    @Value("${app.gemini.chunking.single-call-max-tokens}")
+    private long singleCallMaxTokens;
 
-        String prompt = "제공된 텍스트의 핵심 내용을 심층 분석하여, 중요한 개념을 검증할 수 있는 고품질의 학습용 퀴즈를 만들어줘.";
-        GeminiRequestDto.Part contentPart = GeminiRequestDto.Part.builder().text(text).build();
+    @Value("${app.gemini.chunking.chunk-tokens}")
+    private long chunkTokens;
 
-        callGeminiApi(prompt, contentPart, count)
-                .subscribe(
-                        result -> {
-                            log.info("Job {} 완료. Redis 저장 중...", jobId);
-                            jobRedisRepository.update(jobId, QuizResponseDto.JobStatus.COMPLETED, "퀴즈 생성이 완료되었습니다.", result);
-                        },
-                        error -> {
-                            log.error("Job {} 실패. 에러: {}", jobId, error.getMessage());
-                            jobRedisRepository.update(jobId, QuizResponseDto.JobStatus.FAILED, "퀴즈 생성에 실패했습니다.", null);
-                        }
-                );
-    }
+    @Value("${app.gemini.chunking.max-chunks}")
+    private int maxChunks;
 
-    public void generateQuizFromVideo(String jobId, String filePath, int count) {
-        log.info(">>>>> Gemini Video Request Start. File: {}", filePath);
+    @Value("${app.gemini.chunking.duplicate-similarity}")
+    private double duplicateSimilarity;
 
-        uploadVideoAsync(filePath)
-                .doFinally(signalType -> deleteLocalFile(filePath)) // [추가] 업로드 종료(성공/실패) 후 즉시 파일 삭제
-                .flatMap(fileUri -> {
-                    log.info(">>>>> [Job: {}] 업로드 완료. URI: {}. 처리 대기 시작...", jobId, fileUri);
-                    // 2. 비동기 처리 대기 (Processing 상태 확인)
-                    return waitForProcessingAsync(fileUri).thenReturn(fileUri);
-                })
-                .flatMap(fileUri -> {
-                    log.info(">>>>> [Job: {}] 처리 완료 (ACTIVE). 퀴즈 생성 요청...", jobId);
-
-                    // 3. 퀴즈 생성 요청 (프롬프트 및 요청 객체 준비)
-                    String prompt = "업로드된 비디오의 시청각 정보를 심층 분석하여, 중요한 개념을 검증할 수 있는 고품질의 학습용 퀴즈를 만들어줘.";
+    private final ObjectMapper objectMapper;
+    private final WebClient.Builder webClientBuilder;
+    private final GeminiKeyPool keyPool;
+    private final JobScheduler jobScheduler;
+    private final GeminiFileUploader fileUploader;
+    private final MeterRegistry meterRegistry;
+    private final GeminiFileRegistry fileRegistry;
+    private final GeminiFileStatePoller fileStatePoller;
+    private final GeminiContextCache contextCache;
+    private final GeminiBatchService batchService;
 
-                    GeminiRequestDto.Part contentPart = GeminiRequestDto.Part.builder()
-                            .fileData(new GeminiRequestDto.FileData("video/mp4", fileUri))
-                            .build();
+    private static final String VIDEO_MIME_TYPE = "video/mp4";
 
-                    // 이전에 리팩토링한 callGeminiApi 호출 (Mono 리턴)
-                    return callGeminiApi(prompt, contentPart, count);
-                })
-                .subscribe(
-                        // 성공 시 Redis 저장
-                        quizResult -> {
-                            log.info(">>>>> [Job: {}] 퀴즈 생성 성공! Redis 저장 중...", jobId);
-                            jobRedisRepository.update(jobId, QuizResponseDto.JobStatus.COMPLETED, "퀴즈 생성이 완료되었습니다.", quizResult);
-                        },
-                        // 실패 시 에러 저장
-                        error -> {
-                            log.error(">>>>> [Job: {}] 처리 중 실패: {}", jobId, error.getMessage(), error);
-                            jobRedisRepository.update(jobId, QuizResponseDto.JobStatus.FAILED, "퀴즈 생성에 실패했습니다.", null);
-                        }
-                );
-    }
+    private static final ParameterizedTypeReference<ServerSentEvent<GeminiResponseDto>> STREAM_EVENT_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
 
-private Mono<QuizResultDto> callGeminiApi(String userPrompt, GeminiRequestDto.Part contentPart, int count) {
-    String systemPrompt = String.format("""
+    // 고정 시스템 지시문 (문제 수 등 요청마다 달라지는 값은 사용자 턴으로 보냄)
+    private static final String SYSTEM_PROMPT = """
         너는 IT 기술 학습을 돕는 숙련된 '모의고사 출제자'야.
-        제공된 내용을 심층 분석하여 학습자가 내용을 완벽히 이해했는지 검증할 수 있는 수준 높은 객관식 문제 %d개를 출제해.
+        제공된 내용을 심층 분석하여 학습자가 내용을 완벽히 이해했는지 검증할 수 있는 수준 높은 객관식 문제를 사용자가 요청한 개수만큼 정확히 출제해.
         
         [1. 문제 내용 및 품질 규칙] (★기존 요구사항 반영)
         - **지문 품질**: 문제는 명확하고 간결해야 하며, 모호한 표현을 피할 것.
@@ -138,44 +122,247 @@ private Mono<QuizResultDto> callGeminiApi(String userPrompt, GeminiRequestDto.Pa
             }
           ]
         }
-    """, count);
+    """;
+    private static final GeminiRequestDto.Part SYSTEM_PROMPT_PART = GeminiRequestDto.Part.builder().text(SYSTEM_PROMPT).build();
 
-        GeminiRequestDto request = GeminiRequestDto.builder()
-                .systemInstruction(GeminiRequestDto.SystemInstruction.builder()
-                        .parts(Collections.singletonList(GeminiRequestDto.Part.builder().text(systemPrompt).build()))
-                        .build())
-                .contents(Collections.singletonList(GeminiRequestDto.Content.builder()
-                        .role("user")
-                        .parts(List.of(contentPart, GeminiRequestDto.Part.builder().text(userPrompt).build()))
-                        .build()))
-                .generationConfig(GeminiRequestDto.GenerationConfig.builder()
-                        .responseMimeType("application/json")
-                        .temperature(0.85)
-                        .build())
+    // 키 한도 차감용 토큰 예상치 (응답의 usageMetadata로 사후 보정)
+    private static final long SYSTEM_PROMPT_TOKEN_ESTIMATE = 1_500L;
+    private static final long OUTPUT_TOKENS_PER_QUESTION = 300L;
+
+    private static final String TEXT_PROMPT = "제공된 텍스트의 핵심 내용을 심층 분석하여, 중요한 개념을 검증할 수 있는 고품질의 학습용 퀴즈를 만들어줘.";
+
+    public Mono<QuizResultDto> generateQuizFromText(String jobId, String text, int count) {
+        log.info(">>>>> [Job: {}] Gemini Text Request Start. Length: {}", jobId, text.length());
+
+        long totalTokens = TokenEstimator.estimate(text);
+        if (totalTokens > singleCallMaxTokens && count > 1) {
+            return generateQuizFromChunks(jobId, text, totalTokens, count);
+        }
+
+        GeminiRequestDto.Part contentPart = GeminiRequestDto.Part.builder().text(text).build();
+
+        return callGeminiApi(null, TEXT_PROMPT, contentPart, count);
+    }
+
+    /**
+     * 배치 모드 : 생성 요청을 Gemini Batch API 대기열에 넣고 바로 끝납니다.
+     * 결과는 처리가 끝나는 대로 GeminiBatchResultEvent(key = jobId, metadata)로 전달됩니다.
+     * 배치 처리는 몇 시간이 걸릴 수 있어 만료되는 컨텍스트 캐시는 쓰지 않으며, 긴 텍스트도 나누지 않고 한 번에 보냅니다.
+     */
+    public Mono<Void> enqueueBatchFromText(String jobId, String text, int count, Map<String, String> metadata) {
+        log.info(">>>>> [Job: {}] Gemini Batch Request Enqueue. Length: {}", jobId, text.length());
+
+        GeminiRequestDto.Part contentPart = GeminiRequestDto.Part.builder().text(text).build();
+        return batchService.enqueue(jobId, metadata, buildRequest(null, contentPart, instructionPart(TEXT_PROMPT, count)));
+    }
+
+    /**
+     * 긴 텍스트는 문단 경계로 나눠 덩어리별로 문제를 나눠 출제한 뒤 하나로 합칩니다. (map-reduce)
+     * - 문제 수는 덩어리 토큰 수에 비례해 배정 (덩어리마다 최소 1개)
+     * - 중복 제거로 모자랄 것에 대비해 덩어리마다 1개씩 더 요청하고, 합칠 때 전체 개수에 맞춤
+     * - 덩어리 호출은 GENERATE 단계 동시성 제한 안에서 병렬로 실행되며, 일부가 실패해도 나머지로 결과를 만듦
+     * - 부분 결과(PARTIAL)는 보내지 않음 : 덩어리마다 여유분을 더 받고 병합 때 중복 제거/개수 조정을 하므로,
+     *   먼저 완성된 문제를 그대로 보내면 최종 결과(COMPLETED)가 클라이언트가 풀던 문제와 달라짐
+     */
+    private Mono<QuizResultDto> generateQuizFromChunks(String jobId, String text, long totalTokens, int count) {
+        int chunkLimit = Math.min(maxChunks, count);
+        long budget = Math.max(chunkTokens, (totalTokens + chunkLimit - 1) / chunkLimit);
+        List<String> chunks = TextChunker.split(text, budget, chunkLimit);
+        List<Integer> shares = allocateQuestions(chunks, count);
+
+        log.info(">>>>> [Job: {}] 긴 텍스트 분할 생성 (토큰: {}, 덩어리: {}, 배정: {})", jobId, totalTokens, chunks.size(), shares);
+
+        return Flux.range(0, chunks.size())
+                .flatMapSequential(index -> {
+                    String prompt = String.format("제공된 텍스트는 긴 글을 %d개로 나눈 것 중 %d번째 부분이야. "
+                                    + "이 부분의 핵심 내용을 심층 분석하여, 중요한 개념을 검증할 수 있는 고품질의 학습용 퀴즈를 만들어줘.",
+                            chunks.size(), index + 1);
+                    GeminiRequestDto.Part contentPart = GeminiRequestDto.Part.builder().text(chunks.get(index)).build();
+
+                    return callGeminiApi(null, prompt, contentPart, shares.get(index) + 1)
+                            .map(Optional::of)
+                            .onErrorResume(e -> {
+                                log.warn(">>>>> [Job: {}] 덩어리 {}/{} 생성 실패 (나머지로 진행): {}",
+                                        jobId, index + 1, chunks.size(), e.getMessage());
+                                return Mono.just(Optional.empty());
+                            });
+                })
+                .map(result -> result.orElse(null))
+                .collectList()
+                .flatMap(results -> {
+                    QuizResultDto merged = QuizMerger.merge(results, shares, count, duplicateSimilarity);
+                    if (merged.getQuestions().isEmpty()) {
+                        return Mono.error(new GeminiFailException());
+                    }
+                    log.info(">>>>> [Job: {}] 분할 생성 결과 병합 완료 (문제 수: {}/{})", jobId, merged.getQuestions().size(), count);
+                    return Mono.just(merged);
+                })
+                .contextWrite(context -> context.delete(QuestionListener.class));
+    }
+
+    // 최대 잉여 배분(largest remainder) : 덩어리마다 최소 1개, 합계는 count
+    private List<Integer> allocateQuestions(List<String> chunks, int count) {
+        long[] tokens = chunks.stream().mapToLong(TokenEstimator::estimate).toArray();
+        long total = Math.max(1, Arrays.stream(tokens).sum());
+        int spare = count - chunks.size();
+
+        Integer[] shares = new Integer[chunks.size()];
+        double[] remainders = new double[chunks.size()];
+        int assigned = 0;
+        for (int i = 0; i < chunks.size(); i++) {
+            double exact = (double) spare * tokens[i] / total;
+            shares[i] = 1 + (int) exact;
+            remainders[i] = exact - Math.floor(exact);
+            assigned += shares[i];
+        }
+
+        Integer[] order = new Integer[chunks.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(remainders[b], remainders[a]));
+        for (int i = 0; assigned < count; i = (i + 1) % order.length) {
+            shares[order[i]]++;
+            assigned++;
+        }
+        return Arrays.asList(shares);
+    }
+
+    /**
+     * 같은 영상을 이전에 업로드한 파일이 남아 있으면 바로 퀴즈를 생성합니다. (다운로드/업로드/처리 대기 생략)
+     * 등록된 파일이 없거나 더 이상 참조할 수 없으면 빈 Mono를 반환하므로, 호출 측에서 새 업로드로 대체하면 됩니다.
+     */
+    public Mono<QuizResultDto> generateQuizFromRegisteredVideo(String jobId, String videoId, int count) {
+        return Mono.fromCallable(() -> fileRegistry.find(videoId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(e -> {
+                    log.warn(">>>>> [Job: {}] 업로드 파일 레지스트리 조회 실패 (미스로 처리): {}", jobId, e.getMessage());
+                    return Mono.empty();
+                })
+                .flatMap(uploadedFile -> {
+                    if (keyPool.findById(uploadedFile.getKeyId()) == null) {
+                        return evictRegisteredFile(videoId); // 소유 키가 키 풀에서 빠짐
+                    }
+                    // 파일이 아직 ACTIVE 인지 재확인 (만료/삭제된 URI로 생성 요청을 보내지 않도록)
+                    return fileStatePoller.fetchState(uploadedFile)
+                            .onErrorResume(GeminiFileStatePoller.StaleFileException.class, e -> Mono.just("STALE"))
+                            .flatMap(state -> {
+                                if ("ACTIVE".equals(state)) {
+                                    return Mono.just(uploadedFile);
+                                }
+                                return evictRegisteredFile(videoId);
+                            })
+                            // 일시적인 조회 실패는 항목을 지우지 않고 새 업로드로 대체
+                            .onErrorResume(e -> {
+                                log.warn(">>>>> [Job: {}] 업로드 파일 상태 확인 실패 (새로 업로드): {}", jobId, e.getMessage());
+                                return Mono.empty();
+                            });
+                })
+                .flatMap(uploadedFile -> {
+                    log.info(">>>>> [Job: {}] 업로드된 영상 재사용. URI: {} (key: {})", jobId, uploadedFile.getFileUri(), uploadedFile.getKeyId());
+                    return generateQuizFromActiveVideo(uploadedFile, count);
+                });
+    }
+
+    public Mono<QuizResultDto> generateQuizFromVideo(String jobId, String videoId, String filePath, int count) {
+        log.info(">>>>> [Job: {}] Gemini Video Request Start. File: {}", jobId, filePath);
+
+        Mono<GeminiUploadedFile> upload = jobScheduler.limit(JobStage.UPLOAD, uploadVideoAsync(filePath))
+                .doFinally(signalType -> deleteLocalFile(filePath)); // [추가] 업로드 종료(성공/실패) 후 즉시 파일 삭제
+
+        return generateQuizFromUploadedVideo(jobId, videoId, upload, count);
+    }
+
+    /**
+     * 다운로드 중인 영상 바이트를 임시 파일 없이 바로 업로드합니다.
+     * 업로드가 청크를 소비하는 속도에 맞춰 다운로드가 진행되므로(backpressure) 메모리 사용량이 청크 몇 개 수준으로 유지됩니다.
+     */
+    public Mono<QuizResultDto> generateQuizFromVideoStream(String jobId, String videoId, Flux<byte[]> videoChunks, int count) {
+        log.info(">>>>> [Job: {}] Gemini Video Streaming Request Start.", jobId);
+
+        Mono<GeminiUploadedFile> upload = jobScheduler.limit(JobStage.UPLOAD,
+                keyPool.withFileApiKey(null, key -> fileUploader.uploadStream(key, jobId + ".mp4", VIDEO_MIME_TYPE, videoChunks)));
+
+        return generateQuizFromUploadedVideo(jobId, videoId, upload, count);
+    }
+
+    private Mono<QuizResultDto> generateQuizFromUploadedVideo(String jobId, String videoId, Mono<GeminiUploadedFile> upload, int count) {
+        return Mono.defer(() -> {
+                    // 업로드 시작 ~ ACTIVE 까지의 시간 (긴 영상일수록 청크 재개 효과가 드러나는 구간)
+                    Timer.Sample timeToActive = Timer.start(meterRegistry);
+                    return upload
+                            .flatMap(uploadedFile -> {
+                                log.info(">>>>> [Job: {}] 업로드 완료. URI: {} (key: {}). 처리 대기 시작...", jobId, uploadedFile.getFileUri(), uploadedFile.getKeyId());
+                                // 2. 비동기 처리 대기 (Processing 상태 확인)
+                                return waitForProcessingAsync(uploadedFile).thenReturn(uploadedFile);
+                            })
+                            .doOnNext(uploadedFile -> timeToActive.stop(meterRegistry.timer("gemini.video.time-to-active")));
+                })
+                .flatMap(uploadedFile -> registerUploadedFile(videoId, uploadedFile).thenReturn(uploadedFile))
+                .flatMap(uploadedFile -> {
+                    log.info(">>>>> [Job: {}] 처리 완료 (ACTIVE). 퀴즈 생성 요청...", jobId);
+                    return generateQuizFromActiveVideo(uploadedFile, count);
+                });
+    }
+
+    private Mono<QuizResultDto> generateQuizFromActiveVideo(GeminiUploadedFile uploadedFile, int count) {
+        // 3. 퀴즈 생성 요청 (프롬프트 및 요청 객체 준비)
+        String prompt = "업로드된 비디오의 시청각 정보를 심층 분석하여, 중요한 개념을 검증할 수 있는 고품질의 학습용 퀴즈를 만들어줘.";
+
+        GeminiRequestDto.Part contentPart = GeminiRequestDto.Part.builder()
+                .fileData(new GeminiRequestDto.FileData(VIDEO_MIME_TYPE, uploadedFile.getFileUri()))
                 .build();
 
-        String urlString = String.format("%s/%s:generateContent?key=%s",
-                GEMINI_BASE_URL, modelName.trim(), apiKey.trim());
-        URI uri = URI.create(urlString);
-
-        log.info(">>>>> Calling Gemini API URI: {}", uri);
-
-        return webClientBuilder.build()
-                .post()
-                .uri(uri)
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(request)
-                .retrieve()
-                .onStatus(HttpStatusCode::isError, clientResponse ->
-                        clientResponse.bodyToMono(String.class)
-                                .flatMap(errorBody -> Mono.error(new GeminiFailException()))
-                )
-                .bodyToMono(GeminiResponseDto.class)
-                .filter(response -> response.getCandidates() != null && !response.getCandidates().isEmpty())
+        // 업로드한 키로만 파일을 참조할 수 있으므로 같은 키로 고정
+        return callGeminiApi(uploadedFile.getKeyId(), prompt, contentPart, count);
+    }
+
+    // 레지스트리 장애가 퀴즈 생성을 막지 않도록 실패는 무시
+    private Mono<Void> registerUploadedFile(String videoId, GeminiUploadedFile uploadedFile) {
+        return Mono.fromRunnable(() -> fileRegistry.save(videoId, uploadedFile))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(e -> {
+                    log.warn(">>>>> 업로드 파일 레지스트리 저장 실패 (무시): {}", e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private Mono<GeminiUploadedFile> evictRegisteredFile(String videoId) {
+        log.info(">>>>> 재사용할 수 없는 업로드 파일 제거 (videoId: {})", videoId);
+        return Mono.fromRunnable(() -> fileRegistry.evict(videoId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(e -> Mono.empty())
+                .then(Mono.empty());
+    }
+
+    private Mono<QuizResultDto> callGeminiApi(String pinnedKeyId, String userPrompt, GeminiRequestDto.Part contentPart, int count) {
+        GeminiRequestDto.Part instructionPart = instructionPart(userPrompt, count);
+
+        long estimatedTokens = estimateTokens(contentPart, count);
+        long contentTokens = estimatedTokens - SYSTEM_PROMPT_TOKEN_ESTIMATE - count * OUTPUT_TOKENS_PER_QUESTION;
+        String contentId = contentId(contentPart);
+
+        // 파이프라인에 QuestionListener가 있으면 스트리밍으로 호출해 완성된 문제부터 전달
+        return Mono.deferContextual(context -> {
+                    QuestionListener listener = streamingEnabled ? context.getOrDefault(QuestionListener.class, null) : null;
+
+                    Mono<String> generation = keyPool.withGenerationKey(pinnedKeyId, estimatedTokens, key -> contextCache
+                            .resolve(key, SYSTEM_PROMPT_PART, contentPart, contentId, contentTokens)
+                            .map(Optional::of)
+                            .defaultIfEmpty(Optional.empty())
+                            .flatMap(cached -> sendGenerateContent(key, buildRequest(cached.orElse(null), contentPart, instructionPart), estimatedTokens, listener)
+                                    // 캐시가 구글 서버에서 사라졌으면 기록을 지우고 캐시 없이 한 번 더
+                                    .onErrorResume(GeminiContextCache.StaleCachedContentException.class, e -> {
+                                        contextCache.evict(key, cached.orElseThrow());
+                                        return sendGenerateContent(key, buildRequest(null, contentPart, instructionPart), estimatedTokens, listener);
+                                    })));
+
+                    return jobScheduler.limit(JobStage.GENERATE, generation);
+                })
                 .switchIfEmpty(Mono.error(new GeminiFailException()))
-                .flatMap(response -> {
+                .flatMap(jsonText -> {
                     try {
-                        String jsonText = response.getCandidates().get(0).getContent().getParts().get(0).getText();
                         return Mono.just(objectMapper.readValue(jsonText, QuizResultDto.class));
                     } catch (Exception e) {
                         log.error(">>>>> Gemini 응답 파싱 오류: {}", e.getMessage());
@@ -185,87 +372,149 @@ private Mono<QuizResultDto> callGeminiApi(String userPrompt, GeminiRequestDto.Pa
                 .doOnError(e -> log.error(">>>>> Gemini API 호출: {}", e.getMessage()));
     }
 
-    private Mono<String> uploadVideoAsync(String localFilePath) {
+    // 문제 수는 사용자 턴에 넣어 시스템 지시문을 모든 호출이 공유(캐시)할 수 있게 함
+    private GeminiRequestDto.Part instructionPart(String userPrompt, int count) {
+        return GeminiRequestDto.Part.builder()
+                .text(userPrompt + String.format(" 문제는 정확히 %d개를 출제해.", count))
+                .build();
+    }
 
-        return Mono.fromCallable(() -> {
-            File file = new File(localFilePath);
-            if (!file.exists()) {
-                throw new RuntimeException("파일을 찾을 수 없습니다: " + localFilePath);
-            }
-            long numBytes = file.length();
-            return Map.of("file", file, "length", numBytes);
-        }).subscribeOn(Schedulers.boundedElastic()).flatMap(data -> {
-            File file = (File) data.get("file");
-            long numBytes = (Long) data.get("length");
-            String mimeType = "video/mp4";
-
-            // 메타데이터
-            Map<String, Object> metadata = Map.of("file", Map.of("display_name", file.getName()));
-            String uploadUrlString = String.format("%s/files?key=%s", UPLOAD_API_URL, apiKey.trim());
-
-            // 1단계: 업로드 세션 시작 (URL 받기)
-            return webClientBuilder.build()
+    // 캐시를 쓰면 캐시에 담긴 부분(시스템 지시문, 입력)은 빼고 보냄
+    private GeminiRequestDto buildRequest(GeminiContextCache.CachedContext cached, GeminiRequestDto.Part contentPart,
+                                          GeminiRequestDto.Part instructionPart) {
+        List<GeminiRequestDto.Part> parts = cached != null && cached.includesContent()
+                ? List.of(instructionPart)
+                : List.of(contentPart, instructionPart);
+
+        return GeminiRequestDto.builder()
+                .cachedContent(cached == null ? null : cached.name())
+                .systemInstruction(cached != null ? null : GeminiRequestDto.SystemInstruction.builder()
+                        .parts(Collections.singletonList(SYSTEM_PROMPT_PART))
+                        .build())
+                .contents(Collections.singletonList(GeminiRequestDto.Content.builder()
+                        .role("user")
+                        .parts(parts)
+                        .build()))
+                .generationConfig(GeminiRequestDto.GenerationConfig.builder()
+                        .responseMimeType("application/json")
+                        .temperature(0.85)
+                        .build())
+                .build();
+    }
+
+    /**
+     * 생성 결과 JSON 텍스트를 반환합니다.
+     * listener가 있으면 streamGenerateContent(SSE)로 받으며, 문제 객체가 닫힐 때마다 listener에 전달합니다.
+     */
+    private Mono<String> sendGenerateContent(GeminiApiKey key, GeminiRequestDto request, long estimatedTokens, QuestionListener listener) {
+        return Mono.defer(() -> {
+            String method = listener == null ? "generateContent" : "streamGenerateContent";
+            String urlString = String.format("%s/v1beta/models/%s:%s?%skey=%s",
+                    baseUrl, modelName.trim(), method, listener == null ? "" : "alt=sse&", key.getValue());
+            URI uri = URI.create(urlString);
+
+            log.info(">>>>> Calling Gemini API (model: {}, key: {}, cache: {}, stream: {})",
+                    modelName.trim(), key.getId(), request.getCachedContent(), listener != null);
+
+            WebClient.ResponseSpec response = webClientBuilder.build()
                     .post()
-                    .uri(URI.create(uploadUrlString))
-                    .header("X-Goog-Upload-Protocol", "resumable")
-                    .header("X-Goog-Upload-Command", "start")
-                    .header("X-Goog-Upload-Header-Content-Length", String.valueOf(numBytes))
-                    .header("X-Goog-Upload-Header-Content-Type", mimeType)
+                    .uri(uri)
                     .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(metadata)
+                    .bodyValue(request)
                     .retrieve()
-                    .toEntity(String.class)
-                    .mapNotNull(entity -> entity.getHeaders().getFirst("X-Goog-Upload-URL"))
-                    .flatMap(uploadUrl -> {
-                        // 2단계: 실제 파일 바이트 전송
-                        return webClientBuilder.build()
-                                .post()
-                                .uri(URI.create(uploadUrl))
-                                .header("X-Goog-Upload-Command", "upload, finalize")
-                                .header("X-Goog-Upload-Offset", "0")
-                                .contentType(MediaType.parseMediaType(mimeType))
-                                .body(BodyInserters.fromResource(new FileSystemResource(file)))
-                                .retrieve()
-                                .bodyToMono(Map.class);
+                    .onStatus(status -> request.getCachedContent() != null && (status.value() == 403 || status.value() == 404),
+                            clientResponse -> Mono.error(new GeminiContextCache.StaleCachedContentException()))
+                    .onStatus(HttpStatusCode::isError, keyPool::toGeminiError);
+
+            if (listener == null) {
+                return response.bodyToMono(GeminiResponseDto.class)
+                        .doOnNext(body -> reportUsage(key, estimatedTokens, body.getUsageMetadata()))
+                        .mapNotNull(this::responseText);
+            }
+
+            // 이벤트마다 텍스트 조각이 오고, 사용량은 마지막 이벤트에 담겨 옴
+            IncrementalQuizParser parser = new IncrementalQuizParser(objectMapper);
+            AtomicReference<GeminiResponseDto.UsageMetadata> usage = new AtomicReference<>();
+
+            return response.bodyToFlux(STREAM_EVENT_TYPE)
+                    .mapNotNull(ServerSentEvent::data)
+                    .doOnNext(event -> {
+                        if (event.getUsageMetadata() != null) {
+                            usage.set(event.getUsageMetadata());
+                        }
+                        String fragment = responseText(event);
+                        if (fragment != null) {
+                            parser.feed(fragment).forEach(listener::onQuestion);
+                        }
                     })
-                    .map(response -> {
-                        Map<String, Object> fileInfo = (Map<String, Object>) response.get("file");
-                        return (String) fileInfo.get("uri"); // 최종 File URI 반환
-                    });
+                    .then(Mono.fromSupplier(() -> {
+                        reportUsage(key, estimatedTokens, usage.get());
+                        return parser.text();
+                    }))
+                    .filter(text -> !text.isBlank());
         });
     }
 
-    private Mono<Void> waitForProcessingAsync(String fileUri) {
-
-        String fileId = fileUri.substring(fileUri.lastIndexOf("/") + 1);
-        String statusUrlString = String.format("https://generativelanguage.googleapis.com/v1beta/files/%s?key=%s", fileId, apiKey.trim());
-        URI checkStatusUri = URI.create(statusUrlString);
-
-        // Mono.defer를 써야 구독할 때마다 API를 새로 호출함
-        return Mono.defer(() -> webClientBuilder.build()
-                        .get()
-                        .uri(checkStatusUri)
-                        .retrieve()
-                        .bodyToMono(Map.class)
-                        .flatMap(response -> {
-                            String state = (String) response.get("state");
-                            log.debug(">>>>> Video State Check: {}", state);
-
-                            if ("ACTIVE".equals(state)) {
-                                return Mono.empty(); // 성공! (반복 종료)
-                            } else if ("FAILED".equals(state)) {
-                                return Mono.error(new RuntimeException("Gemini 비디오 처리 실패 (FAILED)"));
-                            } else {
-                                // PROCESSING 상태면 에러를 던져서 retryWhen이 잡게 함
-                                return Mono.error(new ProcessingNotFinishedException());
-                            }
-                        }))
-                // ★ 핵심: Thread.sleep 대신 사용하는 리액티브 재시도 로직
-                .retryWhen(Retry.fixedDelay(120, Duration.ofSeconds(2)) // 2초 간격, 최대 120번 시도
-                        .filter(throwable -> throwable instanceof ProcessingNotFinishedException) // '아직 처리중'일 때만 재시도
-                        .doBeforeRetry(retrySignal -> log.info(">>>>> 처리 중... 재시도 횟수: {}", retrySignal.totalRetries()))
-                )
-                .then(); // 결과값은 필요 없으니 Void로 변환
+    private String responseText(GeminiResponseDto response) {
+        if (response.getCandidates() == null || response.getCandidates().isEmpty()) {
+            return null;
+        }
+        GeminiResponseDto.Content content = response.getCandidates().get(0).getContent();
+        if (content == null || content.getParts() == null) {
+            return null;
+        }
+
+        StringBuilder text = new StringBuilder();
+        for (GeminiResponseDto.Part part : content.getParts()) {
+            if (part.getText() != null) {
+                text.append(part.getText());
+            }
+        }
+        return text.toString();
+    }
+
+    private void reportUsage(GeminiApiKey key, long estimatedTokens, GeminiResponseDto.UsageMetadata usage) {
+        keyPool.reportUsage(key, estimatedTokens, usage);
+        if (usage != null && usage.getCachedContentTokenCount() > 0) {
+            meterRegistry.counter("gemini.context-cache.tokens").increment(usage.getCachedContentTokenCount());
+        }
+    }
+
+    // 같은 입력인지 판단하는 식별자 (영상은 파일 URI, 텍스트는 내용 해시)
+    private String contentId(GeminiRequestDto.Part contentPart) {
+        if (contentPart.getFileData() != null) {
+            return "file:" + contentPart.getFileData().getFileUri();
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(contentPart.getText().getBytes(StandardCharsets.UTF_8));
+            return "text:" + HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+
+    private long estimateTokens(GeminiRequestDto.Part contentPart, int count) {
+        long inputTokens = contentPart.getText() != null
+                ? TokenEstimator.estimate(contentPart.getText())
+                : videoTokenEstimate;
+        return SYSTEM_PROMPT_TOKEN_ESTIMATE + inputTokens + count * OUTPUT_TOKENS_PER_QUESTION;
+    }
+
+    private Mono<GeminiUploadedFile> uploadVideoAsync(String localFilePath) {
+
+        return Mono.fromCallable(() -> {
+            File file = new File(localFilePath);
+            if (!file.exists()) {
+                throw new RuntimeException("파일을 찾을 수 없습니다: " + localFilePath);
+            }
+            return file;
+        }).subscribeOn(Schedulers.boundedElastic())
+                .flatMap(file -> keyPool.withFileApiKey(null, key -> fileUploader.uploadFile(key, file, VIDEO_MIME_TYPE)));
+    }
+
+    // 처리 상태 확인은 공용 poller에 맡김 (여러 작업의 조회를 묶어서 처리)
+    private Mono<Void> waitForProcessingAsync(GeminiUploadedFile uploadedFile) {
+        return fileStatePoller.awaitActive(uploadedFile);
     }
 
     private void deleteLocalFile(String filePath) {
@@ -283,6 +532,5 @@ private Mono<QuizResultDto> callGeminiApi(String userPrompt, GeminiRequestDto.Pa
         }
     }
 
-    private static class ProcessingNotFinishedException extends RuntimeException {}
 
 }
@@ -0,0 +1,114 @@
+package com.ondongne.backend.domain.gemini.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ondongne.backend.domain.quiz.dto.QuizResultDto;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 스트리밍으로 조금씩 도착하는 퀴즈 JSON에서 "questions" 배열의 문제 객체가 닫히는 즉시 꺼냅니다.
+ * 문자열/이스케이프를 추적하는 문자 단위 상태 기계이며, 이미 읽은 부분은 다시 훑지 않습니다.
+ * (예: {"title": "...", "questions": [ {...}, {... ← 두 번째 '}' 가 도착하면 두 번째 문제를 반환)
+ */
+@Slf4j
+final class IncrementalQuizParser {
+
+    private final ObjectMapper objectMapper;
+    private final StringBuilder buffer = new StringBuilder();
+
+    // 열린 괄호 스택 ('{' 또는 '[')
+    private final StringBuilder containers = new StringBuilder();
+    private int scanned;
+    private boolean inString;
+    private boolean escaped;
+    private int stringStart = -1;
+
+    // 최상위 객체에서 마지막으로 읽은 문자열 (다음 값의 키 후보)
+    private String lastRootString;
+    // "questions" 배열이 열린 깊이 (없으면 -1), 문제 객체 시작 위치
+    private int questionsDepth = -1;
+    private int questionStart = -1;
+
+    IncrementalQuizParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 조각을 이어 붙이고, 이번에 완성된 문제들을 순서대로 반환합니다.
+     */
+    List<QuizResultDto.QuestionDto> feed(String fragment) {
+        buffer.append(fragment);
+        List<QuizResultDto.QuestionDto> completed = new ArrayList<>();
+
+        for (; scanned < buffer.length(); scanned++) {
+            char c = buffer.charAt(scanned);
+
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                    if (containers.length() == 1) {
+                        lastRootString = buffer.substring(stringStart + 1, scanned);
+                    }
+                }
+                continue;
+            }
+
+            switch (c) {
+                case '"' -> {
+                    inString = true;
+                    stringStart = scanned;
+                }
+                case '{' -> {
+                    if (questionsDepth >= 0 && containers.length() == questionsDepth) {
+                        questionStart = scanned;
+                    }
+                    containers.append('{');
+                }
+                case '[' -> {
+                    if (containers.length() == 1 && "questions".equals(lastRootString)) {
+                        questionsDepth = containers.length() + 1;
+                    }
+                    containers.append('[');
+                }
+                case '}', ']' -> {
+                    if (containers.length() > 0) {
+                        containers.setLength(containers.length() - 1);
+                    }
+                    if (c == '}' && questionStart >= 0 && containers.length() == questionsDepth) {
+                        parseQuestion(buffer.substring(questionStart, scanned + 1), completed);
+                        questionStart = -1;
+                    }
+                    if (c == ']' && containers.length() < questionsDepth) {
+                        questionsDepth = -1;
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        return completed;
+    }
+
+    /**
+     * 지금까지 받은 전체 텍스트 (스트림이 끝나면 전체 결과 파싱에 사용)
+     */
+    String text() {
+        return buffer.toString();
+    }
+
+    private void parseQuestion(String json, List<QuizResultDto.QuestionDto> completed) {
+        try {
+            completed.add(objectMapper.readValue(json, QuizResultDto.QuestionDto.class));
+        } catch (JsonProcessingException e) {
+            // 부분 결과만 건너뜀 (최종 결과는 전체 텍스트로 다시 파싱)
+            log.debug(">>>>> 스트리밍 문제 파싱 실패 (건너뜀): {}", e.getMessage());
+        }
+    }
+}
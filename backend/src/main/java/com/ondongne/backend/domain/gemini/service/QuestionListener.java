@@ -0,0 +1,19 @@
+package com.ondongne.backend.domain.gemini.service;
+
+import com.ondongne.backend.domain.quiz.dto.QuizResultDto;
+import reactor.util.context.Context;
+
+/**
+ * 스트리밍 생성 중 문제가 하나 완성될 때마다 호출됩니다.
+ * 생성 파이프라인의 Reactor Context에 넣어 두면(withListener) GeminiService가 streamGenerateContent로 호출합니다.
+ * 스트림 스레드에서 호출되므로 구현은 블로킹하지 않아야 합니다.
+ */
+@FunctionalInterface
+public interface QuestionListener {
+
+    void onQuestion(QuizResultDto.QuestionDto question);
+
+    static Context withListener(QuestionListener listener) {
+        return Context.of(QuestionListener.class, listener);
+    }
+}
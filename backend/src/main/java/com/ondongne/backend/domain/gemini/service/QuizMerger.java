@@ -0,0 +1,125 @@
+package com.ondongne.backend.domain.gemini.service;
+
+import com.ondongne.backend.domain.quiz.dto.QuizResultDto;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 덩어리별로 생성한 퀴즈를 하나로 합칩니다.
+ * - 앞선 덩어리의 문제와 거의 같은 문제(글자 3-gram Jaccard 유사도 기준)는 제거
+ * - 덩어리별 배정 개수만큼 먼저 채우고, 모자라면 여분 문제로 채움
+ * - 문제 번호는 1부터 다시 매김
+ */
+final class QuizMerger {
+
+    private static final int SHINGLE_SIZE = 3;
+
+    private QuizMerger() {
+    }
+
+    /**
+     * @param results 덩어리 순서대로의 생성 결과 (실패한 덩어리는 null)
+     * @param shares  덩어리별 배정 문제 수
+     */
+    static QuizResultDto merge(List<QuizResultDto> results, List<Integer> shares, int count, double duplicateThreshold) {
+        List<Set<String>> accepted = new ArrayList<>();
+        List<QuizResultDto.QuestionDto> primary = new ArrayList<>();
+        List<QuizResultDto.QuestionDto> extras = new ArrayList<>();
+        String title = null;
+
+        for (int i = 0; i < results.size(); i++) {
+            QuizResultDto result = results.get(i);
+            if (result == null || result.getQuestions() == null) {
+                continue;
+            }
+            if (title == null) {
+                title = result.getTitle();
+            }
+
+            int taken = 0;
+            for (QuizResultDto.QuestionDto question : result.getQuestions()) {
+                Set<String> shingles = shingles(question.getQuestion());
+                if (isDuplicate(shingles, accepted, duplicateThreshold)) {
+                    continue;
+                }
+                accepted.add(shingles);
+
+                if (taken < shares.get(i)) {
+                    primary.add(question);
+                    taken++;
+                } else {
+                    extras.add(question);
+                }
+            }
+        }
+
+        List<QuizResultDto.QuestionDto> questions = new ArrayList<>(primary);
+        for (QuizResultDto.QuestionDto extra : extras) {
+            if (questions.size() >= count) {
+                break;
+            }
+            questions.add(extra);
+        }
+        if (questions.size() > count) {
+            questions = new ArrayList<>(questions.subList(0, count));
+        }
+
+        for (int i = 0; i < questions.size(); i++) {
+            questions.get(i).setId(i + 1);
+        }
+
+        return QuizResultDto.builder()
+                .title(title)
+                .questions(questions)
+                .build();
+    }
+
+    private static boolean isDuplicate(Set<String> shingles, List<Set<String>> accepted, double threshold) {
+        for (Set<String> other : accepted) {
+            if (jaccard(shingles, other) >= threshold) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double jaccard(Set<String> a, Set<String> b) {
+        if (a.isEmpty() || b.isEmpty()) {
+            return a.isEmpty() && b.isEmpty() ? 1.0 : 0.0;
+        }
+        int intersection = 0;
+        Set<String> smaller = a.size() <= b.size() ? a : b;
+        Set<String> larger = smaller == a ? b : a;
+        for (String shingle : smaller) {
+            if (larger.contains(shingle)) {
+                intersection++;
+            }
+        }
+        return (double) intersection / (a.size() + b.size() - intersection);
+    }
+
+    // 공백/문장부호를 제거한 소문자 기준 글자 3-gram
+    private static Set<String> shingles(String text) {
+        Set<String> shingles = new HashSet<>();
+        if (text == null) {
+            return shingles;
+        }
+        StringBuilder normalized = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(Character.toLowerCase(c));
+            }
+        }
+        for (int i = 0; i + SHINGLE_SIZE <= normalized.length(); i++) {
+            shingles.add(normalized.substring(i, i + SHINGLE_SIZE));
+        }
+        if (shingles.isEmpty() && normalized.length() > 0) {
+            shingles.add(normalized.toString());
+        }
+        return shingles;
+    }
+}
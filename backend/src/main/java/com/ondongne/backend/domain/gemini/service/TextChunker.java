@@ -0,0 +1,171 @@
+package com.ondongne.backend.domain.gemini.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 긴 텍스트를 토큰 예산 단위로 나눕니다.
+ * 문단(줄바꿈) 경계를 우선하고, 제목으로 보이는 줄에서는 덩어리가 어느 정도 찼다면 새로 시작합니다.
+ * 한 문단이 예산보다 크면 문장 경계, 그래도 크면 글자 수로 자릅니다.
+ * ``` 로 감싼 코드 블록은 들여쓰기와 빈 줄까지 그대로 한 단위로 두고, 블록 하나가 예산보다 클 때만 줄 경계에서 나눕니다.
+ * (나눈 조각도 각각 ``` 로 감싸 덩어리마다 코드 블록이 닫혀 있게 함)
+ */
+final class TextChunker {
+
+    private static final String CODE_FENCE = "```";
+
+    private static final Pattern SENTENCE_END = Pattern.compile("(?<=[.!?。]|다\\.|요\\.)\\s+");
+
+    // 제목 줄 판단 기준 (짧고 문장 부호로 끝나지 않음)
+    private static final int HEADING_MAX_LENGTH = 60;
+
+    private TextChunker() {
+    }
+
+    /**
+     * 덩어리 수가 maxChunks를 넘으면 이웃한 덩어리 중 합이 가장 작은 쌍부터 합칩니다.
+     */
+    static List<String> split(String text, long tokenBudget, int maxChunks) {
+        List<String> chunks = split(text, tokenBudget);
+        while (chunks.size() > Math.max(1, maxChunks)) {
+            int smallest = 0;
+            long smallestTokens = Long.MAX_VALUE;
+            for (int i = 0; i + 1 < chunks.size(); i++) {
+                long tokens = TokenEstimator.estimate(chunks.get(i)) + TokenEstimator.estimate(chunks.get(i + 1));
+                if (tokens < smallestTokens) {
+                    smallest = i;
+                    smallestTokens = tokens;
+                }
+            }
+            chunks.set(smallest, chunks.get(smallest) + "\n" + chunks.remove(smallest + 1));
+        }
+        return chunks;
+    }
+
+    static List<String> split(String text, long tokenBudget) {
+        List<String> chunks = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        long currentTokens = 0;
+
+        for (String paragraph : paragraphs(text, tokenBudget)) {
+            long tokens = TokenEstimator.estimate(paragraph);
+
+            boolean startsSection = isHeading(paragraph) && currentTokens > tokenBudget / 2;
+            if (current.length() > 0 && (currentTokens + tokens > tokenBudget || startsSection)) {
+                chunks.add(current.toString());
+                current.setLength(0);
+                currentTokens = 0;
+            }
+
+            if (current.length() > 0) {
+                current.append('\n');
+            }
+            current.append(paragraph);
+            currentTokens += tokens;
+        }
+
+        if (current.length() > 0) {
+            chunks.add(current.toString());
+        }
+        return chunks;
+    }
+
+    // 예산을 넘는 문단은 미리 잘게 나눠 둠
+    private static List<String> paragraphs(String text, long tokenBudget) {
+        List<String> result = new ArrayList<>();
+        List<String> codeLines = null;
+        for (String line : text.split("\n")) {
+            String paragraph = line.strip();
+            if (paragraph.startsWith(CODE_FENCE)) {
+                if (codeLines == null) {
+                    codeLines = new ArrayList<>();
+                    codeLines.add(line.stripTrailing());
+                } else {
+                    codeLines.add(line.stripTrailing());
+                    addCodeBlock(codeLines, tokenBudget, result);
+                    codeLines = null;
+                }
+                continue;
+            }
+            if (codeLines != null) {
+                codeLines.add(line.stripTrailing());
+                continue;
+            }
+            if (paragraph.isEmpty()) {
+                continue;
+            }
+            if (TokenEstimator.estimate(paragraph) <= tokenBudget) {
+                result.add(paragraph);
+                continue;
+            }
+            for (String sentence : SENTENCE_END.split(paragraph)) {
+                if (TokenEstimator.estimate(sentence) <= tokenBudget) {
+                    result.add(sentence);
+                } else {
+                    splitByLength(sentence, tokenBudget, result);
+                }
+            }
+        }
+        if (codeLines != null) {
+            codeLines.add(CODE_FENCE); // 닫히지 않은 코드 블록
+            addCodeBlock(codeLines, tokenBudget, result);
+        }
+        return result;
+    }
+
+    /**
+     * 코드 블록(여는/닫는 ``` 줄 포함)을 한 문단으로 추가합니다.
+     * 예산보다 크면 줄 경계에서 나누고, 조각마다 ``` 를 다시 열고 닫습니다. (한 줄이 예산보다 크면 글자 수로 자름)
+     */
+    private static void addCodeBlock(List<String> lines, long tokenBudget, List<String> result) {
+        String block = String.join("\n", lines);
+        if (TokenEstimator.estimate(block) <= tokenBudget) {
+            result.add(block);
+            return;
+        }
+
+        String open = lines.get(0);
+        long fenceTokens = TokenEstimator.estimate(open + "\n" + CODE_FENCE);
+        long bodyBudget = Math.max(1, tokenBudget - fenceTokens);
+        StringBuilder piece = new StringBuilder();
+        long pieceTokens = 0;
+        for (String line : lines.subList(1, lines.size() - 1)) {
+            List<String> parts = new ArrayList<>();
+            if (TokenEstimator.estimate(line) <= bodyBudget) {
+                parts.add(line);
+            } else {
+                splitByLength(line, bodyBudget, parts);
+            }
+            for (String part : parts) {
+                long tokens = TokenEstimator.estimate(part);
+                if (piece.length() > 0 && pieceTokens + tokens > bodyBudget) {
+                    result.add(open + "\n" + piece + CODE_FENCE);
+                    piece.setLength(0);
+                    pieceTokens = 0;
+                }
+                piece.append(part).append('\n');
+                pieceTokens += tokens;
+            }
+        }
+        if (piece.length() > 0) {
+            result.add(open + "\n" + piece + CODE_FENCE);
+        }
+    }
+
+    // 최악의 경우(전부 한글) 글자당 1토큰이므로 예산 글자 수로 자르면 항상 예산 이내
+    private static void splitByLength(String sentence, long tokenBudget, List<String> result) {
+        int step = (int) Math.max(1, tokenBudget);
+        for (int start = 0; start < sentence.length(); start += step) {
+            result.add(sentence.substring(start, Math.min(sentence.length(), start + step)));
+        }
+    }
+
+    private static boolean isHeading(String paragraph) {
+        if (paragraph.length() > HEADING_MAX_LENGTH || paragraph.startsWith(CODE_FENCE)) {
+            return false;
+        }
+        char last = paragraph.charAt(paragraph.length() - 1);
+        return last != '.' && last != '!' && last != '?' && last != ',' && last != ':' && last != ';';
+    }
+}
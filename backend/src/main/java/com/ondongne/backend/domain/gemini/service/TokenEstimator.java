@@ -0,0 +1,41 @@
+package com.ondongne.backend.domain.gemini.service;
+
+/**
+ * 로컬 토큰 수 추정 (countTokens API 호출 없이 분할/한도 계산에 사용)
+ * - 한글/한자/가나 : 글자당 약 1토큰
+ * - 그 외(영문, 숫자, 기호) : 약 4글자당 1토큰
+ * 실제 토큰 수보다 약간 크게 잡는 보수적인 추정입니다.
+ */
+public final class TokenEstimator {
+
+    private TokenEstimator() {
+    }
+
+    public static long estimate(CharSequence text) {
+        if (text == null) {
+            return 0;
+        }
+
+        long wideChars = 0;
+        long otherChars = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            if (isWide(c)) {
+                wideChars++;
+            } else {
+                otherChars++;
+            }
+        }
+        return wideChars + (otherChars + 3) / 4;
+    }
+
+    private static boolean isWide(char c) {
+        return (c >= '가' && c <= '힣')     // 한글 음절
+                || (c >= '㄰' && c <= '㆏')  // 한글 자모
+                || (c >= '一' && c <= '鿿')  // 한자
+                || (c >= '぀' && c <= 'ヿ'); // 가나
+    }
+}
@@ -1,13 +1,24 @@
 package com.ondongne.backend.domain.quiz.controller;
 
+import com.ondongne.backend.domain.quiz.dto.QuizLibraryResponseDto;
 import com.ondongne.backend.domain.quiz.dto.QuizRequestDto;
 import com.ondongne.backend.domain.quiz.dto.QuizResponseDto;
+import com.ondongne.backend.domain.quiz.dto.QuizResultDto;
+import com.ondongne.backend.domain.quiz.dto.QuizStatusBatchRequestDto;
+import com.ondongne.backend.domain.quiz.dto.QuizStatusBatchResponseDto;
+import com.ondongne.backend.domain.quiz.service.QuizLibraryService;
 import com.ondongne.backend.domain.quiz.service.QuizService;
 import com.ondongne.backend.global.response.SuccessResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
 
 @Slf4j
 @RestController
@@ -16,11 +27,12 @@ import org.springframework.web.bind.annotation.*;
 public class QuizController {
 
     private final QuizService quizService;
+    private final QuizLibraryService quizLibraryService;
 
     @PostMapping("/generate")
     public ResponseEntity<SuccessResponse<QuizResponseDto>> generateQuiz(@RequestBody QuizRequestDto quizRequestDto) {
 
-        QuizResponseDto quizResponseDto = quizService.processQuiz(quizRequestDto.getUrl(), quizRequestDto.getQuizCount());
+        QuizResponseDto quizResponseDto = quizService.processQuiz(quizRequestDto.getUrl(), quizRequestDto.getQuizCount(), quizRequestDto.isVisualAnalysis(), quizRequestDto.getPriority());
 
         return ResponseEntity.ok(SuccessResponse.<QuizResponseDto>builder()
                 .code(200)
@@ -30,14 +42,62 @@ public class QuizController {
     }
 
     @GetMapping("/status/{jobId}")
-    public ResponseEntity<SuccessResponse<QuizResponseDto>> getQuizStatus(@PathVariable String jobId) {
+    public Mono<ResponseEntity<SuccessResponse<QuizResponseDto>>> getQuizStatus(@PathVariable String jobId,
+                                                                                @RequestParam(defaultValue = "true") boolean includeResult) {
 
-        QuizResponseDto quizResponseDto = quizService.getQuizStatus(jobId);
+        return quizService.getQuizStatus(jobId, includeResult)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .map(quizResponseDto -> ResponseEntity.ok(SuccessResponse.<QuizResponseDto>builder()
+                        .code(200)
+                        .message("Success")
+                        .data(quizResponseDto.orElse(null))
+                        .build()));
+    }
 
-        return ResponseEntity.ok(SuccessResponse.<QuizResponseDto>builder()
+    @PostMapping("/status/batch")
+    public Mono<ResponseEntity<SuccessResponse<QuizStatusBatchResponseDto>>> getQuizStatuses(@RequestBody QuizStatusBatchRequestDto quizStatusBatchRequestDto) {
+
+        return quizService.getQuizStatuses(quizStatusBatchRequestDto.getJobIds(), quizStatusBatchRequestDto.isIncludeResult())
+                .map(quizStatusBatchResponseDto -> ResponseEntity.ok(SuccessResponse.<QuizStatusBatchResponseDto>builder()
+                        .code(200)
+                        .message("Success")
+                        .data(quizStatusBatchResponseDto)
+                        .build()));
+    }
+
+    @GetMapping(value = "/status/{jobId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<QuizResponseDto>>> streamQuizStatus(@PathVariable String jobId) {
+
+        Flux<ServerSentEvent<QuizResponseDto>> events = quizService.streamQuizStatus(jobId);
+
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no") // Nginx 프록시 버퍼링 해제 (이벤트 즉시 전달)
+                .body(events);
+    }
+
+    @GetMapping("/library")
+    public ResponseEntity<SuccessResponse<QuizLibraryResponseDto>> getLibrary(@RequestParam(required = false) Long cursor,
+                                                                             @RequestParam(defaultValue = "20") int size) {
+
+        QuizLibraryResponseDto quizLibraryResponseDto = quizLibraryService.getLibrary(cursor, size);
+
+        return ResponseEntity.ok(SuccessResponse.<QuizLibraryResponseDto>builder()
                 .code(200)
                 .message("Success")
-                .data(quizResponseDto)
+                .data(quizLibraryResponseDto)
+                .build());
+    }
+
+    @GetMapping("/library/{quizId}")
+    public ResponseEntity<SuccessResponse<QuizResultDto>> getLibraryQuiz(@PathVariable Long quizId) {
+
+        QuizResultDto quizResultDto = quizLibraryService.getQuiz(quizId);
+
+        return ResponseEntity.ok(SuccessResponse.<QuizResultDto>builder()
+                .code(200)
+                .message("Success")
+                .data(quizResultDto)
                 .build());
     }
 }
@@ -0,0 +1,22 @@
+package com.ondongne.backend.domain.quiz.dto;
+
+import lombok.*;
+
+/**
+ * 작업 상태 변경 알림 (Redis Pub/Sub 메시지)
+ * 결과(result)는 크기가 크므로 담지 않고, 필요한 쪽에서 저장소를 조회합니다.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobStatusEvent {
+
+    private String jobId;
+    private QuizResponseDto.JobStatus status;
+    private String message;
+    private Integer progress;
+    private Long version;     // 이 알림을 만든 쓰기의 version (저장소의 version과 같음)
+    private long publishedAt; // 발행 시각 (epoch millis)
+}
@@ -0,0 +1,22 @@
+package com.ondongne.backend.domain.quiz.dto;
+
+import com.ondongne.backend.global.scheduler.JobPriority;
+import lombok.*;
+
+/**
+ * 작업 대기열(Redis Stream) 항목
+ * 요청을 받은 노드가 아니라 항목을 가져간 워커 노드가 실행하므로, 파이프라인을 다시 만드는 데 필요한 값만 담습니다.
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuizJobMessage {
+
+    private String jobId;
+    private String url;
+    private boolean visualAnalysis;
+    private int quizCount;
+    private JobPriority priority;
+    private boolean batch;   // Gemini Batch API로 보낼 작업
+}
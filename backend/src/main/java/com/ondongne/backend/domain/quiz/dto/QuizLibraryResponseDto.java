@@ -0,0 +1,31 @@
+package com.ondongne.backend.domain.quiz.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuizLibraryResponseDto {
+
+    private List<QuizSummaryDto> quizzes; // 최신순
+    private Long nextCursor;              // 다음 페이지 요청 시 cursor로 전달 (마지막 페이지면 null)
+
+    @Getter
+    @Setter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class QuizSummaryDto {
+        private Long quizId;
+        private String title;
+        private QuizSource.SourceType sourceType;
+        private String url;
+        private int quizCount;
+        private LocalDateTime createdAt;
+    }
+}
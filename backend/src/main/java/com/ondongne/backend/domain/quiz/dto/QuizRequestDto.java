@@ -6,4 +6,21 @@ import lombok.Getter;
 public class QuizRequestDto {
     private String url;
     private int quizCount;
+
+    /**
+     * 유튜브 영상의 화면(코드, 도식 등)까지 분석할지 여부
+     * false(기본)면 자막을 먼저 시도하고, 자막이 없을 때만 영상을 분석합니다.
+     */
+    private boolean visualAnalysis;
+
+    /**
+     * 처리 우선순위
+     * BATCH면 결과를 바로 기다리지 않는 작업으로 보고 Gemini Batch API로 모아서 처리합니다. (완료까지 수 시간 소요 가능)
+     */
+    private Priority priority = Priority.INTERACTIVE;
+
+    public enum Priority {
+        INTERACTIVE, // 실시간 생성 (기본)
+        BATCH        // 저우선순위 배치 생성
+    }
 }
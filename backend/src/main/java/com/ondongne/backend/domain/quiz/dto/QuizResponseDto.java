@@ -13,9 +13,13 @@ public class QuizResponseDto {
     private JobStatus status;
     private QuizResultDto result;
     private String message;
+    private Integer queuePosition; // 대기열 순번 (대기 중일 때만 존재)
+    private Integer progress;      // 지금까지 생성된 문제 수 (PARTIAL / COMPLETED)
+    private Long version;          // 상태가 바뀔 때마다 1씩 증가 (늦게 도착한 이전 상태를 걸러낼 때 사용)
 
     public enum JobStatus {
         PROCESSING,
+        PARTIAL,    // 일부 문제가 생성됨 (result에 지금까지의 문제, 최종 결과는 COMPLETED에서 확정)
         COMPLETED,
         FAILED
     }
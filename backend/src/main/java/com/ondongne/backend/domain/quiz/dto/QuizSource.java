@@ -0,0 +1,58 @@
+package com.ondongne.backend.domain.quiz.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 요청 URL을 정규화한 '콘텐츠 원본' 식별 정보입니다.
+ * 같은 영상/게시글이라면 URL 표기가 달라도 같은 sourceKey를 가집니다.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class QuizSource {
+
+    private final SourceType type;
+
+    /**
+     * 캐시/중복 요청 판별에 사용하는 정규화 키
+     * - YOUTUBE : "yt:{videoId}" (영상 분석 요청은 "yt:{videoId}:visual")
+     * - NAVER   : "naver:{blogId}/{logNo}"
+     * - 그 외    : "web:{host}{path}?{정렬된 쿼리}"
+     */
+    private final String sourceKey;
+
+    /**
+     * 사용자가 입력한 원본 URL (실제 크롤링/다운로드 대상)
+     */
+    private final String url;
+
+    /**
+     * 유튜브 영상 ID (YOUTUBE 타입일 때만 존재)
+     */
+    private final String videoId;
+
+    /**
+     * 자막만으로 충분하지 않아 영상의 시각 정보까지 분석해야 하는지 여부 (YOUTUBE 타입에서만 의미 있음)
+     * 결과가 달라지므로 sourceKey도 구분합니다.
+     */
+    private final boolean visualAnalysis;
+
+    public static QuizSource youtube(String url, String videoId, boolean visualAnalysis) {
+        String sourceKey = "yt:" + videoId + (visualAnalysis ? ":visual" : "");
+        return new QuizSource(SourceType.YOUTUBE, sourceKey, url, videoId, visualAnalysis);
+    }
+
+    public static QuizSource web(String url, String sourceKey) {
+        return new QuizSource(SourceType.WEB, sourceKey, url, null, false);
+    }
+
+    public boolean isYoutube() {
+        return type == SourceType.YOUTUBE;
+    }
+
+    public enum SourceType {
+        YOUTUBE,
+        WEB
+    }
+}
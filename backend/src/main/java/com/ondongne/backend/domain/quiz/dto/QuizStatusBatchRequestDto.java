@@ -0,0 +1,15 @@
+package com.ondongne.backend.domain.quiz.dto;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class QuizStatusBatchRequestDto {
+    private List<String> jobIds;
+
+    /**
+     * false면 결과 본문 없이 상태 필드만 반환 (목록 화면 등)
+     */
+    private boolean includeResult;
+}
@@ -0,0 +1,16 @@
+package com.ondongne.backend.domain.quiz.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuizStatusBatchResponseDto {
+
+    private List<QuizResponseDto> jobs; // 조회된 작업 (요청 순서)
+    private List<String> notFound;      // 존재하지 않거나 만료된 jobId
+}
@@ -0,0 +1,52 @@
+package com.ondongne.backend.domain.quiz.entity;
+
+import com.ondongne.backend.global.converter.StringListConverter;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 퀴즈의 문제 (PK : quiz_id + seq)
+ * 복합 PK가 클러스터 인덱스이므로 한 퀴즈의 문제는 함께 저장되고, 범위 읽기 한 번으로 순서대로 조회됩니다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@IdClass(Question.Key.class)
+@Table(name = "question")
+public class Question {
+
+    @Id
+    @Column(name = "quiz_id")
+    private Long quizId;
+
+    @Id
+    private int seq;             // 문제 번호 (1부터)
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String question;
+
+    @Convert(converter = StringListConverter.class)
+    @Column(columnDefinition = "TEXT")
+    private List<String> options;
+
+    @Column(columnDefinition = "TEXT")
+    private String answer;
+
+    @Column(columnDefinition = "TEXT")
+    private String explanation;
+
+    @Column(name = "code_snippet", columnDefinition = "TEXT")
+    private String codeSnippet;
+
+    @Getter
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long quizId;
+        private int seq;
+    }
+}
@@ -0,0 +1,50 @@
+package com.ondongne.backend.domain.quiz.entity;
+
+import com.ondongne.backend.domain.quiz.dto.QuizSource;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 생성이 끝난 퀴즈 (퀴즈 보관함)
+ * 원본별 조회는 idx_quiz_source 인덱스만으로 최신 퀴즈 id를 찾습니다. (InnoDB 보조 인덱스에 PK가 포함되므로 id 정렬도 인덱스에서 처리)
+ * 쓰기는 QuizArchiveWriter가 JDBC 배치로 하므로, 컬럼을 바꾸면 그쪽 INSERT 문도 함께 바꿔야 합니다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "quiz", indexes = @Index(name = "idx_quiz_source", columnList = "source_hash, quiz_count, stale"))
+public class Quiz {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "source_hash", nullable = false, columnDefinition = "BINARY(32)")
+    private byte[] sourceHash;   // SHA-256(sourceKey), 길이가 일정한 인덱스 키
+
+    @Column(name = "source_key", nullable = false, length = 512)
+    private String sourceKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "source_type", nullable = false, length = 16)
+    private QuizSource.SourceType sourceType;
+
+    @Column(nullable = false, length = 2048)
+    private String url;
+
+    @Column(name = "quiz_count", nullable = false)
+    private int quizCount;
+
+    @Column(length = 500)
+    private String title;
+
+    @Column(nullable = false)
+    private boolean stale;       // 원본 내용이 바뀌어 재사용하지 않는 퀴즈 (보관함 목록에는 남음)
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
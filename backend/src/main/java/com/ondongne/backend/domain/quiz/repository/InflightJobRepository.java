@@ -0,0 +1,110 @@
+package com.ondongne.backend.domain.quiz.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 동일 원본(sourceKey + quizCount)에 대한 '진행 중' 표식과 합류(follower) 목록을 관리합니다.
+ * 여러 백엔드 노드가 같은 Redis를 바라보므로, 노드 간에도 하나의 작업만 실제로 실행됩니다.
+ *
+ * - quiz:inflight:{key}                   : 실제 작업을 수행 중인 leader jobId (SET NX + 임대 시간, 실행 중에는 워커 heartbeat로 연장)
+ * - quiz:inflight:followers:{leaderJobId} : 그 leader의 결과를 함께 받을 jobId 목록
+ * 합류 목록은 leader jobId로 찾으므로, 표식이 먼저 만료되더라도 leader가 끝날 때 합류한 작업을 모두 정리합니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class InflightJobRepository {
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Value("${app.quiz.single-flight.lease-minutes}")
+    private long leaseMinutes;
+
+    private static final String KEY_PREFIX = "quiz:inflight:";
+    private static final String FOLLOWERS_PREFIX = "quiz:inflight:followers:";
+
+    // 합류한 작업 기록이 남아 있는 동안만 목록을 보관 (그 뒤에는 알릴 대상이 없음)
+    private static final Duration FOLLOWERS_TTL = Duration.ofMinutes(JobRedisRepository.JOB_TTL);
+
+    // 확인한 leader가 아직 표식을 쥐고 있을 때만 합류 (leader 종료와 합류가 엇갈리지 않도록 원자적으로 처리)
+    private static final RedisScript<Long> ATTACH_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                redis.call('RPUSH', KEYS[2], ARGV[2])
+                redis.call('PEXPIRE', KEYS[2], ARGV[3])
+                return 1
+            end
+            return 0
+            """, Long.class);
+
+    // 자신이 leader일 때만 표식을 지우고, 자신의 합류 목록은 표식 만료 여부와 관계없이 한 번에 가져감
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                redis.call('DEL', KEYS[1])
+            end
+            local followers = redis.call('LRANGE', KEYS[2], 0, -1)
+            redis.call('DEL', KEYS[2])
+            return followers
+            """, List.class);
+
+    // 자신이 leader일 때만 임대 시간 연장
+    private static final RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return 0
+            """, Long.class);
+
+    // leader 등록 시도 (성공 시 이 job이 실제 작업을 수행)
+    public boolean tryAcquire(String sourceKey, int quizCount, String jobId) {
+        Boolean acquired = stringRedisTemplate.opsForValue()
+                .setIfAbsent(markerKey(sourceKey, quizCount), jobId, Duration.ofMinutes(leaseMinutes));
+        return Boolean.TRUE.equals(acquired);
+    }
+
+    // 진행 중인 작업에 합류 (leader가 이미 끝났다면 false)
+    public boolean attach(String sourceKey, int quizCount, String jobId) {
+        String markerKey = markerKey(sourceKey, quizCount);
+        String leaderJobId = stringRedisTemplate.opsForValue().get(markerKey);
+        if (leaderJobId == null) {
+            return false;
+        }
+        Long attached = stringRedisTemplate.execute(ATTACH_SCRIPT,
+                List.of(markerKey, followersKey(leaderJobId)),
+                leaderJobId, jobId, String.valueOf(FOLLOWERS_TTL.toMillis()));
+        return attached != null && attached == 1L;
+    }
+
+    // 실행 중인 leader의 임대 시간 연장 (다른 leader로 바뀌었거나 이미 끝났다면 false)
+    public boolean renew(String sourceKey, int quizCount, String leaderJobId) {
+        Long renewed = stringRedisTemplate.execute(RENEW_SCRIPT,
+                List.of(markerKey(sourceKey, quizCount)),
+                leaderJobId, String.valueOf(Duration.ofMinutes(leaseMinutes).toMillis()));
+        return renewed != null && renewed == 1L;
+    }
+
+    // leader 종료 처리 후 합류했던 jobId 목록 반환
+    @SuppressWarnings("unchecked")
+    public List<String> release(String sourceKey, int quizCount, String leaderJobId) {
+        List<String> followers = stringRedisTemplate.execute(RELEASE_SCRIPT,
+                List.of(markerKey(sourceKey, quizCount), followersKey(leaderJobId)),
+                leaderJobId);
+        return followers == null ? Collections.emptyList() : followers;
+    }
+
+    private String markerKey(String sourceKey, int quizCount) {
+        return KEY_PREFIX + sourceKey + ":" + quizCount;
+    }
+
+    private String followersKey(String leaderJobId) {
+        return FOLLOWERS_PREFIX + leaderJobId;
+    }
+}
@@ -0,0 +1,335 @@
+package com.ondongne.backend.domain.quiz.repository;
+
+import com.ondongne.backend.domain.quiz.dto.QuizJobMessage;
+import com.ondongne.backend.global.scheduler.JobPriority;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisStreamCommands.XClaimOptions;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.PendingMessagesSummary;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 작업 대기열 (Redis Stream + 컨슈머 그룹)
+ * - quiz:jobs:{text|video|batch} : 우선순위별 대기열 (확인 응답한 항목은 바로 지우므로 길이 = 대기 + 처리 중)
+ * - quiz:jobs:dead               : 처리 시도 횟수를 넘긴 항목 (원래 필드 + 사유, 최대 길이 제한)
+ * 항목은 컨슈머 그룹(quiz-workers)의 한 노드에만 전달되고, 확인 응답 전까지 그 노드의 처리 중 목록(PEL)에 남습니다.
+ * 노드가 죽으면 PEL의 항목은 유휴 시간이 쌓이고, 다른 노드가 claimStale로 가져가 다시 실행합니다.
+ * 대기열 읽기/회수는 워커 전용 스레드에서 블로킹으로, 확인 응답은 작업 파이프라인에 이어 붙이도록 Mono로 제공합니다.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class JobQueueRepository {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+
+    @Value("${app.quiz.queue.dead-letter-max-length}")
+    private long deadLetterMaxLength;
+
+    private static final String STREAM_PREFIX = "quiz:jobs:";
+    public static final String DEAD_LETTER_STREAM = "quiz:jobs:dead";
+    public static final String GROUP = "quiz-workers";
+
+    // 회수 대상을 찾을 때 XPENDING 한 번에 살펴보는 처리 중 항목 수 (끝까지 페이지를 넘기며 확인)
+    private static final int PENDING_SCAN_SIZE = 100;
+
+    /**
+     * 대기열에 작업을 넣습니다.
+     */
+    public RecordId enqueue(QuizJobMessage message) {
+        return streams().add(StreamRecords.newRecord()
+                .in(streamKey(message.getPriority()))
+                .ofMap(toFields(message)));
+    }
+
+    /**
+     * 모든 대기열의 항목 수 (아직 가져가지 않은 항목 + 처리 중인 항목)
+     */
+    public long backlog() {
+        long total = 0;
+        for (JobPriority priority : JobPriority.values()) {
+            Long size = streams().size(streamKey(priority));
+            total += size == null ? 0 : size;
+        }
+        return total;
+    }
+
+    /**
+     * 해당 우선순위로 방금 넣은 항목의 대기 순번 (1부터)
+     * 같거나 높은 우선순위 대기열에서 아직 어느 노드도 가져가지 않은 항목 수 (길이 - 처리 중인 항목 수)
+     * 다른 요청이 동시에 들어오거나 빠지면 어긋날 수 있는 근사값입니다.
+     */
+    public long position(JobPriority priority) {
+        long waiting = 0;
+        for (JobPriority ahead : JobPriority.values()) {
+            if (ahead.compareTo(priority) > 0) {
+                break;
+            }
+            Long size = streams().size(streamKey(ahead));
+            PendingMessagesSummary pending = streams().pending(streamKey(ahead), GROUP);
+            waiting += (size == null ? 0 : size) - (pending == null ? 0 : pending.getTotalPendingMessages());
+        }
+        return Math.max(1, waiting);
+    }
+
+    /**
+     * 대기열과 컨슈머 그룹을 만듭니다. (이미 있으면 그대로 둠)
+     * 그룹은 처음부터(0) 읽도록 만들어, 그룹이 생기기 전에 들어온 항목도 처리합니다.
+     */
+    public void createGroups() {
+        for (JobPriority priority : JobPriority.values()) {
+            try {
+                streams().createGroup(streamKey(priority), ReadOffset.from("0"), GROUP);
+            } catch (DataAccessException e) {
+                if (!String.valueOf(e.getMostSpecificCause().getMessage()).contains("BUSYGROUP")) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * 새 항목을 최대 count개 가져옵니다. 우선순위가 높은 대기열부터 채우고,
+     * 모두 비어 있으면 어느 대기열이든 항목이 들어올 때까지 block만큼 기다립니다.
+     * (기다린 끝에는 대기열마다 1개씩 올 수 있으므로 count보다 최대 2개 많을 수 있음)
+     */
+    public List<QueuedJob> read(String consumer, int count, Duration block) {
+        Consumer reader = Consumer.from(GROUP, consumer);
+        List<QueuedJob> jobs = new ArrayList<>();
+
+        for (JobPriority priority : JobPriority.values()) {
+            if (jobs.size() >= count) {
+                break;
+            }
+            List<MapRecord<String, String, String>> records = streams().read(reader,
+                    StreamReadOptions.empty().count(count - jobs.size()),
+                    StreamOffset.create(streamKey(priority), ReadOffset.lastConsumed()));
+            addAll(jobs, records, 1);
+        }
+        if (!jobs.isEmpty()) {
+            return jobs;
+        }
+
+        @SuppressWarnings("unchecked")
+        StreamOffset<String>[] offsets = new StreamOffset[JobPriority.values().length];
+        for (JobPriority priority : JobPriority.values()) {
+            offsets[priority.ordinal()] = StreamOffset.create(streamKey(priority), ReadOffset.lastConsumed());
+        }
+        List<MapRecord<String, String, String>> records = streams().read(reader,
+                StreamReadOptions.empty().count(1).block(block), offsets);
+        addAll(jobs, records, 1);
+        jobs.sort(Comparator.comparing(job -> job.message().getPriority()));
+        return jobs;
+    }
+
+    /**
+     * 다른 노드(또는 확인 응답에 실패한 이 노드)가 minIdle 이상 손대지 않은 처리 중 항목을 최대 count개 가져옵니다.
+     * XCLAIM도 유휴 시간을 다시 확인하므로, 여러 노드가 동시에 회수해도 한 노드만 가져갑니다.
+     * 살아 있는 노드의 긴 작업이 PEL 앞쪽을 채우고 있어도 놓치지 않도록, 마지막으로 본 ID 다음부터 PEL 끝까지 훑습니다.
+     * @return 회수한 항목 (deliveries : 이번 회수를 포함한 전달 횟수)
+     */
+    public List<QueuedJob> claimStale(String consumer, Duration minIdle, int count) {
+        List<QueuedJob> claimed = new ArrayList<>();
+
+        for (JobPriority priority : JobPriority.values()) {
+            if (claimed.size() >= count) {
+                break;
+            }
+            String stream = streamKey(priority);
+            Map<RecordId, Long> deliveries = findStale(stream, minIdle, count - claimed.size());
+            if (deliveries.isEmpty()) {
+                continue;
+            }
+
+            List<MapRecord<String, String, String>> records = streams().claim(stream, GROUP, consumer, minIdle,
+                    deliveries.keySet().toArray(RecordId[]::new));
+            for (MapRecord<String, String, String> record : records) {
+                addAll(claimed, List.of(record), deliveries.getOrDefault(record.getId(), 0L) + 1);
+            }
+        }
+        return claimed;
+    }
+
+    // 유휴 시간이 minIdle 이상인 처리 중 항목을 최대 limit개 (ID -> 지금까지의 전달 횟수)
+    private Map<RecordId, Long> findStale(String stream, Duration minIdle, int limit) {
+        Map<RecordId, Long> deliveries = new LinkedHashMap<>();
+        Range<String> range = Range.unbounded();
+
+        while (deliveries.size() < limit) {
+            PendingMessages pending = streams().pending(stream, GROUP, range, PENDING_SCAN_SIZE);
+            RecordId last = null;
+            for (PendingMessage message : pending) {
+                last = message.getId();
+                if (message.getElapsedTimeSinceLastDelivery().compareTo(minIdle) >= 0) {
+                    deliveries.put(message.getId(), message.getTotalDeliveryCount());
+                    if (deliveries.size() >= limit) {
+                        break;
+                    }
+                }
+            }
+            if (last == null || pending.size() < PENDING_SCAN_SIZE) {
+                break;
+            }
+            range = Range.rightUnbounded(Range.Bound.inclusive(nextId(last)));
+        }
+        return deliveries;
+    }
+
+    // XPENDING의 배타 범위("(id")는 Redis 6.2부터라 바로 다음 ID를 포함 범위의 시작으로 씀
+    private static String nextId(RecordId id) {
+        return id.getTimestamp() + "-" + (id.getSequence() + 1);
+    }
+
+    /**
+     * 처리 중인 항목의 유휴 시간을 0으로 되돌립니다. (전달 횟수는 늘리지 않음)
+     * 살아 있는 노드의 긴 작업(영상 등)을 다른 노드가 회수하지 않도록 주기적으로 호출합니다.
+     */
+    public void heartbeat(String consumer, Collection<QueuedJob> jobs) {
+        Map<String, List<RecordId>> idsByStream = jobs.stream()
+                .collect(Collectors.groupingBy(QueuedJob::stream, Collectors.mapping(QueuedJob::id, Collectors.toList())));
+
+        stringRedisTemplate.execute((RedisCallback<Object>) connection -> {
+            idsByStream.forEach((stream, ids) -> connection.streamCommands().xClaimJustId(
+                    stream.getBytes(StandardCharsets.UTF_8), GROUP, consumer,
+                    XClaimOptions.minIdle(Duration.ZERO).ids(ids.toArray(RecordId[]::new))));
+            return null;
+        });
+    }
+
+    /**
+     * 확인 응답 후 항목을 지웁니다. (대기열 길이를 남은 작업 수로 유지)
+     */
+    public Mono<Void> ack(QueuedJob job) {
+        return reactiveStringRedisTemplate.opsForStream().acknowledge(job.stream(), GROUP, job.id())
+                .then(reactiveStringRedisTemplate.opsForStream().delete(job.stream(), job.id()))
+                .then();
+    }
+
+    /**
+     * 항목을 dead-letter 스트림으로 옮깁니다.
+     * 옮긴 뒤에 확인 응답하므로, 중간에 멈추면 다음 회수 때 한 번 더 옮겨질 수 있습니다. (중복은 무해)
+     */
+    public void deadLetter(QueuedJob job, String reason) {
+        deadLetter(job.stream(), job.id(), toFields(job.message()), job.deliveries(), reason);
+    }
+
+    /**
+     * 이 consumer에 남은 처리 중 항목이 없으면 그룹에서 지웁니다. (종료 시, 노드마다 이름이 달라 쌓이지 않도록)
+     * @return 지웠으면 true (남은 항목이 있으면 다른 노드가 회수하도록 그대로 둠)
+     */
+    public boolean removeConsumerIfIdle(String consumer) {
+        Consumer target = Consumer.from(GROUP, consumer);
+        for (JobPriority priority : JobPriority.values()) {
+            if (!streams().pending(streamKey(priority), target, Range.unbounded(), 1).isEmpty()) {
+                return false;
+            }
+        }
+        for (JobPriority priority : JobPriority.values()) {
+            streams().deleteConsumer(streamKey(priority), target);
+        }
+        return true;
+    }
+
+    private void addAll(List<QueuedJob> jobs, List<MapRecord<String, String, String>> records, long deliveries) {
+        if (records == null) {
+            return;
+        }
+        for (MapRecord<String, String, String> record : records) {
+            QuizJobMessage message;
+            try {
+                message = toMessage(record.getValue());
+            } catch (RuntimeException e) {
+                // 다시 읽어도 실행할 수 없으므로 바로 옮김
+                log.error(">>>>> 형식이 잘못된 대기열 항목 {} ({}): {}", record.getId(), record.getStream(), e.getMessage());
+                deadLetter(record.getStream(), record.getId(), record.getValue(), deliveries, "malformed");
+                continue;
+            }
+            jobs.add(new QueuedJob(record.getStream(), record.getId(), message, deliveries));
+        }
+    }
+
+    private void deadLetter(String stream, RecordId id, Map<String, String> fields, long deliveries, String reason) {
+        Map<String, String> deadFields = new LinkedHashMap<>(fields);
+        deadFields.put("sourceStream", stream);
+        deadFields.put("sourceId", id.getValue());
+        deadFields.put("deliveries", String.valueOf(deliveries));
+        deadFields.put("reason", reason);
+
+        streams().add(StreamRecords.newRecord().in(DEAD_LETTER_STREAM).ofMap(deadFields));
+        streams().trim(DEAD_LETTER_STREAM, deadLetterMaxLength, true);
+        streams().acknowledge(stream, GROUP, id);
+        streams().delete(stream, id);
+    }
+
+    private StreamOperations<String, String, String> streams() {
+        return stringRedisTemplate.opsForStream();
+    }
+
+    private static String streamKey(JobPriority priority) {
+        return STREAM_PREFIX + priority.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static Map<String, String> toFields(QuizJobMessage message) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("jobId", message.getJobId());
+        fields.put("url", message.getUrl());
+        fields.put("visualAnalysis", String.valueOf(message.isVisualAnalysis()));
+        fields.put("quizCount", String.valueOf(message.getQuizCount()));
+        fields.put("priority", message.getPriority().name());
+        fields.put("batch", String.valueOf(message.isBatch()));
+        return fields;
+    }
+
+    private static QuizJobMessage toMessage(Map<String, String> fields) {
+        String jobId = fields.get("jobId");
+        String url = fields.get("url");
+        if (jobId == null || url == null) {
+            throw new IllegalArgumentException("jobId 또는 url이 없습니다.");
+        }
+
+        return QuizJobMessage.builder()
+                .jobId(jobId)
+                .url(url)
+                .visualAnalysis(Boolean.parseBoolean(fields.get("visualAnalysis")))
+                .quizCount(Integer.parseInt(fields.get("quizCount")))
+                .priority(JobPriority.valueOf(fields.get("priority")))
+                .batch(Boolean.parseBoolean(fields.get("batch")))
+                .build();
+    }
+
+    /**
+     * 이 노드가 가져간 대기열 항목
+     * @param deliveries 이 항목이 전달된 횟수 (처음 읽으면 1, 회수될 때마다 증가)
+     */
+    public record QueuedJob(String stream, RecordId id, QuizJobMessage message, long deliveries) {
+    }
+}
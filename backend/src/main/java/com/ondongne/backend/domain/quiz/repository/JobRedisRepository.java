@@ -1,47 +1,336 @@
 package com.ondongne.backend.domain.quiz.repository;
 
+import com.ondongne.backend.domain.quiz.dto.JobStatusEvent;
 import com.ondongne.backend.domain.quiz.dto.QuizResponseDto;
 import com.ondongne.backend.domain.quiz.dto.QuizResultDto;
+import com.ondongne.backend.global.codec.PayloadCodec;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisElementReader;
+import org.springframework.data.redis.serializer.RedisElementWriter;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.data.redis.util.ByteUtils;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
+/**
+ * 작업 상태 저장소 (ReactiveStringRedisTemplate, 모든 메서드가 Mono를 반환하며 호출 스레드를 막지 않음)
+ * - quiz:job:{jobId}        : 상태 필드 (HASH : status, message, queuePosition, progress, version, updatedAt)
+ * - quiz:job:{jobId}:result : 결과 (STRING, PayloadCodec으로 인코딩, 결과가 있을 때만)
+ * 모든 쓰기는 Lua 스크립트 1번으로 처리하며(원자적, 왕복 1회), 쓸 때마다 version이 1씩 증가합니다.
+ * - 완료/실패 상태가 된 작업은 더 이상 바뀌지 않음
+ * - 부분 결과는 진행도가 늘어날 때만 반영 (늦게 도착한 이전 스냅샷 무시)
+ * - compareAndUpdate는 기대한 version일 때만 반영
+ * 상태 조회는 작은 필드만 읽고, 결과는 요청했고 결과가 있는 상태일 때만 함께 읽습니다.
+ * 여러 작업 조회(findAllById)는 응답을 기다리지 않고 명령을 연달아 보내 한 커넥션에서 파이프라인으로 처리합니다.
+ * 두 키는 같은 해시 태그({jobId})를 써서 클러스터에서도 같은 슬롯에 놓입니다.
+ * 요청 스레드(서블릿)처럼 막혀도 되는 곳에서만 block()하고, 파이프라인 안에서는 그대로 이어 붙여 사용합니다.
+ */
+@Slf4j
 @Repository
 @RequiredArgsConstructor
 public class JobRedisRepository {
 
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+    private final RedisTemplate<String, Object> redisTemplate; // 알림 직렬화 (구독 측 JobEventSubscriber와 같은 serializer)
+    private final PayloadCodec payloadCodec;
 
     // 데이터 유효 시간 (30분)
-    private static final long JOB_TTL = 30;
+    static final long JOB_TTL = 30;
 
-    // 저장 (Create / Update)
-    public void save(String jobId, QuizResponseDto data) {
-        String key = "quiz:job:" + jobId;
+    // 상태 변경 알림 채널 (SSE 스트림 등 다른 노드의 구독자에게 전달)
+    public static final String JOB_EVENT_CHANNEL = "quiz:job:events";
 
-        redisTemplate.opsForValue().set(key, data, Duration.ofMinutes(JOB_TTL));
+    private static final String MODE_SAVE = "save";
+    private static final String MODE_UPDATE = "update";
+    private static final String MODE_PARTIAL = "partial";
+
+    // findAllById에서 읽는 상태 필드 (READ_SCRIPT와 같은 순서)
+    private static final List<Object> STATUS_FIELDS = List.of("status", "message", "queuePosition", "progress", "version");
+
+    // 스크립트 인자 : 결과(byte[])는 그대로, 나머지는 UTF-8 문자열
+    private static final RedisElementWriter<Object> ARGS_WRITER = RedisElementWriter.from(new RedisSerializer<>() {
+        @Override
+        public byte[] serialize(Object value) {
+            return value instanceof byte[] bytes ? bytes : String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public Object deserialize(byte[] bytes) {
+            return bytes;
+        }
+    });
+    private static final RedisElementReader<Long> VERSION_READER = RedisElementReader.from(new GenericToStringSerializer<>(Long.class));
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final RedisElementReader<List> FIELDS_READER = (RedisElementReader) RedisElementReader.from(RedisSerializer.byteArray());
+
+    /**
+     * KEYS[1] 상태 HASH, KEYS[2] 결과
+     * ARGV : mode, 기대 version('' = 무관), ttl(ms), status, message, queuePosition, progress, result, updatedAt ('' = 없음)
+     * 반영하면 새 version, 반영하지 않으면 0
+     * TTL은 남은 시간이 더 길면 그대로 유지 (배치 작업 등 길게 보관하는 기록)
+     */
+    private static final RedisScript<Long> WRITE_SCRIPT = new DefaultRedisScript<>("""
+            local current = redis.call('HMGET', KEYS[1], 'status', 'version', 'progress')
+            if ARGV[1] ~= 'save' and not current[1] then
+                return 0
+            end
+            if current[1] == 'COMPLETED' or current[1] == 'FAILED' then
+                return 0
+            end
+            if ARGV[2] ~= '' and ARGV[2] ~= (current[2] or '0') then
+                return 0
+            end
+            if ARGV[1] == 'partial' and tonumber(ARGV[7]) <= tonumber(current[3] or '0') then
+                return 0
+            end
+
+            local version = tonumber(current[2] or '0') + 1
+            local ttl = math.max(tonumber(ARGV[3]), redis.call('PTTL', KEYS[1]))
+            redis.call('DEL', KEYS[1])
+            redis.call('HSET', KEYS[1], 'status', ARGV[4], 'version', version, 'updatedAt', ARGV[9])
+            if ARGV[5] ~= '' then
+                redis.call('HSET', KEYS[1], 'message', ARGV[5])
+            end
+            if ARGV[6] ~= '' then
+                redis.call('HSET', KEYS[1], 'queuePosition', ARGV[6])
+            end
+            if ARGV[7] ~= '' then
+                redis.call('HSET', KEYS[1], 'progress', ARGV[7])
+            end
+            redis.call('PEXPIRE', KEYS[1], ttl)
+            if ARGV[8] ~= '' then
+                redis.call('SET', KEYS[2], ARGV[8], 'PX', ttl)
+            else
+                redis.call('DEL', KEYS[2])
+            end
+            return version
+            """, Long.class);
+
+    /**
+     * KEYS[1] 상태 HASH, KEYS[2] 결과 / ARGV[1] '1'이면 결과 포함
+     * 반환 : {status, message, queuePosition, progress, version, result} (없는 작업이면 빈 목록)
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> READ_SCRIPT = new DefaultRedisScript<>("""
+            local fields = redis.call('HMGET', KEYS[1], 'status', 'message', 'queuePosition', 'progress', 'version')
+            if not fields[1] then
+                return {}
+            end
+            local result = false
+            if ARGV[1] == '1' and (fields[1] == 'COMPLETED' or fields[1] == 'PARTIAL') then
+                result = redis.call('GET', KEYS[2])
+            end
+            return {fields[1], fields[2], fields[3], fields[4], fields[5], result}
+            """, List.class);
+
+    // 저장 (Create / Update). 반영된 version을 반환 (이미 끝난 작업이면 0)
+    public Mono<Long> save(String jobId, QuizResponseDto data) {
+        return save(jobId, data, Duration.ofMinutes(JOB_TTL));
+    }
+
+    // 결과가 늦게 나오는 작업(배치 등)은 더 길게 보관
+    public Mono<Long> save(String jobId, QuizResponseDto data, Duration ttl) {
+        return write(jobId, MODE_SAVE, null, ttl, data.getStatus(), data.getMessage(), data.getQueuePosition(),
+                data.getProgress() != null ? data.getProgress() : progressOf(data.getResult()), data.getResult());
+    }
+
+    // 조회 (Read). 없거나 만료된 작업이면 빈 Mono
+    public Mono<QuizResponseDto> findById(String jobId) {
+        return findById(jobId, true);
+    }
+
+    /**
+     * @param includeResult false면 상태 필드만 조회 (결과 본문은 읽지 않음)
+     */
+    @SuppressWarnings("unchecked")
+    public Mono<QuizResponseDto> findById(String jobId, boolean includeResult) {
+        // 결과는 인코딩된 바이트 그대로 받아야 하므로 모든 요소를 byte[]로 받음
+        return reactiveStringRedisTemplate.execute(READ_SCRIPT, keys(jobId), List.of(includeResult ? "1" : "0"),
+                        ARGS_WRITER, FIELDS_READER)
+                .collectList()
+                .flatMap(reply -> {
+                    List<Object> fields = elements((List<Object>) (List<?>) reply);
+                    if (fields.isEmpty() || fields.get(0) == null) {
+                        return Mono.empty();
+                    }
+                    return Mono.just(toStatus(jobId, fields, fields.size() > 5 && fields.get(5) instanceof byte[] bytes ? bytes : null));
+                });
+    }
+
+    /**
+     * 여러 작업을 한 번에 조회합니다. 상태 필드는 작업마다 HMGET, 결과는 필요한 작업만 GET을 응답을 기다리지 않고 보냅니다.
+     * 상태와 결과를 따로 읽으므로 그 사이에 진행된 부분 결과가 함께 반환될 수 있습니다. (version은 상태 필드 기준)
+     * @return jobId별 상태 (없거나 만료된 작업은 빠짐)
+     */
+    public Mono<Map<String, QuizResponseDto>> findAllById(List<String> jobIds, boolean includeResult) {
+        return Flux.fromIterable(jobIds)
+                .flatMapSequential(jobId -> reactiveStringRedisTemplate.opsForHash().multiGet(keys(jobId).get(0), STATUS_FIELDS)
+                        .filter(fields -> fields.get(0) != null)
+                        .map(fields -> toStatus(jobId, fields, null)))
+                .flatMapSequential(status -> includeResult && hasResult(status.getStatus())
+                        ? readResultBytes(status.getJobId())
+                                .doOnNext(bytes -> status.setResult(readResult(status.getJobId(), bytes)))
+                                .thenReturn(status)
+                        : Mono.just(status))
+                .collectMap(QuizResponseDto::getJobId, status -> status, LinkedHashMap::new);
+    }
+
+    // 업데이트 (Update). 없는 작업이거나 이미 끝난 작업이면 false
+    public Mono<Boolean> update(String jobId, QuizResponseDto.JobStatus status, String message, QuizResultDto result) {
+        return write(jobId, MODE_UPDATE, null, Duration.ofMinutes(JOB_TTL), status, message, null, progressOf(result), result)
+                .map(version -> version > 0);
+    }
+
+    /**
+     * 마지막으로 확인한 version 그대로일 때만 업데이트합니다. (그사이 다른 쓰기가 있었으면 false)
+     */
+    public Mono<Boolean> compareAndUpdate(String jobId, long expectedVersion, QuizResponseDto.JobStatus status, String message, QuizResultDto result) {
+        return compareAndUpdate(jobId, expectedVersion, status, message, null, result);
     }
 
-    // 조회 (Read)
-    public QuizResponseDto findById(String jobId) {
-        String key = "quiz:job:" + jobId;
+    /**
+     * 대기 순번을 함께 기록합니다. (순번이 없는 쓰기는 순번을 지움)
+     */
+    public Mono<Boolean> compareAndUpdate(String jobId, long expectedVersion, QuizResponseDto.JobStatus status, String message,
+                                          Integer queuePosition, QuizResultDto result) {
+        return write(jobId, MODE_UPDATE, expectedVersion, Duration.ofMinutes(JOB_TTL), status, message, queuePosition, progressOf(result), result)
+                .map(version -> version > 0);
+    }
 
-        return (QuizResponseDto) redisTemplate.opsForValue().get(key);
+    // 부분 결과 (스트리밍 생성 중). 이미 끝난 작업이나 더 많이 진행된 작업은 덮어쓰지 않음
+    public Mono<Boolean> updatePartial(String jobId, QuizResultDto partialResult) {
+        int progress = partialResult.getQuestions().size();
+        String message = String.format("문제 %d개가 생성되었습니다. 나머지를 생성하는 중입니다.", progress);
+        return write(jobId, MODE_PARTIAL, null, Duration.ofMinutes(JOB_TTL), QuizResponseDto.JobStatus.PARTIAL, message, null, progress, partialResult)
+                .map(version -> version > 0);
     }
 
-    // 업데이트 (Update)
-    public void update(String jobId, QuizResponseDto.JobStatus status, String message, QuizResultDto result) {
-        String key = "quiz:job:" + jobId;
+    private Mono<Long> write(String jobId, String mode, Long expectedVersion, Duration ttl, QuizResponseDto.JobStatus status,
+                             String message, Integer queuePosition, Integer progress, QuizResultDto result) {
+        return Mono.defer(() -> reactiveStringRedisTemplate.execute(WRITE_SCRIPT, keys(jobId), List.of(
+                                mode,
+                                expectedVersion == null ? "" : String.valueOf(expectedVersion),
+                                String.valueOf(ttl.toMillis()),
+                                status.name(),
+                                message == null ? "" : message,
+                                queuePosition == null ? "" : String.valueOf(queuePosition),
+                                progress == null ? "" : String.valueOf(progress),
+                                writeResult(result),
+                                String.valueOf(System.currentTimeMillis())),
+                        ARGS_WRITER, VERSION_READER)
+                .next())
+                .defaultIfEmpty(0L)
+                .flatMap(version -> {
+                    if (version == 0) {
+                        log.debug(">>>>> [Job: {}] 상태 쓰기 생략 ({} → {})", jobId, mode, status);
+                        return Mono.just(0L);
+                    }
 
-        QuizResponseDto existingData = (QuizResponseDto) redisTemplate.opsForValue().get(key);
-        if (existingData != null) {
-            existingData.setStatus(status);
-            existingData.setMessage(message);
-            existingData.setResult(result);
+                    return publish(JobStatusEvent.builder()
+                            .jobId(jobId)
+                            .status(status)
+                            .message(message)
+                            .progress(progress)
+                            .version(version)
+                            .publishedAt(System.currentTimeMillis())
+                            .build())
+                            .thenReturn(version);
+                });
+    }
 
-            redisTemplate.opsForValue().set(key, existingData, Duration.ofMinutes(JOB_TTL));
+    private QuizResponseDto toStatus(String jobId, List<?> fields, byte[] result) {
+        String version = text(fields.get(4));
+        return QuizResponseDto.builder()
+                .jobId(jobId)
+                .status(QuizResponseDto.JobStatus.valueOf(text(fields.get(0))))
+                .message(text(fields.get(1)))
+                .queuePosition(toInteger(text(fields.get(2))))
+                .progress(toInteger(text(fields.get(3))))
+                .version(version == null ? null : Long.valueOf(version))
+                .result(readResult(jobId, result))
+                .build();
+    }
+
+    private Mono<byte[]> readResultBytes(String jobId) {
+        ByteBuffer key = ByteBuffer.wrap(bytes(keys(jobId).get(1)));
+        return reactiveStringRedisTemplate.execute(connection -> connection.stringCommands().get(key.duplicate()))
+                .next()
+                .map(ByteUtils::getBytes);
+    }
+
+    private Object writeResult(QuizResultDto result) {
+        return result == null ? "" : payloadCodec.encode(result);
+    }
+
+    private QuizResultDto readResult(String jobId, byte[] value) {
+        try {
+            return payloadCodec.decode(value, QuizResultDto.class);
+        } catch (SerializationException e) {
+            log.warn(">>>>> [Job: {}] 퀴즈 결과 역직렬화 실패: {}", jobId, e.getMessage());
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Mono<Void> publish(JobStatusEvent event) {
+        byte[] message = ((RedisSerializer<Object>) redisTemplate.getValueSerializer()).serialize(event);
+        return reactiveStringRedisTemplate.convertAndSend(JOB_EVENT_CHANNEL, new String(message, StandardCharsets.UTF_8))
+                .then();
+    }
+
+    // 스크립트의 배열 응답은 요소별로 전달되고 nil은 Optional.empty()로 바뀜 (드라이버에 따라 목록 1개로 올 수도 있음)
+    private static List<Object> elements(List<Object> reply) {
+        List<?> source = reply.size() == 1 && reply.get(0) instanceof List<?> nested ? nested : reply;
+        List<Object> fields = new ArrayList<>(source.size());
+        for (Object value : source) {
+            fields.add(value instanceof Optional<?> optional ? optional.orElse(null) : value);
         }
+        return fields;
+    }
+
+    private static List<String> keys(String jobId) {
+        String key = "quiz:job:{" + jobId + "}";
+        return List.of(key, key + ":result");
+    }
+
+    private static Integer progressOf(QuizResultDto result) {
+        return result != null && result.getQuestions() != null ? result.getQuestions().size() : null;
+    }
+
+    // 결과를 함께 읽는 상태 (READ_SCRIPT와 같은 조건)
+    private static boolean hasResult(QuizResponseDto.JobStatus status) {
+        return status == QuizResponseDto.JobStatus.COMPLETED || status == QuizResponseDto.JobStatus.PARTIAL;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(Object value) {
+        if (value instanceof byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value instanceof String string ? string : null;
+    }
+
+    private static Integer toInteger(String value) {
+        return value == null ? null : Integer.valueOf(value);
     }
 }
@@ -0,0 +1,12 @@
+package com.ondongne.backend.domain.quiz.repository;
+
+import com.ondongne.backend.domain.quiz.entity.Question;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface QuestionRepository extends JpaRepository<Question, Question.Key> {
+
+    // PK(quiz_id, seq) 범위 읽기
+    List<Question> findByQuizIdOrderBySeqAsc(Long quizId);
+}
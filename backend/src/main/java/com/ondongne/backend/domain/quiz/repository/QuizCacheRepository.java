@@ -0,0 +1,122 @@
+package com.ondongne.backend.domain.quiz.repository;
+
+import com.ondongne.backend.domain.quiz.dto.QuizResultDto;
+import com.ondongne.backend.global.codec.PayloadCodec;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 완성된 퀴즈 결과 캐시 (sourceKey + quizCount 기준)
+ * - TTL : 설정값(app.cache.quiz.ttl-minutes) 이후 자동 만료
+ * - LRU : 최근 조회 시각을 ZSET에 기록하고, 최대 개수를 넘으면 가장 오래 조회되지 않은 항목부터 제거
+ * - 원본별 인덱스 : 원본 내용이 바뀌면 문제 수와 관계없이 해당 원본의 결과를 모두 제거
+ * - 값 : PayloadCodec으로 인코딩 (읽지 못하는 값은 없는 것으로 보고 제거)
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class QuizCacheRepository {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisTemplate<String, byte[]> binaryRedisTemplate;
+    private final PayloadCodec payloadCodec;
+
+    @Value("${app.cache.quiz.ttl-minutes}")
+    private long ttlMinutes;
+
+    @Value("${app.cache.quiz.max-entries}")
+    private long maxEntries;
+
+    private static final String KEY_PREFIX = "quiz:cache:";
+    private static final String LRU_INDEX_KEY = "quiz:cache:lru";
+    private static final String SOURCE_INDEX_PREFIX = "quiz:cache:source:";
+
+    // 조회 (Read)
+    public QuizResultDto find(String sourceKey, int quizCount) {
+        String key = cacheKey(sourceKey, quizCount);
+
+        QuizResultDto result = decode(key, binaryRedisTemplate.opsForValue().get(key));
+        if (result == null) {
+            redisTemplate.opsForZSet().remove(LRU_INDEX_KEY, key);
+            return null;
+        }
+
+        // 조회 시각 갱신 (LRU)
+        redisTemplate.opsForZSet().add(LRU_INDEX_KEY, key, System.currentTimeMillis());
+        return result;
+    }
+
+    // 저장 (Create / Update)
+    public void save(String sourceKey, int quizCount, QuizResultDto result) {
+        String key = cacheKey(sourceKey, quizCount);
+        long now = System.currentTimeMillis();
+        Duration ttl = Duration.ofMinutes(ttlMinutes);
+
+        binaryRedisTemplate.opsForValue().set(key, payloadCodec.encode(result), ttl);
+
+        String sourceIndexKey = SOURCE_INDEX_PREFIX + sourceKey;
+        redisTemplate.opsForSet().add(sourceIndexKey, key);
+        redisTemplate.expire(sourceIndexKey, ttl);
+
+        ZSetOperations<String, Object> lruIndex = redisTemplate.opsForZSet();
+        lruIndex.add(LRU_INDEX_KEY, key, now);
+        // TTL로 이미 만료된 항목은 인덱스에서도 정리
+        lruIndex.removeRangeByScore(LRU_INDEX_KEY, 0, now - ttl.toMillis());
+
+        evictOverflow(lruIndex);
+    }
+
+    // 원본 내용이 바뀌었을 때 해당 원본으로 만든 결과 전체 삭제
+    public void evictSource(String sourceKey) {
+        String sourceIndexKey = SOURCE_INDEX_PREFIX + sourceKey;
+        Set<Object> members = redisTemplate.opsForSet().members(sourceIndexKey);
+        if (members == null || members.isEmpty()) {
+            return;
+        }
+
+        List<String> keys = members.stream().map(String::valueOf).toList();
+        redisTemplate.delete(keys);
+        redisTemplate.opsForZSet().remove(LRU_INDEX_KEY, keys.toArray());
+        redisTemplate.delete(sourceIndexKey);
+    }
+
+    private QuizResultDto decode(String key, byte[] value) {
+        try {
+            return payloadCodec.decode(value, QuizResultDto.class);
+        } catch (SerializationException e) {
+            log.warn(">>>>> 퀴즈 캐시 값을 읽을 수 없어 제거합니다. ({}): {}", key, e.getMessage());
+            binaryRedisTemplate.delete(key);
+            return null;
+        }
+    }
+
+    private void evictOverflow(ZSetOperations<String, Object> lruIndex) {
+        Long size = lruIndex.size(LRU_INDEX_KEY);
+        if (size == null || size <= maxEntries) {
+            return;
+        }
+
+        Set<ZSetOperations.TypedTuple<Object>> evicted = lruIndex.popMin(LRU_INDEX_KEY, size - maxEntries);
+        if (evicted == null || evicted.isEmpty()) {
+            return;
+        }
+
+        List<String> evictedKeys = evicted.stream()
+                .map(tuple -> String.valueOf(tuple.getValue()))
+                .toList();
+        redisTemplate.delete(evictedKeys);
+    }
+
+    private String cacheKey(String sourceKey, int quizCount) {
+        return KEY_PREFIX + sourceKey + ":" + quizCount;
+    }
+}
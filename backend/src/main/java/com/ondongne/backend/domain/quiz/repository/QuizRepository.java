@@ -0,0 +1,25 @@
+package com.ondongne.backend.domain.quiz.repository;
+
+import com.ondongne.backend.domain.quiz.entity.Quiz;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface QuizRepository extends JpaRepository<Quiz, Long> {
+
+    // 보관함 목록 (keyset : 마지막으로 받은 id보다 작은 것부터, 최신순)
+    List<Quiz> findByIdLessThanOrderByIdDesc(Long cursor, Limit limit);
+
+    // 원본 + 문제 수로 재사용 가능한 최신 퀴즈 id (idx_quiz_source만 읽음)
+    @Query("select q.id from Quiz q where q.sourceHash = :sourceHash and q.quizCount = :quizCount and q.stale = false order by q.id desc")
+    List<Long> findLatestIds(@Param("sourceHash") byte[] sourceHash, @Param("quizCount") int quizCount, Limit limit);
+
+    // 원본 내용이 바뀌었을 때 해당 원본의 퀴즈를 재사용 대상에서 제외
+    @Modifying
+    @Query("update Quiz q set q.stale = true where q.sourceHash = :sourceHash and q.stale = false")
+    int markStale(@Param("sourceHash") byte[] sourceHash);
+}
@@ -0,0 +1,89 @@
+package com.ondongne.backend.domain.quiz.service;
+
+import com.ondongne.backend.domain.quiz.dto.JobStatusEvent;
+import com.ondongne.backend.domain.quiz.repository.JobRedisRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Redis Pub/Sub으로 들어오는 작업 상태 변경 알림을 jobId별 구독자에게 전달합니다.
+ * 작업이 다른 노드에서 실행되더라도, 연결을 가진 노드의 구독자가 알림을 받을 수 있습니다.
+ * 구독자에게 전달하기 전에 이 노드의 작업 상태 캐시(JobStatusCache)를 먼저 무효화합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JobEventSubscriber implements MessageListener {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final JobStatusCache jobStatusCache;
+
+    // 구독자가 있는 jobId만 보관 (마지막 구독자가 떠나면 제거)
+    private final Map<String, JobChannel> channels = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(JobRedisRepository.JOB_EVENT_CHANNEL));
+    }
+
+    /**
+     * 해당 job의 상태 변경 알림 스트림
+     * 느린 구독자는 최신 알림 1개만 유지하므로 연결당 메모리 사용량이 일정합니다.
+     */
+    public Flux<JobStatusEvent> listen(String jobId) {
+        return Flux.defer(() -> {
+            JobChannel channel = channels.compute(jobId, (id, existing) -> {
+                JobChannel target = existing != null ? existing : new JobChannel();
+                target.subscribers++;
+                return target;
+            });
+
+            return channel.sink.asFlux()
+                    .onBackpressureLatest()
+                    .doFinally(signalType -> channels.computeIfPresent(jobId, (id, existing) ->
+                            --existing.subscribers == 0 ? null : existing));
+        });
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object payload;
+        try {
+            payload = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        } catch (Exception e) {
+            log.warn(">>>>> 작업 상태 알림 역직렬화 실패: {}", e.getMessage());
+            return;
+        }
+
+        if (!(payload instanceof JobStatusEvent event)) {
+            return;
+        }
+
+        jobStatusCache.invalidate(event);
+
+        JobChannel channel = channels.get(event.getJobId());
+        if (channel != null) {
+            channel.sink.emitNext(event, Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(100)));
+        }
+    }
+
+    private static class JobChannel {
+        // 버퍼 없이 현재 구독자에게만 전달 (늦은 구독자는 저장소에서 현재 상태를 조회)
+        private final Sinks.Many<JobStatusEvent> sink = Sinks.many().multicast().directBestEffort();
+        private int subscribers;
+    }
+}
@@ -0,0 +1,307 @@
+package com.ondongne.backend.domain.quiz.service;
+
+import com.ondongne.backend.domain.quiz.repository.JobQueueRepository;
+import com.ondongne.backend.domain.quiz.repository.JobQueueRepository.QueuedJob;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 작업 대기열(JobQueueRepository) 소비자
+ * - 컨슈머 그룹으로 읽으므로 노드(pod)를 늘리면 처리량이 늘어나고, 한 항목은 한 노드만 실행
+ * - 노드마다 concurrency개까지만 가져오고, 완료/실패 기록까지 끝나야 확인 응답
+ * - 처리 중인 항목은 heartbeat로 유휴 시간을 되돌리고(동일 요청 leader 표식도 연장), 멈춘 항목(죽은 노드)은 claim-idle 후 다른 노드가 회수
+ * - 전달 횟수가 max-deliveries를 넘은 항목은 dead-letter로 옮기고 작업을 실패 처리
+ * - 종료 시 새 항목은 가져오지 않고, 처리 중인 작업이 끝날 때까지 drain-timeout만큼 기다림 (남은 항목은 다른 노드가 회수)
+ * 대기열 읽기/회수/heartbeat는 전용 스레드 하나에서 처리하고, 작업 자체는 JobScheduler의 파이프라인에서 실행됩니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JobQueueWorker implements SmartLifecycle {
+
+    @Value("${app.quiz.queue.worker.enabled}")
+    private boolean enabled;
+
+    @Value("${app.quiz.queue.worker.concurrency}")
+    private int concurrency;
+
+    @Value("${app.quiz.queue.worker.poll-timeout-millis}")
+    private long pollTimeoutMillis;
+
+    @Value("${app.quiz.queue.worker.heartbeat-interval-millis}")
+    private long heartbeatIntervalMillis;
+
+    @Value("${app.quiz.queue.worker.claim-idle-millis}")
+    private long claimIdleMillis;
+
+    @Value("${app.quiz.queue.worker.reclaim-interval-millis}")
+    private long reclaimIntervalMillis;
+
+    @Value("${app.quiz.queue.worker.max-deliveries}")
+    private int maxDeliveries;
+
+    @Value("${app.quiz.queue.worker.drain-timeout-seconds}")
+    private long drainTimeoutSeconds;
+
+    private final JobQueueRepository jobQueueRepository;
+    private final QuizService quizService;
+    private final MeterRegistry meterRegistry;
+
+    // 노드마다(재시작마다) 다른 이름. 죽은 노드의 항목은 이름과 무관하게 유휴 시간으로 회수
+    private final String consumerName = System.getenv().getOrDefault("HOSTNAME", "node")
+            + "-" + UUID.randomUUID().toString().substring(0, 8);
+
+    // 이 노드가 실행 중인 항목 (heartbeat 대상)
+    private final Map<RecordId, QueuedJob> inflight = new ConcurrentHashMap<>();
+
+    private final Object slots = new Object();
+    private int active; // slots로 보호
+
+    private volatile boolean running;
+    private volatile boolean accepting;
+    private Thread poller;
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            log.info(">>>>> 작업 대기열 워커 비활성화 (이 노드는 요청 접수만 처리)");
+            return;
+        }
+        if (heartbeatIntervalMillis * 2 > claimIdleMillis) {
+            throw new IllegalStateException("heartbeat-interval-millis는 claim-idle-millis의 절반 이하여야 합니다.");
+        }
+
+        jobQueueRepository.createGroups();
+        meterRegistry.gaugeMapSize("quiz.queue.worker.active", List.of(), inflight);
+
+        running = true;
+        accepting = true;
+        poller = new Thread(this::poll, "quiz-queue-worker");
+        poller.setDaemon(true);
+        poller.start();
+        log.info(">>>>> 작업 대기열 워커 시작 (consumer: {}, 동시 실행: {})", consumerName, concurrency);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+
+        // 새 항목은 더 가져오지 않고, 처리 중인 작업은 heartbeat를 계속 보내며 끝날 때까지 기다림
+        accepting = false;
+        log.info(">>>>> 작업 대기열 워커 종료 중... (처리 중 {}개, 최대 {}초 대기)", inflight.size(), drainTimeoutSeconds);
+
+        boolean drained = false;
+        try {
+            drained = awaitIdle(Duration.ofSeconds(drainTimeoutSeconds).toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        running = false;
+        synchronized (slots) {
+            slots.notifyAll();
+        }
+        try {
+            poller.join(pollTimeoutMillis * 2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (!drained) {
+            log.warn(">>>>> 작업 대기열 워커 종료: 끝나지 않은 작업 {}개는 다른 노드가 회수합니다.", inflight.size());
+            return;
+        }
+        try {
+            jobQueueRepository.removeConsumerIfIdle(consumerName);
+        } catch (Exception e) {
+            log.warn(">>>>> 대기열 consumer 정리 실패 (무시): {}", e.getMessage());
+        }
+        log.info(">>>>> 작업 대기열 워커 종료 완료");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void poll() {
+        long nextHeartbeat = 0;
+        long nextReclaim = 0;
+
+        while (running) {
+            try {
+                long now = System.currentTimeMillis();
+                if (now >= nextHeartbeat) {
+                    heartbeat();
+                    nextHeartbeat = now + heartbeatIntervalMillis;
+                }
+                if (!accepting) {
+                    pause(Math.max(1, nextHeartbeat - now));
+                    continue;
+                }
+
+                int free = awaitFreeSlots();
+                if (free == 0) {
+                    continue;
+                }
+
+                List<QueuedJob> jobs = List.of();
+                if (now >= nextReclaim) {
+                    jobs = reclaim(free);
+                    nextReclaim = now + reclaimIntervalMillis;
+                }
+                if (jobs.isEmpty()) {
+                    jobs = jobQueueRepository.read(consumerName, free, Duration.ofMillis(pollTimeoutMillis));
+                }
+                jobs.forEach(this::dispatch);
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                log.warn(">>>>> 작업 대기열 읽기 실패: {}", e.getMessage());
+                if (String.valueOf(e.getMessage()).contains("NOGROUP")) {
+                    // 대기열 키가 지워졌다면(FLUSH 등) 그룹부터 다시 만듦
+                    recreateGroups();
+                }
+                try {
+                    pause(pollTimeoutMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void dispatch(QueuedJob job) {
+        synchronized (slots) {
+            active++;
+        }
+        inflight.put(job.id(), job);
+
+        String jobId = job.message().getJobId();
+        String priority = job.message().getPriority().name().toLowerCase(Locale.ROOT);
+        if (job.deliveries() == 1 && job.id().getTimestamp() != null) {
+            // 항목 ID의 시각은 Redis 서버 시각 (노드 간 시계 차이만큼 오차)
+            meterRegistry.timer("quiz.queue.wait", "priority", priority)
+                    .record(Duration.ofMillis(Math.max(0, System.currentTimeMillis() - job.id().getTimestamp())));
+        }
+
+        Mono.defer(() -> quizService.runQueuedJob(job.message()))
+                .then(jobQueueRepository.ack(job))
+                .doFinally(signalType -> {
+                    inflight.remove(job.id());
+                    releaseSlot();
+                })
+                .subscribe(null, error -> log.error(">>>>> [Job: {}] 대기열 작업 처리 실패, 확인 응답하지 않음 (유휴 시간이 지나면 다시 실행): {}",
+                        jobId, error.getMessage()));
+    }
+
+    private List<QueuedJob> reclaim(int free) {
+        List<QueuedJob> runnable = new ArrayList<>();
+        for (QueuedJob job : jobQueueRepository.claimStale(consumerName, Duration.ofMillis(claimIdleMillis), free)) {
+            String jobId = job.message().getJobId();
+            meterRegistry.counter("quiz.queue.reclaimed").increment();
+
+            if (job.deliveries() > maxDeliveries) {
+                log.error(">>>>> [Job: {}] 처리 시도 {}회 초과, dead-letter로 이동", jobId, maxDeliveries);
+                quizService.abandonQueuedJob(job.message())
+                        .onErrorResume(e -> {
+                            log.warn(">>>>> [Job: {}] 실패 기록 실패 (무시): {}", jobId, e.getMessage());
+                            return Mono.empty();
+                        })
+                        .block();
+                jobQueueRepository.deadLetter(job, "max-deliveries");
+                meterRegistry.counter("quiz.queue.dead-lettered").increment();
+                continue;
+            }
+
+            log.warn(">>>>> [Job: {}] 응답 없는 노드의 작업 회수 ({}번째 시도)", jobId, job.deliveries());
+            runnable.add(job);
+        }
+        return runnable;
+    }
+
+    private void heartbeat() {
+        if (inflight.isEmpty()) {
+            return;
+        }
+        try {
+            jobQueueRepository.heartbeat(consumerName, inflight.values());
+        } catch (Exception e) {
+            log.warn(">>>>> 대기열 heartbeat 실패: {}", e.getMessage());
+        }
+        try {
+            quizService.renewInflightLeases(inflight.values().stream().map(QueuedJob::message).toList());
+        } catch (Exception e) {
+            log.warn(">>>>> 동일 요청 임대 연장 실패: {}", e.getMessage());
+        }
+    }
+
+    private void recreateGroups() {
+        try {
+            jobQueueRepository.createGroups();
+        } catch (Exception e) {
+            log.warn(">>>>> 대기열 그룹 생성 실패: {}", e.getMessage());
+        }
+    }
+
+    // 빈 자리가 없으면 poll-timeout만큼 기다린 뒤 빈 자리 수 반환
+    private int awaitFreeSlots() throws InterruptedException {
+        synchronized (slots) {
+            if (active >= concurrency) {
+                slots.wait(pollTimeoutMillis);
+            }
+            return Math.max(0, concurrency - active);
+        }
+    }
+
+    private void releaseSlot() {
+        synchronized (slots) {
+            active--;
+            slots.notifyAll();
+        }
+    }
+
+    private boolean awaitIdle(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (slots) {
+            while (active > 0) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                slots.wait(remaining);
+            }
+            return true;
+        }
+    }
+
+    private void pause(long millis) throws InterruptedException {
+        synchronized (slots) {
+            if (running) {
+                slots.wait(millis);
+            }
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.ondongne.backend.domain.quiz.service;
+
+import com.ondongne.backend.domain.quiz.dto.JobStatusEvent;
+import com.ondongne.backend.domain.quiz.dto.QuizResponseDto;
+import com.ondongne.backend.domain.quiz.dto.QuizResultDto;
+import com.ondongne.backend.domain.quiz.repository.JobRedisRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 작업 상태 조회용 노드 로컬 캐시 (JobRedisRepository.findById 앞단)
+ * 작업 상태는 수명 동안 몇 번만 바뀌므로, 폴링 요청은 대부분 Redis 왕복 없이 처리합니다.
+ * - 무효화 : 상태 변경 알림(Pub/Sub, JobEventSubscriber)을 받으면 더 오래된 version의 항목을 제거
+ * - TTL : 진행 중 상태는 짧게(알림 유실 대비), 완료/실패 상태는 더 바뀌지 않으므로 길게
+ * - 크기 : 항목 수와 바이트 예산을 넘으면 가장 오래 조회되지 않은 항목부터 제거 (접근 순서 LRU)
+ * 조회 중에 알림이 도착하면 자리표시 항목에 알림의 version을 남겨, 늦게 끝난 조회가 이전 상태를 캐시하지 않도록 합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class JobStatusCache {
+
+    private final JobRedisRepository jobRedisRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.quiz.status-cache.enabled}")
+    private boolean enabled;
+
+    @Value("${app.quiz.status-cache.max-entries}")
+    private int maxEntries;
+
+    @Value("${app.quiz.status-cache.max-bytes}")
+    private long maxBytes;
+
+    @Value("${app.quiz.status-cache.active-ttl-millis}")
+    private long activeTtlMillis;
+
+    @Value("${app.quiz.status-cache.terminal-ttl-millis}")
+    private long terminalTtlMillis;
+
+    // 상태 필드만 있는 항목의 대략적인 크기
+    private static final long BASE_BYTES = 160;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("job.status.cache.size", this, JobStatusCache::size)
+                .register(meterRegistry);
+        Gauge.builder("job.status.cache.bytes", this, JobStatusCache::bytes)
+                .register(meterRegistry);
+        Gauge.builder("job.status.cache.hit.ratio", this, JobStatusCache::hitRatio)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param includeResult false면 상태 필드만 필요 (결과가 있는 항목이어도 결과를 빼고 반환)
+     */
+    public Mono<QuizResponseDto> find(String jobId, boolean includeResult) {
+        if (!enabled) {
+            return jobRedisRepository.findById(jobId, includeResult);
+        }
+
+        return Mono.defer(() -> {
+            QuizResponseDto cached = lookup(jobId, includeResult);
+            if (cached != null) {
+                meterRegistry.counter("job.status.cache.requests", "result", "hit").increment();
+                return Mono.just(cached);
+            }
+
+            meterRegistry.counter("job.status.cache.requests", "result", "miss").increment();
+            return jobRedisRepository.findById(jobId, includeResult)
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .mapNotNull(loaded -> store(jobId, loaded.orElse(null), includeResult));
+        });
+    }
+
+    /**
+     * 여러 작업 조회. 캐시에 없는 작업만 저장소에서 한 번에(파이프라인) 읽습니다.
+     * @return jobId별 상태 (없거나 만료된 작업은 빠짐)
+     */
+    public Mono<Map<String, QuizResponseDto>> findAll(List<String> jobIds, boolean includeResult) {
+        if (!enabled) {
+            return jobRedisRepository.findAllById(jobIds, includeResult);
+        }
+
+        return Mono.defer(() -> {
+            Map<String, QuizResponseDto> found = new LinkedHashMap<>();
+            List<String> misses = new ArrayList<>();
+            for (String jobId : jobIds) {
+                QuizResponseDto cached = lookup(jobId, includeResult);
+                if (cached != null) {
+                    found.put(jobId, cached);
+                } else {
+                    misses.add(jobId);
+                }
+            }
+            meterRegistry.counter("job.status.cache.requests", "result", "hit").increment(found.size());
+            meterRegistry.counter("job.status.cache.requests", "result", "miss").increment(misses.size());
+
+            if (misses.isEmpty()) {
+                return Mono.just(found);
+            }
+            return jobRedisRepository.findAllById(misses, includeResult).map(loaded -> {
+                for (String jobId : misses) {
+                    QuizResponseDto status = store(jobId, loaded.get(jobId), includeResult);
+                    if (status != null) {
+                        found.put(jobId, status);
+                    }
+                }
+                return found;
+            });
+        });
+    }
+
+    /**
+     * 상태 변경 알림 반영. 캐시에 있거나 조회 중인 작업이고, 알림이 더 새로운 version이면 자리표시 항목으로 바꿉니다.
+     */
+    public synchronized void invalidate(JobStatusEvent event) {
+        if (!enabled || event.getVersion() == null) {
+            return;
+        }
+
+        meterRegistry.timer("job.status.cache.invalidation.lag")
+                .record(Duration.ofMillis(Math.max(0, System.currentTimeMillis() - event.getPublishedAt())));
+
+        Entry existing = entries.get(event.getJobId());
+        if (existing == null || existing.version >= event.getVersion()) {
+            return;
+        }
+
+        put(event.getJobId(), Entry.placeholder(event.getVersion(), System.currentTimeMillis() + activeTtlMillis));
+        meterRegistry.counter("job.status.cache.invalidations").increment();
+    }
+
+    private synchronized QuizResponseDto lookup(String jobId, boolean includeResult) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(jobId);
+
+        if (entry != null && entry.expiresAt <= now) {
+            remove(jobId);
+            meterRegistry.counter("job.status.cache.evictions", "cause", "expired").increment();
+            entry = null;
+        }
+        if (entry == null) {
+            // 조회하는 동안 도착한 알림을 기록할 자리
+            put(jobId, Entry.placeholder(0, now + activeTtlMillis));
+            return null;
+        }
+        if (entry.status == null || (includeResult && !entry.includesResult && hasResult(entry.status.getStatus()))) {
+            return null;
+        }
+        return view(entry.status, includeResult);
+    }
+
+    private synchronized QuizResponseDto store(String jobId, QuizResponseDto loaded, boolean includeResult) {
+        Entry existing = entries.get(jobId);
+        if (loaded == null) {
+            if (existing != null && existing.status == null) {
+                remove(jobId);
+            }
+            return null;
+        }
+
+        long version = loaded.getVersion() != null ? loaded.getVersion() : 0;
+        if (existing != null && existing.version > version) {
+            // 조회 중에 더 새로운 상태가 알려짐 (이번 결과는 반환만 하고 캐시하지 않음)
+            return loaded;
+        }
+
+        boolean terminal = loaded.getStatus() == QuizResponseDto.JobStatus.COMPLETED
+                || loaded.getStatus() == QuizResponseDto.JobStatus.FAILED;
+        long size = estimateBytes(loaded);
+        if (size > maxBytes) {
+            return loaded;
+        }
+
+        put(jobId, new Entry(loaded, includeResult, version,
+                System.currentTimeMillis() + (terminal ? terminalTtlMillis : activeTtlMillis), size));
+        return view(loaded, includeResult);
+    }
+
+    private void put(String jobId, Entry entry) {
+        Entry previous = entries.put(jobId, entry);
+        if (previous != null) {
+            totalBytes -= previous.bytes;
+        }
+        totalBytes += entry.bytes;
+
+        // 접근 순서 LRU: 앞쪽이 가장 오래 조회되지 않은 항목
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || totalBytes > maxBytes) && iterator.hasNext()) {
+            Map.Entry<String, Entry> eldest = iterator.next();
+            if (eldest.getKey().equals(jobId)) {
+                break;
+            }
+            totalBytes -= eldest.getValue().bytes;
+            iterator.remove();
+            meterRegistry.counter("job.status.cache.evictions", "cause", "size").increment();
+        }
+    }
+
+    private void remove(String jobId) {
+        Entry removed = entries.remove(jobId);
+        if (removed != null) {
+            totalBytes -= removed.bytes;
+        }
+    }
+
+    // 캐시된 객체를 호출 측이 바꾸지 않도록 복사본 반환
+    private static QuizResponseDto view(QuizResponseDto status, boolean includeResult) {
+        return QuizResponseDto.builder()
+                .jobId(status.getJobId())
+                .status(status.getStatus())
+                .result(includeResult ? status.getResult() : null)
+                .message(status.getMessage())
+                .queuePosition(status.getQueuePosition())
+                .progress(status.getProgress())
+                .version(status.getVersion())
+                .build();
+    }
+
+    // 저장소에서 결과를 함께 읽는 상태 (JobRedisRepository의 조회 스크립트와 같은 조건)
+    private static boolean hasResult(QuizResponseDto.JobStatus status) {
+        return status == QuizResponseDto.JobStatus.COMPLETED || status == QuizResponseDto.JobStatus.PARTIAL;
+    }
+
+    // 문자열 길이 기준 대략적인 힙 사용량 (UTF-16)
+    private static long estimateBytes(QuizResponseDto status) {
+        long bytes = BASE_BYTES + length(status.getMessage()) * 2L;
+        QuizResultDto result = status.getResult();
+        if (result == null || result.getQuestions() == null) {
+            return bytes;
+        }
+
+        bytes += length(result.getTitle()) * 2L;
+        for (QuizResultDto.QuestionDto question : result.getQuestions()) {
+            bytes += 64 + (length(question.getQuestion()) + length(question.getAnswer())
+                    + length(question.getExplanation()) + length(question.getCodeSnippet())) * 2L;
+            if (question.getOptions() != null) {
+                for (String option : question.getOptions()) {
+                    bytes += 16 + length(option) * 2L;
+                }
+            }
+        }
+        return bytes;
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    private synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized long bytes() {
+        return totalBytes;
+    }
+
+    private double hitRatio() {
+        double hits = meterRegistry.counter("job.status.cache.requests", "result", "hit").count();
+        double misses = meterRegistry.counter("job.status.cache.requests", "result", "miss").count();
+        return hits + misses == 0 ? 0 : hits / (hits + misses);
+    }
+
+    /**
+     * status가 null이면 자리표시 항목 (조회 중이거나 무효화된 작업, version은 알려진 최신 version)
+     */
+    private record Entry(QuizResponseDto status, boolean includesResult, long version, long expiresAt, long bytes) {
+
+        static Entry placeholder(long version, long expiresAt) {
+            return new Entry(null, false, version, expiresAt, BASE_BYTES);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.ondongne.backend.domain.quiz.service;
+
+import com.ondongne.backend.domain.quiz.dto.QuizResultDto;
+import com.ondongne.backend.domain.quiz.dto.QuizSource;
+import com.ondongne.backend.global.converter.StringListConverter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 완성된 퀴즈를 보관함(MySQL)에 나중에 모아서 저장합니다. (write-behind)
+ * - 완료 경로에서는 메모리 버퍼에 넣기만 하고 바로 돌아감 (락 없음, 파이프라인 스레드를 막지 않음)
+ * - 버퍼는 크기가 정해져 있어, 가득 차면 새 퀴즈는 저장하지 않고 버림 (결과는 Redis 캐시에 남아 있음)
+ * - 주기마다 batch-size개씩 한 트랜잭션에서 JDBC 배치 INSERT (퀴즈 → 생성된 id로 문제)
+ * - 저장에 실패한 퀴즈는 max-attempts까지 버퍼에 다시 넣고, 종료 시 남은 버퍼를 모두 저장
+ * - 데이터 문제(제약 위반, 길이 초과 등)로 배치가 실패하면 한 건씩 다시 저장해 문제 있는 퀴즈만 버림
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QuizArchiveWriter {
+
+    @Value("${app.quiz.archive.buffer-size}")
+    private int bufferSize;
+
+    @Value("${app.quiz.archive.batch-size}")
+    private int batchSize;
+
+    @Value("${app.quiz.archive.max-attempts}")
+    private int maxAttempts;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private static final String INSERT_QUIZ = """
+            INSERT INTO quiz (source_hash, source_key, source_type, url, quiz_count, title, stale, created_at)
+            VALUES (:sourceHash, :sourceKey, :sourceType, :url, :quizCount, :title, false, :createdAt)
+            """;
+
+    // quiz 테이블 컬럼 길이 (db/quiz-library.sql)
+    private static final int SOURCE_KEY_MAX_LENGTH = 512;
+    private static final int URL_MAX_LENGTH = 2048;
+    private static final int TITLE_MAX_LENGTH = 500;
+
+    private static final String INSERT_QUESTION = """
+            INSERT INTO question (quiz_id, seq, question, options, answer, explanation, code_snippet)
+            VALUES (:quizId, :seq, :question, :options, :answer, :explanation, :codeSnippet)
+            """;
+
+    private final StringListConverter optionsConverter = new StringListConverter();
+
+    private final Queue<PendingQuiz> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger buffered = new AtomicInteger();
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("quiz.archive.buffered", buffered, AtomicInteger::get)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 저장할 퀴즈를 버퍼에 넣습니다. (버퍼가 가득 찼으면 버림)
+     */
+    public void offer(String jobId, QuizSource source, int quizCount, QuizResultDto result) {
+        if (result == null || result.getQuestions() == null || result.getQuestions().isEmpty()) {
+            return;
+        }
+        // source_key는 재사용 조회에서 그대로 비교하므로 자르지 않고 저장하지 않음 (url, title은 저장 시 자름)
+        if (source.getSourceKey().length() > SOURCE_KEY_MAX_LENGTH || source.getUrl() == null) {
+            meterRegistry.counter("quiz.archive.dropped", "reason", "invalid").increment();
+            log.warn(">>>>> [Job: {}] 보관함에 저장할 수 없는 원본이라 저장 생략 ({})", jobId, source.getSourceKey());
+            return;
+        }
+        if (!enqueue(new PendingQuiz(source, quizCount, result, LocalDateTime.now(), 0))) {
+            log.warn(">>>>> [Job: {}] 보관함 저장 대기 버퍼가 가득 차 저장 생략", jobId);
+        }
+    }
+
+    /**
+     * 버퍼에 있는 퀴즈를 저장합니다. (이번 주기에 저장에 실패해 다시 넣은 퀴즈는 다음 주기에 저장)
+     */
+    @Scheduled(fixedDelayString = "${app.quiz.archive.flush-interval-ms}")
+    public void flush() {
+        int remaining = buffered.get();
+        while (remaining > 0) {
+            List<PendingQuiz> batch = drain(Math.min(batchSize, remaining));
+            if (batch.isEmpty()) {
+                return;
+            }
+            remaining -= batch.size();
+            write(batch);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+        if (buffered.get() > 0) {
+            log.warn(">>>>> 종료 시 보관함에 저장하지 못한 퀴즈 {}개", buffered.get());
+        }
+    }
+
+    private boolean enqueue(PendingQuiz quiz) {
+        if (buffered.incrementAndGet() > bufferSize) {
+            buffered.decrementAndGet();
+            meterRegistry.counter("quiz.archive.dropped", "reason", "buffer-full").increment();
+            return false;
+        }
+        buffer.add(quiz);
+        return true;
+    }
+
+    private List<PendingQuiz> drain(int count) {
+        List<PendingQuiz> batch = new ArrayList<>(count);
+        PendingQuiz quiz;
+        while (batch.size() < count && (quiz = buffer.poll()) != null) {
+            buffered.decrementAndGet();
+            batch.add(quiz);
+        }
+        return batch;
+    }
+
+    private void write(List<PendingQuiz> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(batch));
+            meterRegistry.counter("quiz.archive.written").increment(batch.size());
+            log.info(">>>>> 퀴즈 {}개 보관함 저장", batch.size());
+        } catch (NonTransientDataAccessException e) {
+            // 다시 시도해도 같은 결과이므로, 여러 건이면 한 건씩 나눠 저장하고 한 건이면 버림
+            if (batch.size() > 1) {
+                log.warn(">>>>> 퀴즈 보관함 배치 저장 실패 ({}개, 한 건씩 다시 저장): {}", batch.size(), e.getMessage());
+                batch.forEach(quiz -> write(List.of(quiz)));
+                return;
+            }
+            meterRegistry.counter("quiz.archive.dropped", "reason", "rejected").increment();
+            log.error(">>>>> 퀴즈 보관함 저장 거부 ({}): {}", batch.get(0).source().getSourceKey(), e.getMessage());
+        } catch (Exception e) {
+            log.error(">>>>> 퀴즈 보관함 저장 실패 ({}개): {}", batch.size(), e.getMessage());
+            for (PendingQuiz quiz : batch) {
+                if (quiz.attempts() + 1 >= maxAttempts) {
+                    meterRegistry.counter("quiz.archive.dropped", "reason", "failed").increment();
+                    continue;
+                }
+                enqueue(quiz.retry());
+            }
+        }
+    }
+
+    private void insert(List<PendingQuiz> batch) {
+        SqlParameterSource[] quizParams = batch.stream()
+                .map(quiz -> new MapSqlParameterSource()
+                        .addValue("sourceHash", QuizLibraryService.sourceHash(quiz.source().getSourceKey()))
+                        .addValue("sourceKey", quiz.source().getSourceKey())
+                        .addValue("sourceType", quiz.source().getType().name())
+                        .addValue("url", truncate(quiz.source().getUrl(), URL_MAX_LENGTH))
+                        .addValue("quizCount", quiz.quizCount())
+                        .addValue("title", truncate(quiz.result().getTitle(), TITLE_MAX_LENGTH))
+                        .addValue("createdAt", quiz.createdAt()))
+                .toArray(SqlParameterSource[]::new);
+
+        // 드라이버가 배치 INSERT의 생성 id를 순서대로 돌려줌 (MySQL은 rewriteBatchedStatements에서도 동일)
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(INSERT_QUIZ, quizParams, keyHolder, new String[]{"id"});
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != batch.size()) {
+            throw new IllegalStateException("생성된 퀴즈 id 수가 맞지 않습니다. (" + keys.size() + "/" + batch.size() + ")");
+        }
+
+        List<SqlParameterSource> questionParams = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            long quizId = ((Number) keys.get(i).values().iterator().next()).longValue();
+            List<QuizResultDto.QuestionDto> questions = batch.get(i).result().getQuestions();
+            for (int seq = 1; seq <= questions.size(); seq++) {
+                QuizResultDto.QuestionDto question = questions.get(seq - 1);
+                questionParams.add(new MapSqlParameterSource()
+                        .addValue("quizId", quizId)
+                        .addValue("seq", seq)
+                        .addValue("question", question.getQuestion() == null ? "" : question.getQuestion())
+                        .addValue("options", optionsConverter.convertToDatabaseColumn(question.getOptions()))
+                        .addValue("answer", question.getAnswer())
+                        .addValue("explanation", question.getExplanation())
+                        .addValue("codeSnippet", question.getCodeSnippet()));
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_QUESTION, questionParams.toArray(SqlParameterSource[]::new));
+    }
+
+    // 컬럼 길이(utf8mb4 문자 수)에 맞춰 자름 (서로게이트 쌍은 자르지 않음)
+    static String truncate(String value, int maxLength) {
+        if (value == null || value.length() <= maxLength) {
+            return value;
+        }
+        int end = Character.isHighSurrogate(value.charAt(maxLength - 1)) ? maxLength - 1 : maxLength;
+        return value.substring(0, end);
+    }
+
+    private record PendingQuiz(QuizSource source, int quizCount, QuizResultDto result, LocalDateTime createdAt, int attempts) {
+
+        PendingQuiz retry() {
+            return new PendingQuiz(source, quizCount, result, createdAt, attempts + 1);
+        }
+    }
+}
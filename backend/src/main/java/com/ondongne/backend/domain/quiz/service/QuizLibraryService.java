@@ -0,0 +1,134 @@
+package com.ondongne.backend.domain.quiz.service;
+
+import com.ondongne.backend.domain.quiz.dto.QuizLibraryResponseDto;
+import com.ondongne.backend.domain.quiz.dto.QuizResultDto;
+import com.ondongne.backend.domain.quiz.dto.QuizSource;
+import com.ondongne.backend.domain.quiz.entity.Question;
+import com.ondongne.backend.domain.quiz.entity.Quiz;
+import com.ondongne.backend.domain.quiz.repository.QuestionRepository;
+import com.ondongne.backend.domain.quiz.repository.QuizRepository;
+import com.ondongne.backend.global.exception.QuizNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 퀴즈 보관함 (MySQL) 조회
+ * Redis에는 최근에 쓰인 결과만 남기고, 만료된 결과는 여기서 다시 찾아 Gemini 호출 없이 재사용합니다.
+ * 저장은 완료 경로에서 QuizArchiveWriter가 모아서 처리합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class QuizLibraryService {
+
+    @Value("${app.quiz.library.max-page-size}")
+    private int maxPageSize;
+
+    @Value("${app.quiz.library.reuse-max-age-hours}")
+    private long reuseMaxAgeHours;
+
+    private final QuizRepository quizRepository;
+    private final QuestionRepository questionRepository;
+
+    /**
+     * 원본 + 문제 수로 만든 최신 퀴즈 (원본 내용이 바뀐 뒤의 이전 퀴즈는 제외)
+     * 재사용하면 크롤링을 하지 않아 원본 수정을 알 수 없으므로, 만든 지 reuse-max-age-hours가 지난 퀴즈는 쓰지 않음
+     * (최신 id가 가장 최근에 만든 것이라 최신 1건만 확인하면 됨)
+     */
+    public Optional<QuizResultDto> findLatest(QuizSource source, int quizCount) {
+        List<Long> ids = quizRepository.findLatestIds(sourceHash(source.getSourceKey()), quizCount, Limit.of(1));
+        if (ids.isEmpty()) {
+            return Optional.empty();
+        }
+
+        return quizRepository.findById(ids.get(0))
+                .filter(quiz -> quiz.getSourceKey().equals(source.getSourceKey())) // 해시 충돌 대비
+                .filter(quiz -> quiz.getCreatedAt().isAfter(LocalDateTime.now().minusHours(reuseMaxAgeHours)))
+                .map(this::toResult);
+    }
+
+    /**
+     * 보관함 목록 (최신순, keyset 페이지네이션)
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지면 null)
+     */
+    public QuizLibraryResponseDto getLibrary(Long cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+
+        // 한 개 더 읽어서 다음 페이지가 있는지 확인
+        List<Quiz> quizzes = quizRepository.findByIdLessThanOrderByIdDesc(
+                cursor == null ? Long.MAX_VALUE : cursor, Limit.of(pageSize + 1));
+        boolean hasNext = quizzes.size() > pageSize;
+        List<Quiz> page = hasNext ? quizzes.subList(0, pageSize) : quizzes;
+
+        return QuizLibraryResponseDto.builder()
+                .quizzes(page.stream().map(this::toSummary).toList())
+                .nextCursor(hasNext ? page.get(page.size() - 1).getId() : null)
+                .build();
+    }
+
+    public QuizResultDto getQuiz(Long quizId) {
+        return quizRepository.findById(quizId)
+                .map(this::toResult)
+                .orElseThrow(QuizNotFoundException::new);
+    }
+
+    /**
+     * 원본 내용이 바뀌었을 때 이전 내용으로 만든 퀴즈를 재사용하지 않도록 표시 (보관함 목록에는 남음)
+     */
+    @Transactional
+    public int markStale(String sourceKey) {
+        return quizRepository.markStale(sourceHash(sourceKey));
+    }
+
+    private QuizResultDto toResult(Quiz quiz) {
+        List<QuizResultDto.QuestionDto> questions = questionRepository.findByQuizIdOrderBySeqAsc(quiz.getId()).stream()
+                .map(this::toQuestion)
+                .toList();
+
+        return QuizResultDto.builder()
+                .title(quiz.getTitle())
+                .questions(questions)
+                .build();
+    }
+
+    private QuizResultDto.QuestionDto toQuestion(Question question) {
+        return QuizResultDto.QuestionDto.builder()
+                .id(question.getSeq())
+                .question(question.getQuestion())
+                .options(question.getOptions())
+                .answer(question.getAnswer())
+                .explanation(question.getExplanation())
+                .codeSnippet(question.getCodeSnippet())
+                .build();
+    }
+
+    private QuizLibraryResponseDto.QuizSummaryDto toSummary(Quiz quiz) {
+        return QuizLibraryResponseDto.QuizSummaryDto.builder()
+                .quizId(quiz.getId())
+                .title(quiz.getTitle())
+                .sourceType(quiz.getSourceType())
+                .url(quiz.getUrl())
+                .quizCount(quiz.getQuizCount())
+                .createdAt(quiz.getCreatedAt())
+                .build();
+    }
+
+    // quiz.source_hash 값
+    static byte[] sourceHash(String sourceKey) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(sourceKey.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
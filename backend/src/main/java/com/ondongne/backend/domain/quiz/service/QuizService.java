@@ -1,25 +1,55 @@
 package com.ondongne.backend.domain.quiz.service;
 
+import com.ondongne.backend.domain.crawler.service.ContentCrawler;
+import com.ondongne.backend.domain.gemini.dto.GeminiBatchResultEvent;
 import com.ondongne.backend.domain.gemini.service.GeminiService;
+import com.ondongne.backend.domain.gemini.service.QuestionListener;
+import com.ondongne.backend.domain.quiz.dto.QuizJobMessage;
+import com.ondongne.backend.domain.quiz.dto.QuizRequestDto;
 import com.ondongne.backend.domain.quiz.dto.QuizResponseDto;
+import com.ondongne.backend.domain.quiz.dto.QuizResultDto;
+import com.ondongne.backend.domain.quiz.dto.QuizSource;
+import com.ondongne.backend.domain.quiz.dto.QuizStatusBatchResponseDto;
+import com.ondongne.backend.domain.quiz.repository.InflightJobRepository;
+import com.ondongne.backend.domain.quiz.repository.JobQueueRepository;
 import com.ondongne.backend.domain.quiz.repository.JobRedisRepository;
+import com.ondongne.backend.domain.quiz.repository.QuizCacheRepository;
 import com.ondongne.backend.global.exception.FailCrawlException;
 import com.ondongne.backend.global.exception.FailDownloadException;
+import com.ondongne.backend.global.exception.GeminiFailException;
+import com.ondongne.backend.global.exception.JobNotFoundException;
+import com.ondongne.backend.global.exception.JobQueueFullException;
+import com.ondongne.backend.global.exception.TooManyJobIdsException;
+import com.ondongne.backend.global.scheduler.JobPriority;
+import com.ondongne.backend.global.scheduler.JobScheduler;
+import com.ondongne.backend.global.scheduler.JobStage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.core.scheduler.Schedulers;
 
 import java.io.BufferedReader;
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStreamReader;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
-import java.util.regex.Pattern;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Slf4j
 @Service
@@ -32,128 +62,502 @@ public class QuizService {
     @Value("${app.yt-dlp.path}")
     private String ytDlpPath;
 
-    private final GeminiService geminiService;
-    private final JobRedisRepository jobRedisRepository;
+    @Value("${app.yt-dlp.stream-upload}")
+    private boolean streamUpload;
+
+    @Value("${app.yt-dlp.transcript.enabled}")
+    private boolean transcriptFirst;
+
+    @Value("${app.gemini.upload.chunk-size-bytes}")
+    private int uploadChunkSize;
+
+    @Value("${app.quiz.status-stream.heartbeat-seconds}")
+    private long streamHeartbeatSeconds;
+
+    @Value("${app.quiz.status-stream.timeout-minutes}")
+    private long streamTimeoutMinutes;
+
+    @Value("${app.quiz.status-batch.max-job-ids}")
+    private int maxStatusBatchJobIds;
+
+    @Value("${app.quiz.queue.max-backlog}")
+    private long maxQueueBacklog;
 
-    private static final Pattern YOUTUBE_PATTERN = Pattern.compile(
-            "^(https?://)?(www\\.|m\\.)?(youtube\\.com|youtu\\.be)/(watch\\?v=|shorts/|embed/|v/)?([a-zA-Z0-9_-]{11}).*$"
-    );
+    @Value("${app.gemini.batch.enabled}")
+    private boolean batchEnabled;
 
-    public QuizResponseDto processQuiz(String url, int quizCount) {
+    @Value("${app.gemini.batch.job-ttl-hours}")
+    private long batchJobTtlHours;
+
+    private final GeminiService geminiService;
+    private final ContentCrawler contentCrawler;
+    private final JobRedisRepository jobRedisRepository;
+    private final QuizCacheRepository quizCacheRepository;
+    private final QuizLibraryService quizLibraryService;
+    private final QuizArchiveWriter quizArchiveWriter;
+    private final InflightJobRepository inflightJobRepository;
+    private final SourceKeyResolver sourceKeyResolver;
+    private final JobScheduler jobScheduler;
+    private final JobQueueRepository jobQueueRepository;
+    private final JobEventSubscriber jobEventSubscriber;
+    private final JobStatusCache jobStatusCache;
+    private final MeterRegistry meterRegistry;
+    private final YoutubeTranscriptExtractor transcriptExtractor;
+    private final TextPreprocessor textPreprocessor;
+
+    // leader 종료와 합류가 엇갈렸을 때 재시도 횟수
+    private static final int SINGLE_FLIGHT_MAX_ATTEMPTS = 3;
+
+    // 배치 결과를 작업에 반영할 때 원본을 다시 찾기 위한 값
+    private static final String BATCH_URL = "url";
+    private static final String BATCH_VISUAL_ANALYSIS = "visualAnalysis";
+    private static final String BATCH_QUIZ_COUNT = "quizCount";
+
+    public QuizResponseDto processQuiz(String url, int quizCount, boolean visualAnalysis, QuizRequestDto.Priority priority) {
 
         String jobId = UUID.randomUUID().toString();
+        QuizSource source = sourceKeyResolver.resolve(url, visualAnalysis);
+
+        // 동일 원본 + 동일 문제 수로 이미 생성된 결과가 있으면 즉시 완료 처리
+        QuizResultDto cachedResult = findCachedResult(source, quizCount);
+        if (cachedResult != null) {
+            log.info(">>>>> [Job: {}] 캐시 적중 ({}). 퀴즈 생성 생략", jobId, source.getSourceKey());
+
+            QuizResponseDto completed = QuizResponseDto.builder()
+                    .jobId(jobId)
+                    .status(QuizResponseDto.JobStatus.COMPLETED)
+                    .message("퀴즈 생성이 완료되었습니다.")
+                    .result(cachedResult)
+                    .build();
+
+            jobRedisRepository.save(jobId, completed).block();
+            return completed;
+        }
+
+        // 배치 요청은 대화형 요청보다 항상 뒤에 실행
+        boolean lowPriority = priority == QuizRequestDto.Priority.BATCH;
+        boolean batch = lowPriority && batchEnabled;
 
         QuizResponseDto jobStatus = QuizResponseDto.builder()
                 .jobId(jobId)
                 .status(QuizResponseDto.JobStatus.PROCESSING)
-                .message("퀴즈 생성이 진행 중입니다.")
+                .message("대기열에 등록되었습니다. 순서가 되면 퀴즈 생성이 시작됩니다.")
+                .build();
+
+        Long version = batch
+                ? jobRedisRepository.save(jobId, jobStatus, Duration.ofHours(batchJobTtlHours)).block()
+                : jobRedisRepository.save(jobId, jobStatus).block();
+        jobStatus.setVersion(version);
+
+        QuizJobMessage message = QuizJobMessage.builder()
+                .jobId(jobId)
+                .url(source.getUrl())
+                .visualAnalysis(source.isVisualAnalysis())
+                .quizCount(quizCount)
+                .priority(lowPriority ? JobPriority.BATCH : source.isYoutube() ? JobPriority.VIDEO : JobPriority.TEXT)
+                .batch(batch)
                 .build();
 
-        jobRedisRepository.save(jobId, jobStatus);
+        // 배치 작업은 진행 중인 대화형 작업에 합류시키지도, 대화형 요청을 합류시키지도 않음 (몇 시간씩 기다리게 되므로)
+        if (batch) {
+            return enqueueJob(jobStatus, source, quizCount, message);
+        }
+
+        for (int attempt = 0; attempt < SINGLE_FLIGHT_MAX_ATTEMPTS; attempt++) {
+            if (inflightJobRepository.tryAcquire(source.getSourceKey(), quizCount, jobId)) {
+                return enqueueJob(jobStatus, source, quizCount, message);
+            }
 
-        startAsyncJob(jobId, url, quizCount);
+            // 같은 원본의 작업이 이미 진행 중이면 결과만 함께 받음
+            if (inflightJobRepository.attach(source.getSourceKey(), quizCount, jobId)) {
+                log.info(">>>>> [Job: {}] 진행 중인 동일 요청에 합류 ({})", jobId, source.getSourceKey());
+                return jobStatus;
+            }
 
+            // 합류 직전에 선행 작업이 끝났다면 캐시에 결과가 있음
+            QuizResultDto justCompleted = findCachedResult(source, quizCount);
+            if (justCompleted != null) {
+                return jobRedisRepository.update(jobId, QuizResponseDto.JobStatus.COMPLETED, "퀴즈 생성이 완료되었습니다.", justCompleted)
+                        .then(jobRedisRepository.findById(jobId))
+                        .block();
+            }
+        }
+
+        log.warn(">>>>> [Job: {}] 동일 요청 합류에 실패하여 단독으로 실행합니다.", jobId);
+        return enqueueJob(jobStatus, source, quizCount, message);
+    }
+
+    /**
+     * 작업을 대기열(Redis Stream)에 넣습니다. 실행은 항목을 가져간 노드의 JobQueueWorker가 runQueuedJob으로 맡습니다.
+     * 대기열이 가득 찼으면 거절(JobQueueFullException)합니다. 진행 중인 작업에 합류하는 요청은 대기열 항목을 만들지 않으므로 이 검사를 거치지 않습니다.
+     */
+    private QuizResponseDto enqueueJob(QuizResponseDto jobStatus, QuizSource source, int quizCount, QuizJobMessage message) {
+        try {
+            if (jobQueueRepository.backlog() >= maxQueueBacklog) {
+                throw new JobQueueFullException();
+            }
+            jobQueueRepository.enqueue(message);
+        } catch (RuntimeException e) {
+            // 실행되지 않을 작업이므로 합류한 요청까지 실패로 정리
+            failJob(jobStatus.getJobId(), source, quizCount, e)
+                    .onErrorResume(ignored -> Mono.empty())
+                    .block();
+            throw e;
+        }
+        publishQueuePosition(jobStatus, message.getPriority());
         return jobStatus;
     }
 
-    private void startAsyncJob(String jobId, String url, int quizCount) {
-        if(!isYoutubeUrl(url)) {
+    /**
+     * 대기 순번을 작업 기록과 응답에 반영합니다. (작업이 시작될 때 runQueuedJob의 상태 쓰기로 지워짐)
+     * 그사이 워커가 이미 작업을 시작했으면(version 변경) 기록하지 않습니다. 순번 계산/기록 실패는 무시합니다.
+     */
+    private void publishQueuePosition(QuizResponseDto jobStatus, JobPriority priority) {
+        if (jobStatus.getVersion() == null || jobStatus.getVersion() == 0) {
+            return;
+        }
+        try {
+            int position = (int) jobQueueRepository.position(priority);
+            String queuedMessage = String.format("대기열 %d번째입니다. 순서가 되면 퀴즈 생성이 시작됩니다.", position);
+            Boolean updated = jobRedisRepository.compareAndUpdate(jobStatus.getJobId(), jobStatus.getVersion(),
+                    QuizResponseDto.JobStatus.PROCESSING, queuedMessage, position, null).block();
+            if (Boolean.TRUE.equals(updated)) {
+                log.info(">>>>> [Job: {}] 대기열 등록 (순번: {})", jobStatus.getJobId(), position);
+                jobStatus.setQueuePosition(position);
+                jobStatus.setMessage(queuedMessage);
+                jobStatus.setVersion(jobStatus.getVersion() + 1);
+            }
+        } catch (RuntimeException e) {
+            log.warn(">>>>> [Job: {}] 대기 순번 기록 실패 (무시): {}", jobStatus.getJobId(), e.getMessage());
+        }
+    }
+
+    /**
+     * 대기열에서 가져온 작업을 실행합니다. 완료/실패 기록까지 끝나면 완료되며, 이후 워커가 확인 응답합니다.
+     * 다른 노드에서 회수한 항목일 수 있으므로, 이미 끝났거나 만료된 작업은 다시 실행하지 않습니다.
+     * (기록 자체가 실패하면 오류로 끝나고, 확인 응답하지 않은 항목은 나중에 다시 실행됨)
+     */
+    public Mono<Void> runQueuedJob(QuizJobMessage message) {
+        String jobId = message.getJobId();
+        int quizCount = message.getQuizCount();
+
+        return jobRedisRepository.findById(jobId, false)
+                .filter(status -> !isTerminal(status.getStatus()))
+                .flatMap(status -> {
+                    QuizSource source = sourceKeyResolver.resolve(message.getUrl(), message.isVisualAnalysis());
+                    Mono<QuizResultDto> pipeline = buildPipeline(jobId, source, quizCount, message.isBatch());
+
+                    // 실제로 시작될 때 대기 안내 문구와 순번을 지움 (그사이 상태가 바뀌었으면 그대로 둠)
+                    if (status.getStatus() == QuizResponseDto.JobStatus.PROCESSING && status.getVersion() != null) {
+                        pipeline = jobRedisRepository.compareAndUpdate(jobId, status.getVersion(),
+                                        QuizResponseDto.JobStatus.PROCESSING, "퀴즈 생성이 진행 중입니다.", null)
+                                .then(pipeline);
+                    }
+                    pipeline = withProgress(jobId, source, quizCount, pipeline);
+
+                    JobScheduler.Ticket ticket = jobScheduler.enqueue(message.getPriority());
+                    if (ticket.isQueued()) {
+                        log.info(">>>>> [Job: {}] 노드 대기열 등록 (노드 내 순번: {})", jobId, ticket.getPosition());
+                    }
+
+                    // 생성 결과 반영까지 하나의 Mono로 이어서 실행 (완료/실패 기록도 파이프라인 스레드를 막지 않음)
+                    return jobScheduler.run(ticket, pipeline)
+                            .onErrorResume(error -> failJob(jobId, source, quizCount, error).then(Mono.empty()))
+                            .flatMap(result -> completeJob(jobId, source, quizCount, result));
+                });
+    }
+
+    /**
+     * 처리 시도 횟수를 넘겨 dead-letter로 옮겨진 작업을 실패 처리합니다. (합류한 요청 포함)
+     */
+    public Mono<Void> abandonQueuedJob(QuizJobMessage message) {
+        QuizSource source = sourceKeyResolver.resolve(message.getUrl(), message.isVisualAnalysis());
+        return failJob(message.getJobId(), source, message.getQuizCount(),
+                new IllegalStateException("처리 시도 횟수 초과"));
+    }
+
+    /**
+     * 실행 중인 작업이 동일 요청의 leader라면 임대 시간을 연장합니다. (워커 heartbeat 스레드에서 호출, 블로킹)
+     * 대기열에서 오래 기다렸거나 영상 처리가 길어져도 표식이 살아 있어야 같은 요청이 새 leader를 만들지 않고 합류합니다.
+     */
+    public void renewInflightLeases(Collection<QuizJobMessage> messages) {
+        for (QuizJobMessage message : messages) {
+            if (message.isBatch()) {
+                continue; // 배치 작업은 합류 표식을 만들지 않음
+            }
+            QuizSource source = sourceKeyResolver.resolve(message.getUrl(), message.isVisualAnalysis());
+            inflightJobRepository.renew(source.getSourceKey(), message.getQuizCount(), message.getJobId());
+        }
+    }
+
+    /**
+     * @param batch true면 텍스트 생성 요청을 Gemini Batch API 대기열에 넣고 파이프라인은 결과 없이 끝남 (결과는 onBatchResult에서 반영).
+     *              자막이 없는 영상은 배치로 보낼 수 없으므로 낮은 우선순위로 실시간 생성
+     */
+    private Mono<QuizResultDto> buildPipeline(String jobId, QuizSource source, int quizCount, boolean batch) {
+        Mono<QuizResultDto> pipeline;
+
+        if (!source.isYoutube()) {
             log.info(">>>>> 감지된 콘텐츠 타입 : BLOG / WEB POST");
 
-            crawlBlogAsync(url)
-                    .subscribeOn(Schedulers.boundedElastic())
-                    .subscribe(
-                            text -> {
-                                log.info(">>>>> [Job: {}] 크롤링 성공 (길이 : {}). 퀴즈 생성 시작...", jobId, text.length());
-                                geminiService.generateQuizFromText(jobId, text, quizCount);
-                            },
-                            error -> {
-                                log.error(">>>>> [Job: {}] 크롤링 실패: {}", jobId, error.getMessage());
-                                jobRedisRepository.update(jobId, QuizResponseDto.JobStatus.FAILED, "크롤링에 실패했습니다.", null);
-                            }
-                    );
+            pipeline = jobScheduler.limit(JobStage.CRAWL, contentCrawler.crawl(source.getUrl()))
+                    .flatMap(content -> content.isChanged()
+                            ? evictStaleResults(jobId, source).thenReturn(content.getText())
+                            : Mono.just(content.getText()))
+                    .flatMap(text -> textPreprocessor.process(jobId, text))
+                    .flatMap(text -> {
+                        log.info(">>>>> [Job: {}] 크롤링 성공 (길이 : {}). 퀴즈 생성 시작...", jobId, text.length());
+                        return generateFromText(jobId, source, text, quizCount, batch);
+                    });
 
         } else {
             log.info(">>>>> 감지된 콘텐츠 타입 : YOUTUBE VIDEO");
 
-            downloadVideoAsync(url)
-                    .subscribeOn(Schedulers.boundedElastic())
-                    .subscribe(
-                            filePath -> {
-                                log.info(">>>>> [Job: {}] 다운로드 성공 (경로: {}). 퀴즈 생성 시작...", jobId, filePath);
-                                geminiService.generateQuizFromVideo(jobId, filePath, quizCount);
-                            },
-                            error -> {
-                                log.error(">>>>> [Job: {}] 다운로드 실패: {}", jobId, error.getMessage());
-                                jobRedisRepository.update(jobId, QuizResponseDto.JobStatus.FAILED, "동영상 다운로드에 실패했습니다.", null);
+            String videoId = source.getVideoId();
+            Mono<QuizResultDto> uploadPipeline;
+            if (streamUpload) {
+                // 다운로드와 업로드를 겹쳐서 진행 (임시 파일 없음)
+                uploadPipeline = geminiService.generateQuizFromVideoStream(jobId, videoId,
+                        jobScheduler.limitMany(JobStage.DOWNLOAD, streamVideoAsync(source.getUrl())), quizCount);
+            } else {
+                uploadPipeline = jobScheduler.limit(JobStage.DOWNLOAD, downloadVideoAsync(source.getUrl())
+                                .subscribeOn(Schedulers.boundedElastic()))
+                        .flatMap(filePath -> {
+                            log.info(">>>>> [Job: {}] 다운로드 성공 (경로: {}). 퀴즈 생성 시작...", jobId, filePath);
+                            return geminiService.generateQuizFromVideo(jobId, videoId, filePath, quizCount);
+                        });
+            }
+
+            // 같은 영상을 이미 업로드해 두었으면 재사용, 없거나 만료되었으면 새로 다운로드/업로드
+            Mono<QuizResultDto> videoPipeline = geminiService.generateQuizFromRegisteredVideo(jobId, videoId, quizCount)
+                    .switchIfEmpty(uploadPipeline);
+
+            if (transcriptFirst && !source.isVisualAnalysis()) {
+                // 자막이 있으면 영상 대신 텍스트로 생성 (다운로드/업로드/처리 대기 생략)
+                // 배치 등록은 결과 없이 끝나므로, 영상 대체 여부는 자막 유무로만 판단
+                pipeline = jobScheduler.limit(JobStage.CRAWL, transcriptExtractor.extract(jobId, source.getUrl()))
+                        .flatMap(transcript -> textPreprocessor.process(jobId, transcript))
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty())
+                        .flatMap(transcript -> {
+                            if (transcript.isEmpty()) {
+                                return videoPipeline;
                             }
-                    );
+                            log.info(">>>>> [Job: {}] 자막으로 퀴즈 생성 시작 (길이 : {})", jobId, transcript.get().length());
+                            return generateFromText(jobId, source, transcript.get(), quizCount, batch);
+                        });
+            } else {
+                pipeline = videoPipeline;
+            }
         }
+
+        return pipeline;
     }
 
-    private Mono<String> crawlBlogAsync(String url) {
-        return Mono.fromCallable(() -> {
-            try {
-                log.info(">>>>> 크롤링 시작: {}", url);
-
-                Document doc = Jsoup.connect(url)
-                        .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36")
-                        .timeout(10000)
-                        .get();
-
-                if (url.contains("blog.naver.com")) {
-                    Element iframe = doc.select("iframe#mainFrame").first();
-                    if (iframe != null) {
-                        String realUrl = "https://blog.naver.com" + iframe.attr("src");
-                        log.info(">>>>> 네이버 iframe 감지. 진짜 주소로 재접속: {}", realUrl);
-
-                        doc = Jsoup.connect(realUrl)
-                                .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) ...")
-                                .timeout(10000)
-                                .get();
+    /**
+     * 스트리밍 생성 중 완성된 문제를 작업 기록에 PARTIAL로 반영합니다. (클라이언트는 1번 문제부터 먼저 풀 수 있음)
+     * 긴 텍스트 분할 생성은 병합 결과가 먼저 나온 문제와 달라질 수 있어 PARTIAL 없이 COMPLETED만 기록됩니다.
+     * - 기록은 순서대로 하나씩, 밀려 있으면 가장 최근 상태만 기록
+     * - 최종 결과(COMPLETED)는 남은 부분 결과 기록이 끝난 뒤에 쓰이도록 완료 신호를 늦춤
+     * - 첫 문제가 나오기까지 걸린 시간(작업 접수 시점부터)을 기록
+     */
+    private Mono<QuizResultDto> withProgress(String jobId, QuizSource source, int quizCount, Mono<QuizResultDto> pipeline) {
+        long acceptedAt = System.nanoTime();
+
+        return Mono.defer(() -> {
+            Sinks.Many<QuizResultDto> partials = Sinks.many().unicast().onBackpressureBuffer();
+            List<QuizResultDto.QuestionDto> questions = new ArrayList<>();
+
+            Mono<Void> writes = partials.asFlux()
+                    .onBackpressureLatest()
+                    .concatMap(snapshot -> jobRedisRepository.updatePartial(jobId, snapshot)
+                            .onErrorResume(e -> {
+                                log.warn(">>>>> [Job: {}] 부분 결과 저장 실패 (무시): {}", jobId, e.getMessage());
+                                return Mono.empty();
+                            }), 1)
+                    .then()
+                    .cache();
+            writes.subscribe();
+
+            QuestionListener listener = question -> {
+                synchronized (questions) {
+                    if (questions.size() >= quizCount) {
+                        return;
                     }
-                }
-
-                doc.select("script, style, header, footer, nav, aside, iframe, .sidebar, .comment, .advertisement, .ads, .cookie-banner").remove();
-
-                Element content = null;
-                String[] selectors = {
-                        ".se-main-container", // 네이버 스마트에디터 본문
-                        "article", "main",
-                        ".tt_article_useless_p_margin", // 티스토리 본문
-                        ".post-content", ".entry-content",
-                        ".markdown-body", "div[role='main']", "#content", ".content",
-                        ".atom-one" // Velog 본문
-                };
-
-                for (String selector : selectors) {
-                    content = doc.selectFirst(selector);
-                    if (content != null && content.text().length() > 100) {
-                        log.info(">>>>> 본문 영역 감지됨: {}", selector);
-                        break;
+                    question.setId(questions.size() + 1);
+                    questions.add(question);
+                    if (questions.size() == 1) {
+                        recordTimeToFirstQuestion(source, "stream", acceptedAt);
                     }
+                    partials.tryEmitNext(QuizResultDto.builder().questions(List.copyOf(questions)).build());
                 }
+            };
+
+            return pipeline
+                    .contextWrite(QuestionListener.withListener(listener))
+                    .flatMap(result -> {
+                        synchronized (questions) {
+                            if (questions.isEmpty()) {
+                                recordTimeToFirstQuestion(source, "final", acceptedAt);
+                            }
+                            partials.tryEmitComplete();
+                        }
+                        return writes.thenReturn(result);
+                    })
+                    .doFinally(signalType -> partials.tryEmitComplete()); // 실패, 배치 등록(결과 없음) 포함
+        });
+    }
 
-                if (content == null) {
-                    log.warn(">>>>> 명시적인 본문 영역을 찾지 못했습니다.");
-                    throw new FailCrawlException();
-                }
+    private Mono<QuizResultDto> generateFromText(String jobId, QuizSource source, String text, int quizCount, boolean batch) {
+        if (!batch) {
+            return geminiService.generateQuizFromText(jobId, text, quizCount);
+        }
 
-                String text = content.text().trim();
+        Map<String, String> metadata = Map.of(
+                BATCH_URL, source.getUrl(),
+                BATCH_VISUAL_ANALYSIS, String.valueOf(source.isVisualAnalysis()),
+                BATCH_QUIZ_COUNT, String.valueOf(quizCount));
 
-                if (text.isEmpty()) {
-                    throw new FailCrawlException();
-                }
+        return geminiService.enqueueBatchFromText(jobId, text, quizCount, metadata)
+                .then(jobRedisRepository.update(jobId, QuizResponseDto.JobStatus.PROCESSING,
+                        "배치 처리 대기 중입니다. 처리가 끝나는 대로 결과가 반영됩니다.", null))
+                .then(Mono.empty());
+    }
 
-                return text;
+    /**
+     * Gemini 배치 처리 결과를 작업에 반영합니다. (배치를 확인한 노드에서 요청마다 1번 호출)
+     */
+    @EventListener
+    public void onBatchResult(GeminiBatchResultEvent event) {
+        Map<String, String> metadata = event.getMetadata();
+        QuizSource source = sourceKeyResolver.resolve(metadata.get(BATCH_URL), Boolean.parseBoolean(metadata.get(BATCH_VISUAL_ANALYSIS)));
+        int quizCount = Integer.parseInt(metadata.get(BATCH_QUIZ_COUNT));
+
+        // 배치 확인 전용 스레드에서 호출되므로 기록이 끝날 때까지 기다림
+        if (event.isSucceeded()) {
+            completeJob(event.getKey(), source, quizCount, event.getResult()).block();
+        } else {
+            failJob(event.getKey(), source, quizCount, new GeminiFailException(new IllegalStateException(event.getErrorMessage()))).block();
+        }
+    }
 
-            } catch (Exception e) {
-                log.error(">>>>> 비동기 크롤링 중 오류 발생: {}", e.getMessage());
-                throw new FailCrawlException(e);
-            }
-        });
+    // 스트리밍이면 첫 문제 도착, 아니면 전체 결과 도착 시점까지의 시간
+    private void recordTimeToFirstQuestion(QuizSource source, String mode, long acceptedAt) {
+        Timer.builder("quiz.job.time-to-first-question")
+                .tag("source", source.getType().name().toLowerCase())
+                .tag("mode", mode)
+                .register(meterRegistry)
+                .record(System.nanoTime() - acceptedAt, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 결과 캐시와 합류 표식은 블로킹 RedisTemplate을 쓰므로 boundedElastic에서 실행합니다.
+     */
+    Mono<Void> completeJob(String jobId, QuizSource source, int quizCount, QuizResultDto result) {
+        return Mono.defer(() -> {
+                    log.info(">>>>> [Job: {}] 퀴즈 생성 성공! Redis 저장 중...", jobId);
+                    recordOutcome(source, "success");
+                    return jobRedisRepository.update(jobId, QuizResponseDto.JobStatus.COMPLETED, "퀴즈 생성이 완료되었습니다.", result);
+                })
+                // 캐시를 먼저 기록해야 leader 종료 직후 합류에 실패한 요청도 결과를 찾을 수 있음
+                .then(Mono.fromRunnable(() -> quizCacheRepository.save(source.getSourceKey(), quizCount, result))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .onErrorResume(e -> {
+                            log.warn(">>>>> [Job: {}] 결과 캐시 저장 실패 (무시): {}", jobId, e.getMessage());
+                            return Mono.empty();
+                        }))
+                // 보관함(MySQL)에는 모아서 나중에 저장 (버퍼에 넣기만 함)
+                .then(Mono.fromRunnable(() -> quizArchiveWriter.offer(jobId, source, quizCount, result)))
+                .thenMany(releaseFollowers(jobId, source, quizCount))
+                .concatMap(followerJobId -> jobRedisRepository.update(followerJobId, QuizResponseDto.JobStatus.COMPLETED, "퀴즈 생성이 완료되었습니다.", result))
+                .then();
+    }
+
+    Mono<Void> failJob(String jobId, QuizSource source, int quizCount, Throwable error) {
+        String message = failureMessage(error);
+        return Mono.defer(() -> {
+                    log.error(">>>>> [Job: {}] 처리 중 실패: {}", jobId, error.getMessage());
+                    recordOutcome(source, "failure");
+                    return jobRedisRepository.update(jobId, QuizResponseDto.JobStatus.FAILED, message, null);
+                })
+                .thenMany(releaseFollowers(jobId, source, quizCount))
+                .concatMap(followerJobId -> jobRedisRepository.update(followerJobId, QuizResponseDto.JobStatus.FAILED, message, null))
+                .then();
+    }
+
+    private Flux<String> releaseFollowers(String jobId, QuizSource source, int quizCount) {
+        return Mono.fromCallable(() -> inflightJobRepository.release(source.getSourceKey(), quizCount, jobId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapIterable(followerJobIds -> followerJobIds);
+    }
+
+    // 실패율 = failure / (success + failure), 소스 유형별로 집계
+    private void recordOutcome(QuizSource source, String outcome) {
+        meterRegistry.counter("quiz.job.outcome", "outcome", outcome, "source", source.getType().name().toLowerCase()).increment();
+    }
+
+    // 원본 글이 수정되었으면 이전 내용으로 만든 (다른 문제 수의) 퀴즈 캐시 제거
+    private Mono<Void> evictStaleResults(String jobId, QuizSource source) {
+        return Mono.fromRunnable(() -> {
+                    quizCacheRepository.evictSource(source.getSourceKey());
+                    quizLibraryService.markStale(source.getSourceKey());
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .doOnSuccess(ignored -> log.info(">>>>> [Job: {}] 원본 변경으로 퀴즈 캐시/보관함 무효화 ({})", jobId, source.getSourceKey()))
+                .onErrorResume(e -> {
+                    log.warn(">>>>> [Job: {}] 퀴즈 캐시 무효화 실패 (무시): {}", jobId, e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
     }
 
+    private String failureMessage(Throwable error) {
+        if (error instanceof JobQueueFullException) {
+            return "대기열이 가득 차 퀴즈 생성을 시작하지 못했습니다.";
+        }
+        if (error instanceof FailCrawlException) {
+            return "크롤링에 실패했습니다.";
+        }
+        if (error instanceof FailDownloadException) {
+            return "동영상 다운로드에 실패했습니다.";
+        }
+        return "퀴즈 생성에 실패했습니다.";
+    }
+
+    /**
+     * Redis 캐시 -> 보관함(MySQL) 순서로 찾고, 보관함에서 찾은 결과는 다시 캐시에 올립니다.
+     * (요청 스레드에서만 호출)
+     */
+    private QuizResultDto findCachedResult(QuizSource source, int quizCount) {
+        try {
+            QuizResultDto cached = quizCacheRepository.find(source.getSourceKey(), quizCount);
+            if (cached != null) {
+                return cached;
+            }
+        } catch (Exception e) {
+            // 캐시 장애가 퀴즈 생성 자체를 막지 않도록 미스로 처리
+            log.warn(">>>>> 결과 캐시 조회 실패 (미스로 처리): {}", e.getMessage());
+        }
+
+        QuizResultDto archived;
+        try {
+            archived = quizLibraryService.findLatest(source, quizCount).orElse(null);
+        } catch (Exception e) {
+            log.warn(">>>>> 보관함 조회 실패 (미스로 처리): {}", e.getMessage());
+            return null;
+        }
+        if (archived == null) {
+            return null;
+        }
+
+        meterRegistry.counter("quiz.library.hits").increment();
+        try {
+            quizCacheRepository.save(source.getSourceKey(), quizCount, archived);
+        } catch (Exception e) {
+            log.warn(">>>>> 결과 캐시 저장 실패 (무시): {}", e.getMessage());
+        }
+        return archived;
+    }
 
     private Mono<String> downloadVideoAsync(String url) {
         return Mono.fromCallable(() -> {
@@ -199,6 +603,70 @@ public class QuizService {
         });
     }
 
+    /**
+     * yt-dlp가 표준 출력(-o -)으로 내보내는 영상 바이트를 업로드 청크 크기 단위로 읽습니다.
+     * 구독자가 요청할 때만 읽으므로, 업로드가 밀리면 파이프가 차서 yt-dlp도 자연스럽게 멈춥니다.
+     * 프로세스가 비정상 종료되면 마지막 청크를 내보내기 전에 실패 처리합니다.
+     */
+    private Flux<byte[]> streamVideoAsync(String url) {
+        return Flux.using(
+                () -> startStreamingDownload(url),
+                process -> Flux.<byte[]>generate(sink -> {
+                    try {
+                        byte[] buffer = new byte[uploadChunkSize];
+                        int read = process.getInputStream().readNBytes(buffer, 0, uploadChunkSize);
+                        if (read > 0) {
+                            sink.next(read == uploadChunkSize ? buffer : Arrays.copyOf(buffer, read));
+                            return;
+                        }
+
+                        int exitCode = process.waitFor();
+                        if (exitCode != 0) {
+                            sink.error(new FailDownloadException());
+                        } else {
+                            sink.complete();
+                        }
+                    } catch (Exception e) {
+                        log.error(">>>>> 스트리밍 다운로드 중 오류 발생", e);
+                        sink.error(new FailDownloadException(e));
+                    }
+                }),
+                process -> {
+                    if (process.isAlive()) {
+                        process.destroyForcibly();
+                    }
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Process startStreamingDownload(String url) throws IOException {
+        log.info(">>>>> 스트리밍 다운로드 시작: {}", url);
+
+        ProcessBuilder builder = new ProcessBuilder(
+                ytDlpPath,
+                "-f", "worst[ext=mp4]",
+                "--force-ipv4",
+                "--extractor-args", "youtube:player_client=android",
+                "-o", "-",
+                url
+        );
+        Process process = builder.start();
+
+        // 표준 출력은 영상 데이터이므로, 로그(표준 에러)는 별도로 비워줘야 프로세스가 멈추지 않음
+        Schedulers.boundedElastic().schedule(() -> {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getErrorStream()))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    log.info("[yt-dlp] {}", line);
+                }
+            } catch (IOException e) {
+                log.debug(">>>>> yt-dlp 로그 읽기 종료: {}", e.getMessage());
+            }
+        });
+
+        return process;
+    }
+
     private void createTempDirectory() {
         File directory = new File(tempDir);
         if (!directory.exists()) {
@@ -210,11 +678,100 @@ public class QuizService {
         }
     }
 
-    public QuizResponseDto getQuizStatus(String jobId) {
-        return jobRedisRepository.findById(jobId);
+    /**
+     * 폴링 요청이 대부분이므로 노드 로컬 캐시(JobStatusCache)를 거쳐 조회합니다.
+     * @param includeResult false면 상태 필드만 조회 (결과가 필요 없는 폴링용)
+     */
+    public Mono<QuizResponseDto> getQuizStatus(String jobId, boolean includeResult) {
+        return jobStatusCache.find(jobId, includeResult);
+    }
+
+    /**
+     * 여러 작업의 상태를 한 번에 조회합니다. (대시보드, 최근 퀴즈 목록)
+     * 없거나 만료된 작업은 전체를 실패시키지 않고 notFound로 따로 알려줍니다.
+     */
+    public Mono<QuizStatusBatchResponseDto> getQuizStatuses(List<String> jobIds, boolean includeResult) {
+        List<String> distinctJobIds = jobIds == null ? List.of() : jobIds.stream()
+                .filter(jobId -> jobId != null && !jobId.isBlank())
+                .distinct()
+                .toList();
+        if (distinctJobIds.size() > maxStatusBatchJobIds) {
+            throw new TooManyJobIdsException(maxStatusBatchJobIds);
+        }
+
+        return jobStatusCache.findAll(distinctJobIds, includeResult).map(found -> {
+            List<QuizResponseDto> jobs = new ArrayList<>();
+            List<String> notFound = new ArrayList<>();
+            for (String jobId : distinctJobIds) {
+                QuizResponseDto status = found.get(jobId);
+                if (status != null) {
+                    jobs.add(status);
+                } else {
+                    notFound.add(jobId);
+                }
+            }
+
+            return QuizStatusBatchResponseDto.builder()
+                    .jobs(jobs)
+                    .notFound(notFound)
+                    .build();
+        });
+    }
+
+    /**
+     * 작업 상태 변경을 SSE로 전달합니다. 완료/실패 상태를 보내면 스트림이 종료됩니다.
+     */
+    public Flux<ServerSentEvent<QuizResponseDto>> streamQuizStatus(String jobId) {
+        // 없는 작업은 스트림을 열기 전에 404로 응답해야 하므로 요청 스레드에서 조회
+        QuizResponseDto current = jobRedisRepository.findById(jobId).block();
+        if (current == null) {
+            throw new JobNotFoundException();
+        }
+        if (isTerminal(current.getStatus())) {
+            return Flux.just(toStatusEvent(current));
+        }
+
+        // 구독 시작과 현재 상태 조회 사이에 놓친 변경이 없도록, 구독 후 한 번 더 조회
+        Flux<QuizResponseDto> statusUpdates = Flux.merge(
+                jobEventSubscriber.listen(jobId)
+                        .concatMap(event -> isTerminal(event.getStatus()) || event.getStatus() == QuizResponseDto.JobStatus.PARTIAL
+                                ? jobRedisRepository.findById(jobId)
+                                : Mono.just(QuizResponseDto.builder()
+                                        .jobId(jobId)
+                                        .status(event.getStatus())
+                                        .message(event.getMessage())
+                                        .progress(event.getProgress())
+                                        .version(event.getVersion())
+                                        .build())),
+                jobRedisRepository.findById(jobId));
+
+        Flux<ServerSentEvent<QuizResponseDto>> heartbeats = Flux.interval(Duration.ofSeconds(streamHeartbeatSeconds))
+                .map(tick -> ServerSentEvent.<QuizResponseDto>builder().comment("heartbeat").build());
+
+        // 알림과 재조회가 엇갈려 도착해도 이미 보낸 상태보다 오래된(같은) version은 보내지 않음
+        AtomicLong lastVersion = new AtomicLong(-1);
+        Flux<QuizResponseDto> orderedUpdates = Flux.just(current).concatWith(statusUpdates)
+                .filter(status -> status.getVersion() == null || status.getVersion() > lastVersion.get())
+                .doOnNext(status -> {
+                    if (status.getVersion() != null) {
+                        lastVersion.set(status.getVersion());
+                    }
+                });
+
+        return Flux.merge(
+                        orderedUpdates.map(this::toStatusEvent),
+                        heartbeats)
+                .takeUntil(event -> event.data() != null && isTerminal(event.data().getStatus()))
+                .take(Duration.ofMinutes(streamTimeoutMinutes));
+    }
+
+    private ServerSentEvent<QuizResponseDto> toStatusEvent(QuizResponseDto status) {
+        return ServerSentEvent.builder(status)
+                .event("status")
+                .build();
     }
 
-    private boolean isYoutubeUrl(String url) {
-        return url != null && YOUTUBE_PATTERN.matcher(url).matches();
+    private boolean isTerminal(QuizResponseDto.JobStatus status) {
+        return status == QuizResponseDto.JobStatus.COMPLETED || status == QuizResponseDto.JobStatus.FAILED;
     }
 }
\ No newline at end of file
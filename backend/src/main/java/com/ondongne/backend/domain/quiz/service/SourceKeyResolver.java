@@ -0,0 +1,114 @@
+package com.ondongne.backend.domain.quiz.service;
+
+import com.ondongne.backend.domain.quiz.dto.QuizSource;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Component
+public class SourceKeyResolver {
+
+    private static final Pattern YOUTUBE_PATTERN = Pattern.compile(
+            "^(https?://)?(www\\.|m\\.)?(youtube\\.com|youtu\\.be)/(watch\\?v=|shorts/|embed/|v/)?([a-zA-Z0-9_-]{11}).*$"
+    );
+
+    // blog.naver.com/{blogId}/{logNo}
+    private static final Pattern NAVER_PATH_PATTERN = Pattern.compile("^/([A-Za-z0-9_-]+)/(\\d+)/?$");
+
+    // 동일 콘텐츠인데 유입 경로만 다른 추적용 파라미터
+    private static final Set<String> TRACKING_PARAMS = Set.of(
+            "fbclid", "gclid", "dclid", "msclkid", "igshid", "yclid", "mc_cid", "mc_eid", "_ga", "ref_src"
+    );
+
+    public QuizSource resolve(String url, boolean visualAnalysis) {
+        String trimmed = url == null ? "" : url.trim();
+
+        Matcher matcher = YOUTUBE_PATTERN.matcher(trimmed);
+        if (matcher.matches()) {
+            return QuizSource.youtube(trimmed, matcher.group(5), visualAnalysis);
+        }
+
+        return QuizSource.web(trimmed, normalizeWebUrl(trimmed));
+    }
+
+    private String normalizeWebUrl(String url) {
+        String withScheme = url.matches("^[a-zA-Z][a-zA-Z0-9+.-]*://.*") ? url : "https://" + url;
+
+        URI uri;
+        try {
+            uri = URI.create(withScheme);
+        } catch (IllegalArgumentException e) {
+            // 파싱 불가능한 URL은 원문 그대로 키로 사용
+            return "web:" + url;
+        }
+
+        String host = uri.getHost() == null ? "" : uri.getHost().toLowerCase(Locale.ROOT);
+        if (host.startsWith("www.")) {
+            host = host.substring(4);
+        }
+        if (host.startsWith("m.")) {
+            host = host.substring(2);
+        }
+
+        String path = uri.getRawPath() == null ? "" : uri.getRawPath();
+        Map<String, String> params = parseQuery(uri.getRawQuery());
+
+        // 네이버 블로그: 본문 URL과 iframe(PostView) URL을 동일한 키로 통일
+        if (host.equals("blog.naver.com")) {
+            Matcher naver = NAVER_PATH_PATTERN.matcher(path);
+            if (naver.matches()) {
+                return "naver:" + naver.group(1) + "/" + naver.group(2);
+            }
+            if (path.startsWith("/PostView") && params.containsKey("blogId") && params.containsKey("logNo")) {
+                return "naver:" + params.get("blogId") + "/" + params.get("logNo");
+            }
+        }
+
+        if (path.length() > 1 && path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+
+        List<String> keptParams = new ArrayList<>();
+        params.forEach((name, value) -> {
+            String lowerName = name.toLowerCase(Locale.ROOT);
+            if (!lowerName.startsWith("utm_") && !TRACKING_PARAMS.contains(lowerName)) {
+                keptParams.add(value == null ? name : name + "=" + value);
+            }
+        });
+        Collections.sort(keptParams);
+
+        StringBuilder key = new StringBuilder("web:").append(host).append(path);
+        if (!keptParams.isEmpty()) {
+            key.append('?').append(String.join("&", keptParams));
+        }
+        return key.toString();
+    }
+
+    private Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int idx = pair.indexOf('=');
+            if (idx < 0) {
+                params.put(pair, null);
+            } else {
+                params.put(pair.substring(0, idx), pair.substring(idx + 1));
+            }
+        }
+        return params;
+    }
+}
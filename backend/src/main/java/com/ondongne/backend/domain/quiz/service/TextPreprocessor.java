@@ -0,0 +1,404 @@
+package com.ondongne.backend.domain.quiz.service;
+
+import com.ondongne.backend.domain.gemini.service.TokenEstimator;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 크롤링/자막 텍스트를 Gemini에 보내기 전에 토큰을 줄입니다.
+ * 1. 공백 정리 (제로폭 문자 제거, 연속 공백/빈 줄 축소)
+ * 2. 상용구 줄 제거 (공유/구독/신고 버튼 문구, 여러 번 반복되는 짧은 메뉴 조각)
+ * 3. 길게 이어지는 코드 주석 줄 축소
+ * 4. 거의 같은 문단 제거 (글자 shingle MinHash + LSH 버킷)
+ * 5. 예산을 넘으면 문단/문장 경계에서 자름
+ * ``` 줄로 감싼 코드 블록(TextRenderer가 pre를 감쌈)은 들여쓰기를 유지하고 1, 2, 4단계에서 건드리지 않습니다.
+ * 난수를 쓰지 않으므로 같은 입력에는 항상 같은 결과가 나옵니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TextPreprocessor {
+
+    @Value("${app.quiz.preprocess.enabled}")
+    private boolean enabled;
+
+    @Value("${app.quiz.preprocess.max-tokens}")
+    private long maxTokens;
+
+    @Value("${app.quiz.preprocess.near-duplicate-similarity}")
+    private double nearDuplicateSimilarity;
+
+    @Value("${app.quiz.preprocess.max-comment-lines}")
+    private int maxCommentLines;
+
+    private final MeterRegistry meterRegistry;
+
+    private static final Pattern SENTENCE_END = Pattern.compile("(?<=[.!?。])\\s");
+
+    // 짧은 줄이 이 문구로만 이루어져 있으면 본문이 아닌 버튼/메뉴로 봄
+    private static final Pattern BOILERPLATE = Pattern.compile(
+            "^(공유하기|공유|URL ?복사|좋아요|공감|구독(하기)?|구독하기 ?및 ?알림 ?설정|이웃추가|댓글( ?쓰기)?|신고(하기)?|"
+                    + "인쇄|메뉴|목록(보기)?|맨 ?위로|이전 ?글|다음 ?글|로그인|카테고리|태그|전체 ?보기|"
+                    + "share|tweet|like|subscribe|comments?|print|top|menu|log ?in|sign ?in|sign ?up|"
+                    + "copyright.*|ⓒ.*|©.*|all rights reserved.*)[\\s\\d:|·/,.()\\[\\]]*$",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final String CODE_FENCE = "```";
+
+    private static final int SHORT_LINE_LENGTH = 40;
+    private static final int REPEATED_LINE_MIN_COUNT = 3;
+    private static final int NEAR_DUPLICATE_MIN_LENGTH = 80;
+    private static final double REPEATED_LINE_MIN_LETTER_RATIO = 0.7;
+
+    // MinHash 32칸을 8개 밴드(밴드당 4개)로 나눠 후보를 찾음
+    private static final int SHINGLE_SIZE = 5;
+    private static final int BANDS = 8;
+    private static final int ROWS = 4;
+    private static final int SIGNATURE_SIZE = BANDS * ROWS;
+    private static final long SHINGLE_BASE = 65_599L;
+    private static final long SHINGLE_BASE_POWER = SHINGLE_BASE * SHINGLE_BASE * SHINGLE_BASE * SHINGLE_BASE; // BASE^(SHINGLE_SIZE-1), overflow 허용
+    private static final int SLOT_BITS = 5; // 2^5 = SIGNATURE_SIZE
+    private static final long VALUE_MASK = -1L >>> SLOT_BITS;
+
+    /**
+     * 전처리 결과 텍스트를 반환합니다. (CPU 작업이므로 parallel 스케줄러에서 실행)
+     */
+    public Mono<String> process(String jobId, String text) {
+        if (!enabled) {
+            return Mono.just(text);
+        }
+        return Mono.fromCallable(() -> processWithMetrics(jobId, text))
+                .subscribeOn(Schedulers.parallel());
+    }
+
+    private String processWithMetrics(String jobId, String text) {
+        long startedAt = System.nanoTime();
+        String result = process(text);
+        long elapsedNanos = System.nanoTime() - startedAt;
+
+        long beforeTokens = TokenEstimator.estimate(text);
+        long afterTokens = TokenEstimator.estimate(result);
+
+        Timer.builder("quiz.preprocess.time").register(meterRegistry).record(Duration.ofNanos(elapsedNanos));
+        DistributionSummary.builder("quiz.preprocess.chars").tag("stage", "before").register(meterRegistry).record(text.length());
+        DistributionSummary.builder("quiz.preprocess.chars").tag("stage", "after").register(meterRegistry).record(result.length());
+        DistributionSummary.builder("quiz.preprocess.tokens").tag("stage", "before").register(meterRegistry).record(beforeTokens);
+        DistributionSummary.builder("quiz.preprocess.tokens").tag("stage", "after").register(meterRegistry).record(afterTokens);
+
+        log.info(">>>>> [Job: {}] 텍스트 전처리 완료 (글자: {} -> {}, 예상 토큰: {} -> {}, {}ms)",
+                jobId, text.length(), result.length(), beforeTokens, afterTokens, elapsedNanos / 1_000_000);
+        return result;
+    }
+
+    String process(String text) {
+        List<Line> lines = normalizeLines(text);
+        lines = removeBoilerplate(lines);
+        lines = collapseCommentRuns(lines);
+        lines = removeNearDuplicates(lines);
+        return truncate(lines);
+    }
+
+    // 정규식 없이 한 번 훑으며 줄 단위로 나눔 (1MB 입력에서도 수 ms)
+    // 코드 블록 안에서는 공백을 합치지 않고 줄 끝 공백만 지움
+    private List<Line> normalizeLines(String text) {
+        List<Line> lines = new ArrayList<>();
+        StringBuilder line = new StringBuilder();
+        boolean pendingSpace = false;
+        boolean inCode = false;
+
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : '\n';
+            if (c == '\n' || c == '\r' || c == '\u2028' || c == '\u2029') {
+                String value = inCode ? line.toString().stripTrailing() : line.toString();
+                if (!value.isEmpty()) {
+                    boolean fence = value.strip().startsWith(CODE_FENCE);
+                    lines.add(new Line(value, inCode || fence, fence));
+                    if (fence) {
+                        inCode = !inCode;
+                    }
+                }
+                line.setLength(0);
+                pendingSpace = false;
+            } else if (isInvisible(c)) {
+                continue;
+            } else if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+                if (inCode) {
+                    line.append(c == '\t' ? '\t' : ' ');
+                } else {
+                    pendingSpace = line.length() > 0;
+                }
+            } else {
+                if (pendingSpace) {
+                    line.append(' ');
+                    pendingSpace = false;
+                }
+                line.append(c);
+            }
+        }
+        return lines;
+    }
+
+    private static boolean isInvisible(char c) {
+        return (c >= '\u200B' && c <= '\u200D') || c == '\uFEFF' || c == '\u00AD';
+    }
+
+    // 버튼 문구 + 여러 번 반복되는 짧은 글자 위주 줄(메뉴, 머리말/꼬리말 조각)
+    // 코드 줄은 "}", "break;" 처럼 짧은 줄이 반복되는 것이 정상이므로 제외
+    private List<Line> removeBoilerplate(List<Line> lines) {
+        Map<String, Integer> shortLineCounts = new HashMap<>();
+        for (Line line : lines) {
+            if (!line.code() && line.text().length() <= SHORT_LINE_LENGTH) {
+                shortLineCounts.merge(line.text(), 1, Integer::sum);
+            }
+        }
+
+        List<Line> result = new ArrayList<>(lines.size());
+        for (Line line : lines) {
+            String text = line.text();
+            if (!line.code() && text.length() <= SHORT_LINE_LENGTH
+                    && (BOILERPLATE.matcher(text).matches()
+                    || (shortLineCounts.get(text) >= REPEATED_LINE_MIN_COUNT && isMostlyLetters(text)))) {
+                continue;
+            }
+            result.add(line);
+        }
+        return result;
+    }
+
+    // 글자가 대부분이고 코드처럼 끝나지 않는 줄 (펜스 밖에 놓인 코드 조각은 남김)
+    private static boolean isMostlyLetters(String line) {
+        char last = line.charAt(line.length() - 1);
+        if (last == ';' || last == '{' || last == '}' || last == ')' || last == ':') {
+            return false;
+        }
+        int letters = 0;
+        int visible = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            visible++;
+            if (Character.isLetter(c)) {
+                letters++;
+            }
+        }
+        return letters >= visible * REPEATED_LINE_MIN_LETTER_RATIO;
+    }
+
+    // 연속된 주석 줄은 앞의 몇 줄만 남김 (라이선스 헤더, 주석 처리된 코드 등)
+    private List<Line> collapseCommentRuns(List<Line> lines) {
+        List<Line> result = new ArrayList<>(lines.size());
+        int run = 0;
+        for (Line line : lines) {
+            if (isCommentLine(line.text().stripLeading())) {
+                run++;
+                if (run > maxCommentLines) {
+                    continue;
+                }
+            } else {
+                run = 0;
+            }
+            result.add(line);
+        }
+        return result;
+    }
+
+    private boolean isCommentLine(String line) {
+        return line.startsWith("//") || line.startsWith("/*") || line.startsWith("*") || line.startsWith("#")
+                || line.startsWith("--") || line.startsWith("<!--");
+    }
+
+    private List<Line> removeNearDuplicates(List<Line> lines) {
+        Map<Long, List<long[]>> buckets = new HashMap<>();
+        List<Line> result = new ArrayList<>(lines.size());
+
+        for (Line line : lines) {
+            if (line.code() || line.text().length() < NEAR_DUPLICATE_MIN_LENGTH) {
+                result.add(line);
+                continue;
+            }
+
+            long[] signature = signature(line.text());
+            if (signature == null) {
+                result.add(line);
+                continue;
+            }
+
+            if (hasNearDuplicate(signature, buckets)) {
+                continue;
+            }
+
+            for (int band = 0; band < BANDS; band++) {
+                buckets.computeIfAbsent(bandKey(signature, band), k -> new ArrayList<>(1)).add(signature);
+            }
+            result.add(line);
+        }
+        return result;
+    }
+
+    private boolean hasNearDuplicate(long[] signature, Map<Long, List<long[]>> buckets) {
+        for (int band = 0; band < BANDS; band++) {
+            List<long[]> candidates = buckets.get(bandKey(signature, band));
+            if (candidates == null) {
+                continue;
+            }
+            for (long[] candidate : candidates) {
+                if (similarity(signature, candidate) >= nearDuplicateSimilarity) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static double similarity(long[] a, long[] b) {
+        int same = 0;
+        for (int i = 0; i < SIGNATURE_SIZE; i++) {
+            if (a[i] == b[i]) {
+                same++;
+            }
+        }
+        return (double) same / SIGNATURE_SIZE;
+    }
+
+    private static long bandKey(long[] signature, int band) {
+        long key = band;
+        for (int row = 0; row < ROWS; row++) {
+            key = mix(key * 31 + signature[band * ROWS + row]);
+        }
+        return key;
+    }
+
+    // 글자/숫자만 소문자로 남긴 뒤 5글자 shingle의 MinHash
+    // one-permutation hashing: shingle마다 해시 한 번, 상위 비트로 칸을 정해 칸별 최솟값을 남김
+    private static long[] signature(String line) {
+        long[] signature = new long[SIGNATURE_SIZE];
+        Arrays.fill(signature, Long.MAX_VALUE);
+
+        // 다항식 rolling hash로 shingle 값을 한 글자씩 갱신
+        char[] window = new char[SHINGLE_SIZE];
+        long shingle = 0;
+        int length = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (!Character.isLetterOrDigit(c)) {
+                continue;
+            }
+            c = Character.toLowerCase(c);
+            int position = length % SHINGLE_SIZE;
+            if (length >= SHINGLE_SIZE) {
+                shingle -= window[position] * SHINGLE_BASE_POWER;
+            }
+            shingle = shingle * SHINGLE_BASE + c;
+            window[position] = c;
+            length++;
+            if (length < SHINGLE_SIZE) {
+                continue;
+            }
+
+            long hash = mix(shingle);
+            int slot = (int) (hash >>> (Long.SIZE - SLOT_BITS));
+            long value = hash & VALUE_MASK;
+            if (value < signature[slot]) {
+                signature[slot] = value;
+            }
+        }
+        if (length < SHINGLE_SIZE) {
+            return null;
+        }
+
+        // 빈 칸은 오른쪽으로 가장 가까운 채워진 칸의 값(거리 포함)으로 채움 (densification)
+        long[] filled = signature.clone();
+        for (int i = 0; i < SIGNATURE_SIZE; i++) {
+            if (filled[i] != Long.MAX_VALUE) {
+                continue;
+            }
+            for (int step = 1; step < SIGNATURE_SIZE; step++) {
+                long neighbor = filled[(i + step) % SIGNATURE_SIZE];
+                if (neighbor != Long.MAX_VALUE) {
+                    signature[i] = mix(neighbor + step);
+                    break;
+                }
+            }
+        }
+        return signature;
+    }
+
+    // 문단 단위로 예산까지 담고, 걸치는 문단은 문장 경계에서 자름
+    private String truncate(List<Line> lines) {
+        StringBuilder result = new StringBuilder();
+        long tokens = 0;
+        boolean inCode = false;
+
+        for (Line line : lines) {
+            long lineTokens = TokenEstimator.estimate(line.text());
+            if (tokens + lineTokens <= maxTokens) {
+                appendLine(result, line.text());
+                tokens += lineTokens;
+                if (line.fence()) {
+                    inCode = !inCode;
+                }
+                continue;
+            }
+
+            StringBuilder partial = new StringBuilder();
+            for (String sentence : SENTENCE_END.split(line.text())) {
+                long sentenceTokens = TokenEstimator.estimate(sentence);
+                if (tokens + sentenceTokens > maxTokens) {
+                    break;
+                }
+                if (partial.length() > 0) {
+                    partial.append(' ');
+                }
+                partial.append(sentence);
+                tokens += sentenceTokens;
+            }
+            if (partial.length() > 0) {
+                appendLine(result, partial.toString());
+            }
+            break;
+        }
+        if (inCode) {
+            // 코드 블록 중간에서 잘렸으면 닫아 줌
+            appendLine(result, CODE_FENCE);
+        }
+        return result.toString();
+    }
+
+    private static void appendLine(StringBuilder result, String line) {
+        if (result.length() > 0) {
+            result.append('\n');
+        }
+        result.append(line);
+    }
+
+    /**
+     * @param code 코드 블록 안의 줄 (펜스 줄 포함)
+     * @param fence 코드 블록을 열거나 닫는 ``` 줄
+     */
+    private record Line(String text, boolean code, boolean fence) {
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
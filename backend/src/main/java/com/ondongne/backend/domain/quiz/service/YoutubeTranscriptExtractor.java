@@ -0,0 +1,183 @@
+package com.ondongne.backend.domain.quiz.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * 유튜브 자막(수동 자막 우선, 없으면 자동 생성 자막)만 받아 평문으로 변환합니다.
+ * 영상 파일은 내려받지 않으므로(--skip-download) 수 KB 수준의 텍스트로 퀴즈를 만들 수 있습니다.
+ */
+@Slf4j
+@Component
+public class YoutubeTranscriptExtractor {
+
+    @Value("${app.file.temp-dir}")
+    private String tempDir;
+
+    @Value("${app.yt-dlp.path}")
+    private String ytDlpPath;
+
+    // 우선순위 순서 (예: ko,en)
+    @Value("${app.yt-dlp.transcript.languages}")
+    private List<String> languages;
+
+    // 이보다 짧은 자막은 퀴즈를 만들기에 부족하다고 보고 영상 분석으로 넘어감
+    @Value("${app.yt-dlp.transcript.min-chars}")
+    private int minChars;
+
+    private static final List<String> SUBTITLE_EXTENSIONS = List.of("vtt", "srt");
+
+    private static final Pattern TAG_PATTERN = Pattern.compile("<[^>]+>");
+    private static final Pattern CUE_NUMBER_PATTERN = Pattern.compile("^\\d+$");
+    private static final Pattern WHITESPACE_PATTERN = Pattern.compile("\\s+");
+
+    /**
+     * 사용할 수 있는 자막이 있으면 평문을, 없으면 빈 Mono를 반환합니다.
+     * (추출 실패도 빈 Mono로 처리하여 호출 측이 영상 분석으로 대체하도록 함)
+     */
+    public Mono<String> extract(String jobId, String url) {
+        return Mono.fromCallable(() -> Optional.ofNullable(extractBlocking(jobId, url)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(Mono::justOrEmpty)
+                .onErrorResume(e -> {
+                    log.warn(">>>>> [Job: {}] 자막 추출 실패 (영상 분석으로 대체): {}", jobId, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private String extractBlocking(String jobId, String url) throws IOException, InterruptedException {
+        File directory = new File(tempDir);
+        if (!directory.exists()) {
+            directory.mkdirs();
+        }
+
+        String outputTemplate = tempDir + File.separator + jobId + ".%(ext)s";
+        ProcessBuilder builder = new ProcessBuilder(
+                ytDlpPath,
+                "--skip-download",
+                "--write-subs",
+                "--write-auto-subs",     // 같은 언어에 수동 자막이 있으면 yt-dlp가 수동 자막을 우선함
+                "--sub-langs", String.join(",", languages),
+                "--sub-format", "vtt/srt/best",
+                "--force-ipv4",
+                "-o", outputTemplate,
+                url
+        );
+        builder.redirectErrorStream(true);
+        Process process = builder.start();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                log.debug("[yt-dlp] {}", line);
+            }
+        }
+
+        int exitCode = process.waitFor();
+        File[] subtitleFiles = directory.listFiles((dir, name) -> name.startsWith(jobId + "."));
+
+        try {
+            if (exitCode != 0 || subtitleFiles == null || subtitleFiles.length == 0) {
+                log.info(">>>>> [Job: {}] 사용할 수 있는 자막 없음 (exit: {})", jobId, exitCode);
+                return null;
+            }
+
+            File selected = selectByLanguage(jobId, subtitleFiles);
+            if (selected == null) {
+                return null;
+            }
+
+            String transcript = normalize(Files.readString(selected.toPath(), StandardCharsets.UTF_8));
+            if (transcript.length() < minChars) {
+                log.info(">>>>> [Job: {}] 자막이 너무 짧음 (길이: {}). 영상 분석으로 대체", jobId, transcript.length());
+                return null;
+            }
+
+            log.info(">>>>> [Job: {}] 자막 추출 성공 ({}, 길이: {})", jobId, selected.getName(), transcript.length());
+            return transcript;
+        } finally {
+            if (subtitleFiles != null) {
+                Arrays.stream(subtitleFiles).forEach(File::delete);
+            }
+        }
+    }
+
+    // 파일명 형식 : {jobId}.{언어}.{확장자}
+    private File selectByLanguage(String jobId, File[] subtitleFiles) {
+        for (String language : languages) {
+            for (String extension : SUBTITLE_EXTENSIONS) {
+                String expected = jobId + "." + language + "." + extension;
+                for (File file : subtitleFiles) {
+                    if (file.getName().equals(expected)) {
+                        return file;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * VTT/SRT 자막을 평문으로 변환합니다.
+     * - 헤더, 타임코드, 큐 번호, 인라인 태그 제거
+     * - 자동 생성 자막은 앞 큐의 문장을 다음 큐에서 반복하므로 연속 중복 줄은 한 번만 남김
+     */
+    static String normalize(String subtitle) {
+        List<String> lines = new ArrayList<>();
+        boolean skipBlock = false;
+        String previous = null;
+
+        for (String rawLine : subtitle.split("\\R")) {
+            String line = rawLine.strip();
+
+            if (line.isEmpty()) {
+                skipBlock = false;
+                continue;
+            }
+            if (skipBlock) {
+                continue;
+            }
+            if (line.startsWith("WEBVTT") || line.startsWith("NOTE") || line.startsWith("STYLE") || line.startsWith("REGION")) {
+                skipBlock = true; // 빈 줄이 나올 때까지 메타데이터 블록
+                continue;
+            }
+            if (line.contains("-->") || CUE_NUMBER_PATTERN.matcher(line).matches()
+                    || line.startsWith("Kind:") || line.startsWith("Language:")) {
+                continue;
+            }
+
+            String text = WHITESPACE_PATTERN.matcher(decodeEntities(TAG_PATTERN.matcher(line).replaceAll(" "))).replaceAll(" ").strip();
+            if (text.isEmpty() || text.equals(previous)) {
+                continue;
+            }
+            lines.add(text);
+            previous = text;
+        }
+
+        return String.join(" ", lines);
+    }
+
+    private static String decodeEntities(String text) {
+        return text.replace("&nbsp;", " ")
+                .replace("&lt;", "<")
+                .replace("&gt;", ">")
+                .replace("&quot;", "\"")
+                .replace("&#39;", "'")
+                .replace("&amp;", "&");
+    }
+}
@@ -0,0 +1,142 @@
+package com.ondongne.backend.global.codec;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Redis에 저장하는 큰 값(작업 결과, 퀴즈 캐시)의 인코딩
+ * [버전 1B][플래그 1B][(압축 시) 원본 길이 4B][본문]
+ * - 플래그 하위 4비트 : 형식 (PayloadFormat id), 0x80 : LZ4 압축
+ * - 클래스 이름(@class) 없이 저장하고, 읽을 타입은 호출 측이 지정
+ * - 본문이 compression-threshold-bytes 이상이고 압축해서 실제로 줄어들 때만 압축
+ * - '{'로 시작하는 값은 이 형식 도입 전의 JSON으로 읽음
+ * - 압축 해제는 입력 범위를 검사하는 safe 디코더로 하고, 헤더의 원본 길이가 max-decompressed-bytes를 넘으면 읽지 않음
+ * 읽을 때는 헤더에 기록된 형식을 따르므로, 설정(format)을 바꿔도 이미 저장된 값은 그대로 읽을 수 있습니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PayloadCodec {
+
+    // 새로 쓰는 값의 형식
+    @Value("${app.cache.codec.format}")
+    private PayloadFormat format;
+
+    // 본문이 이 크기 이상이면 LZ4 압축 (0 이하면 압축하지 않음)
+    @Value("${app.cache.codec.compression-threshold-bytes}")
+    private int compressionThresholdBytes;
+
+    // 압축 해제 후 최대 크기 (헤더의 원본 길이가 이보다 크면 손상된 값으로 보고 할당하지 않음)
+    @Value("${app.cache.codec.max-decompressed-bytes}")
+    private int maxDecompressedBytes;
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    static final byte VERSION = 1;
+
+    private static final int HEADER_BYTES = 2;
+    private static final int LENGTH_BYTES = 4;
+    private static final int FLAG_LZ4 = 0x80;
+    private static final int FORMAT_MASK = 0x0F;
+
+    private final Map<PayloadFormat, ObjectMapper> mappers = new EnumMap<>(PayloadFormat.class);
+    private LZ4Compressor compressor;
+    private LZ4SafeDecompressor decompressor;
+
+    @PostConstruct
+    void init() {
+        for (PayloadFormat payloadFormat : PayloadFormat.values()) {
+            mappers.put(payloadFormat, objectMapper.copyWith(payloadFormat.newFactory())
+                    .setSerializationInclusion(JsonInclude.Include.NON_NULL));
+        }
+        LZ4Factory lz4 = LZ4Factory.fastestInstance();
+        compressor = lz4.fastCompressor();
+        decompressor = lz4.safeDecompressor();
+    }
+
+    public byte[] encode(Object value) {
+        byte[] body;
+        try {
+            body = mappers.get(format).writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new SerializationException("값 직렬화 실패: " + value.getClass().getSimpleName(), e);
+        }
+
+        byte[] encoded = compressionThresholdBytes > 0 && body.length >= compressionThresholdBytes
+                ? compress(body)
+                : null;
+        if (encoded == null) {
+            encoded = new byte[HEADER_BYTES + body.length];
+            encoded[0] = VERSION;
+            encoded[1] = format.id();
+            System.arraycopy(body, 0, encoded, HEADER_BYTES, body.length);
+        }
+
+        meterRegistry.summary("cache.codec.encoded.bytes", "type", value.getClass().getSimpleName()).record(encoded.length);
+        return encoded;
+    }
+
+    public <T> T decode(byte[] bytes, Class<T> type) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        try {
+            if (bytes[0] == '{') {
+                return objectMapper.readValue(bytes, type); // 도입 전 JSON
+            }
+            if (bytes[0] != VERSION || bytes.length < HEADER_BYTES) {
+                throw new SerializationException("지원하지 않는 값 버전: " + bytes[0]);
+            }
+
+            ObjectMapper mapper = mappers.get(PayloadFormat.fromId(bytes[1] & FORMAT_MASK));
+            if ((bytes[1] & FLAG_LZ4) == 0) {
+                return mapper.readValue(bytes, HEADER_BYTES, bytes.length - HEADER_BYTES, type);
+            }
+
+            int length = ByteBuffer.wrap(bytes, HEADER_BYTES, LENGTH_BYTES).getInt();
+            if (length < 0 || length > maxDecompressedBytes) {
+                throw new SerializationException("압축 해제 길이가 허용 범위를 벗어남: " + length);
+            }
+            byte[] body = new byte[length];
+            int offset = HEADER_BYTES + LENGTH_BYTES;
+            int decompressed = decompressor.decompress(bytes, offset, bytes.length - offset, body, 0, length);
+            if (decompressed != length) {
+                throw new SerializationException("압축 해제 길이 불일치: " + decompressed + "/" + length);
+            }
+            return mapper.readValue(body, type);
+        } catch (IOException | LZ4Exception | IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new SerializationException("값 역직렬화 실패: " + type.getSimpleName(), e);
+        }
+    }
+
+    // 압축해도 줄지 않으면 null
+    private byte[] compress(byte[] body) {
+        int maxLength = compressor.maxCompressedLength(body.length);
+        byte[] buffer = new byte[HEADER_BYTES + LENGTH_BYTES + maxLength];
+        int compressedLength = compressor.compress(body, 0, body.length, buffer, HEADER_BYTES + LENGTH_BYTES, maxLength);
+        if (LENGTH_BYTES + compressedLength >= body.length) {
+            return null;
+        }
+
+        buffer[0] = VERSION;
+        buffer[1] = (byte) (format.id() | FLAG_LZ4);
+        ByteBuffer.wrap(buffer, HEADER_BYTES, LENGTH_BYTES).putInt(body.length);
+        return Arrays.copyOf(buffer, HEADER_BYTES + LENGTH_BYTES + compressedLength);
+    }
+}
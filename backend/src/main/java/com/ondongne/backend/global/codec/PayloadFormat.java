@@ -0,0 +1,42 @@
+package com.ondongne.backend.global.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import java.util.function.Supplier;
+
+/**
+ * PayloadCodec이 지원하는 직렬화 형식
+ * id는 저장된 값의 헤더에 기록되므로 한 번 정한 값은 바꾸지 않습니다. (새 형식은 새 id로 추가)
+ */
+public enum PayloadFormat {
+    JSON(1, JsonFactory::new),
+    CBOR(2, CBORFactory::new),
+    SMILE(3, SmileFactory::new);
+
+    private final byte id;
+    private final Supplier<JsonFactory> factory;
+
+    PayloadFormat(int id, Supplier<JsonFactory> factory) {
+        this.id = (byte) id;
+        this.factory = factory;
+    }
+
+    byte id() {
+        return id;
+    }
+
+    JsonFactory newFactory() {
+        return factory.get();
+    }
+
+    static PayloadFormat fromId(int id) {
+        for (PayloadFormat format : values()) {
+            if (format.id == id) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("알 수 없는 직렬화 형식: " + id);
+    }
+}
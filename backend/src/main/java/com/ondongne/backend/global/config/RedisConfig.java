@@ -3,10 +3,12 @@ package com.ondongne.backend.global.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 @Configuration
@@ -18,8 +20,9 @@ public class RedisConfig {
     @Value("${spring.data.redis.port}")
     private int port;
 
+    // Lettuce 연결은 블로킹/리액티브 템플릿이 함께 사용
     @Bean
-    public RedisConnectionFactory redisConnectionFactory() {
+    public LettuceConnectionFactory redisConnectionFactory() {
         return new LettuceConnectionFactory(host, port);
     }
 
@@ -35,4 +38,29 @@ public class RedisConfig {
 
         return redisTemplate;
     }
+
+    // PayloadCodec으로 인코딩한 값(작업 결과, 퀴즈 캐시)을 그대로 읽고 쓰는 템플릿
+    @Bean
+    public RedisTemplate<String, byte[]> binaryRedisTemplate() {
+        RedisTemplate<String, byte[]> binaryRedisTemplate = new RedisTemplate<>();
+        binaryRedisTemplate.setConnectionFactory(redisConnectionFactory());
+
+        binaryRedisTemplate.setKeySerializer(new StringRedisSerializer());
+        binaryRedisTemplate.setValueSerializer(RedisSerializer.byteArray());
+
+        return binaryRedisTemplate;
+    }
+
+    // 작업 상태 저장소(JobRedisRepository)용. 리액터 파이프라인 안에서 스레드를 막지 않고 읽고 씀
+    @Bean
+    public ReactiveStringRedisTemplate reactiveStringRedisTemplate() {
+        return new ReactiveStringRedisTemplate(redisConnectionFactory());
+    }
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer() {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory());
+        return container;
+    }
 }
@@ -0,0 +1,16 @@
+package com.ondongne.backend.global.exception;
+
+public class JobNotFoundException extends BaseException {
+
+    private static final String MESSAGE = "존재하지 않거나 만료된 작업입니다.";
+    private static final String ERROR_CODE = "JOB_NOT_FOUND";
+
+    public JobNotFoundException() {
+        super(MESSAGE, ERROR_CODE);
+    }
+
+    @Override
+    public int getStatusCode() {
+        return 404;
+    }
+}
@@ -0,0 +1,16 @@
+package com.ondongne.backend.global.exception;
+
+public class JobQueueFullException extends BaseException {
+
+    private static final String MESSAGE = "현재 요청이 많아 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요.";
+    private static final String ERROR_CODE = "JOB_QUEUE_FULL";
+
+    public JobQueueFullException() {
+        super(MESSAGE, ERROR_CODE);
+    }
+
+    @Override
+    public int getStatusCode() {
+        return 503;
+    }
+}
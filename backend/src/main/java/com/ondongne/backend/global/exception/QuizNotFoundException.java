@@ -0,0 +1,16 @@
+package com.ondongne.backend.global.exception;
+
+public class QuizNotFoundException extends BaseException {
+
+    private static final String MESSAGE = "존재하지 않는 퀴즈입니다.";
+    private static final String ERROR_CODE = "QUIZ_NOT_FOUND";
+
+    public QuizNotFoundException() {
+        super(MESSAGE, ERROR_CODE);
+    }
+
+    @Override
+    public int getStatusCode() {
+        return 404;
+    }
+}
@@ -0,0 +1,16 @@
+package com.ondongne.backend.global.exception;
+
+public class TooManyJobIdsException extends BaseException {
+
+    private static final String MESSAGE = "한 번에 조회할 수 있는 작업은 최대 %d개입니다.";
+    private static final String ERROR_CODE = "TOO_MANY_JOB_IDS";
+
+    public TooManyJobIdsException(int maxJobIds) {
+        super(String.format(MESSAGE, maxJobIds), ERROR_CODE);
+    }
+
+    @Override
+    public int getStatusCode() {
+        return 400;
+    }
+}
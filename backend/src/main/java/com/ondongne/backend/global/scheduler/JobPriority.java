@@ -0,0 +1,12 @@
+package com.ondongne.backend.global.scheduler;
+
+/**
+ * 작업 우선순위 (값이 작을수록 먼저 실행)
+ * 처리 비용이 작은 작업을 먼저 실행(short-job-first)하여, 짧은 블로그 작업이 긴 영상 작업 뒤에서 굶지 않도록 합니다.
+ * Reactor Context에 JobPriority.class 키로 담겨 각 단계(Stage)의 대기열 순서를 결정합니다.
+ */
+public enum JobPriority {
+    TEXT,   // 블로그/웹 글 (크롤링 + 텍스트 생성)
+    VIDEO,  // 유튜브 영상 (다운로드 + 업로드 + 처리 대기 + 생성)
+    BATCH   // 배치 요청 (결과를 기다리는 사용자가 없으므로 항상 마지막)
+}
@@ -0,0 +1,155 @@
+package com.ondongne.backend.global.scheduler;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 퀴즈 생성 작업 스케줄러
+ * - JOB 단계 : 동시에 실행되는 작업 수를 제한하고, 넘치는 작업은 제한된 크기의 대기열에 보관 (가득 차면 거절)
+ * - 세부 단계 : 크롤링 / 다운로드 / 업로드 / 생성 호출마다 별도의 동시 실행 제한
+ * - 모든 대기열은 JobPriority 순서 (텍스트 작업 우선)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JobScheduler {
+
+    @Value("${app.scheduler.max-active-jobs}")
+    private int maxActiveJobs;
+
+    @Value("${app.scheduler.max-queue-size}")
+    private int maxQueueSize;
+
+    @Value("${app.scheduler.crawl-concurrency}")
+    private int crawlConcurrency;
+
+    @Value("${app.scheduler.download-concurrency}")
+    private int downloadConcurrency;
+
+    @Value("${app.scheduler.upload-concurrency}")
+    private int uploadConcurrency;
+
+    @Value("${app.scheduler.generate-concurrency}")
+    private int generateConcurrency;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<JobStage, StageLimiter> limiters = new EnumMap<>(JobStage.class);
+
+    @PostConstruct
+    void init() {
+        register(JobStage.JOB, maxActiveJobs, maxQueueSize);
+        register(JobStage.CRAWL, crawlConcurrency, Integer.MAX_VALUE);
+        register(JobStage.DOWNLOAD, downloadConcurrency, Integer.MAX_VALUE);
+        register(JobStage.UPLOAD, uploadConcurrency, Integer.MAX_VALUE);
+        register(JobStage.GENERATE, generateConcurrency, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 작업을 대기열에 등록합니다. (가득 찬 경우 JobQueueFullException)
+     * 반환된 Ticket으로 run()을 호출해야 실제로 실행되며, 실행하지 않을 경우 cancel()로 자리를 돌려줘야 합니다.
+     */
+    public Ticket enqueue(JobPriority priority) {
+        StageLimiter admission = limiters.get(JobStage.JOB);
+        StageLimiter.Waiter waiter = admission.offer(priority);
+        return new Ticket(priority, waiter, admission.positionOf(waiter));
+    }
+
+    /**
+     * 자리가 배정되면 작업을 실행하고, 종료(성공/실패/취소) 시 자리를 반납합니다.
+     */
+    public <T> Mono<T> run(Ticket ticket, Mono<T> job) {
+        return Mono.usingWhen(
+                        ticket.waiter.await(),
+                        permit -> job,
+                        permit -> Mono.fromRunnable(permit::release))
+                .contextWrite(ctx -> ctx.put(JobPriority.class, ticket.priority));
+    }
+
+    /**
+     * 세부 단계의 동시 실행 수 제한을 적용합니다. 우선순위는 Reactor Context의 JobPriority를 따릅니다.
+     */
+    public <T> Mono<T> limit(JobStage stage, Mono<T> work) {
+        StageLimiter limiter = limiters.get(stage);
+        return Mono.deferContextual(ctx -> {
+            JobPriority priority = ctx.getOrDefault(JobPriority.class, JobPriority.TEXT);
+            return Mono.usingWhen(
+                    limiter.acquire(priority),
+                    permit -> work,
+                    permit -> Mono.fromRunnable(permit::release));
+        });
+    }
+
+    /**
+     * limit()의 Flux 버전. 스트림이 끝날 때까지 자리를 점유합니다.
+     */
+    public <T> Flux<T> limitMany(JobStage stage, Flux<T> work) {
+        StageLimiter limiter = limiters.get(stage);
+        return Flux.deferContextual(ctx -> {
+            JobPriority priority = ctx.getOrDefault(JobPriority.class, JobPriority.TEXT);
+            return Flux.usingWhen(
+                    limiter.acquire(priority),
+                    permit -> work,
+                    permit -> Mono.fromRunnable(permit::release));
+        });
+    }
+
+    private void register(JobStage stage, int maxConcurrency, int maxWaiting) {
+        String stageTag = stage.name().toLowerCase(Locale.ROOT);
+        Timer waitTimer = Timer.builder("quiz.scheduler.wait")
+                .description("단계별 대기 시간")
+                .tag("stage", stageTag)
+                .register(meterRegistry);
+
+        StageLimiter limiter = new StageLimiter(maxConcurrency, maxWaiting, waitTimer);
+        limiters.put(stage, limiter);
+
+        Gauge.builder("quiz.scheduler.waiting", limiter, StageLimiter::getWaitingCount)
+                .description("단계별 대기열 길이")
+                .tag("stage", stageTag)
+                .register(meterRegistry);
+        Gauge.builder("quiz.scheduler.active", limiter, StageLimiter::getActiveCount)
+                .description("단계별 실행 중인 작업 수")
+                .tag("stage", stageTag)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 대기열 등록 결과 (position : 앞에서 기다리는 작업 수 + 1, 바로 실행 가능하면 0)
+     */
+    public static class Ticket {
+        private final JobPriority priority;
+        private final StageLimiter.Waiter waiter;
+        private final int position;
+
+        private Ticket(JobPriority priority, StageLimiter.Waiter waiter, int position) {
+            this.priority = priority;
+            this.waiter = waiter;
+            this.position = position;
+        }
+
+        public int getPosition() {
+            return position;
+        }
+
+        public boolean isQueued() {
+            return position > 0;
+        }
+
+        public void cancel() {
+            waiter.cancel();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.ondongne.backend.global.scheduler;
+
+/**
+ * 동시 실행 수를 제한하는 작업 단계
+ */
+public enum JobStage {
+    JOB,        // 작업 전체 (동시 실행 작업 수 + 대기열)
+    CRAWL,      // 블로그 크롤링
+    DOWNLOAD,   // yt-dlp 영상 다운로드
+    UPLOAD,     // Gemini 파일 업로드
+    GENERATE    // Gemini 퀴즈 생성 호출
+}
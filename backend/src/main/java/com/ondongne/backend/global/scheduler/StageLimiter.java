@@ -0,0 +1,162 @@
+package com.ondongne.backend.global.scheduler;
+
+import com.ondongne.backend.global.exception.JobQueueFullException;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 한 단계(Stage)의 동시 실행 수를 제한하는 우선순위 세마포어입니다.
+ * 자리가 없으면 대기열에 들어가며, 대기열은 (우선순위, 도착 순서) 순으로 자리를 받습니다.
+ */
+class StageLimiter {
+
+    private final int maxConcurrency;
+    private final int maxWaiting;
+    private final Timer waitTimer;
+
+    private final PriorityQueue<Waiter> waiters = new PriorityQueue<>(
+            Comparator.comparing((Waiter w) -> w.priority).thenComparingLong(w -> w.sequence));
+
+    private int active;
+    private long sequence;
+
+    StageLimiter(int maxConcurrency, int maxWaiting, Timer waitTimer) {
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.maxWaiting = maxWaiting;
+        this.waitTimer = waitTimer;
+    }
+
+    /**
+     * 자리를 요청합니다. 즉시 자리가 있으면 바로 배정되고, 없으면 대기열에 등록됩니다.
+     *
+     * @throws JobQueueFullException 대기열이 가득 찬 경우
+     */
+    Waiter offer(JobPriority priority) {
+        Waiter waiter;
+        synchronized (this) {
+            if (active < maxConcurrency && waiters.isEmpty()) {
+                active++;
+                waiter = new Waiter(this, priority, sequence++);
+                waiter.permit = new Permit(this);
+            } else {
+                if (waiters.size() >= maxWaiting) {
+                    throw new JobQueueFullException();
+                }
+                waiter = new Waiter(this, priority, sequence++);
+                waiters.add(waiter);
+                return waiter;
+            }
+        }
+        waiter.grant();
+        return waiter;
+    }
+
+    Mono<Permit> acquire(JobPriority priority) {
+        return Mono.defer(() -> offer(priority).await());
+    }
+
+    // 앞에서 기다리는 작업 수 (1부터 시작, 이미 실행 중이면 0)
+    synchronized int positionOf(Waiter waiter) {
+        if (waiter.permit != null) {
+            return 0;
+        }
+        int ahead = 0;
+        for (Waiter other : waiters) {
+            if (waiters.comparator().compare(other, waiter) < 0) {
+                ahead++;
+            }
+        }
+        return ahead + 1;
+    }
+
+    synchronized int getWaitingCount() {
+        return waiters.size();
+    }
+
+    synchronized int getActiveCount() {
+        return active;
+    }
+
+    private void releaseSlot() {
+        Waiter next;
+        synchronized (this) {
+            next = waiters.poll();
+            if (next == null) {
+                active--;
+                return;
+            }
+            // 자리를 반납하지 않고 다음 대기자에게 그대로 넘김
+            next.permit = new Permit(this);
+        }
+        next.grant();
+    }
+
+    private void cancel(Waiter waiter) {
+        Permit granted;
+        synchronized (this) {
+            if (waiters.remove(waiter)) {
+                return;
+            }
+            granted = waiter.permit;
+        }
+        if (granted != null) {
+            granted.release();
+        }
+    }
+
+    /**
+     * 대기열 등록 정보. await()로 자리가 배정될 때까지 기다립니다.
+     */
+    static class Waiter {
+        private final StageLimiter limiter;
+        private final JobPriority priority;
+        private final long sequence;
+        private final long enqueuedAt = System.nanoTime();
+        private final Sinks.One<Permit> sink = Sinks.one();
+        private volatile Permit permit;
+
+        private Waiter(StageLimiter limiter, JobPriority priority, long sequence) {
+            this.limiter = limiter;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        Mono<Permit> await() {
+            return sink.asMono().doOnCancel(this::cancel);
+        }
+
+        // 대기 취소 (이미 자리를 받았다면 반납)
+        void cancel() {
+            limiter.cancel(this);
+        }
+
+        private void grant() {
+            limiter.waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+            sink.tryEmitValue(permit);
+        }
+    }
+
+    /**
+     * 배정된 자리. release()는 여러 번 호출되어도 한 번만 반납됩니다.
+     */
+    static class Permit {
+        private final StageLimiter limiter;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(StageLimiter limiter) {
+            this.limiter = limiter;
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                limiter.releaseSlot();
+            }
+        }
+    }
+}
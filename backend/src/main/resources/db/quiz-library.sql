@@ -0,0 +1,34 @@
+-- 퀴즈 보관함 스키마 (prod는 ddl-auto: none 이므로 배포 전에 직접 적용)
+-- 엔티티 : domain/quiz/entity/Quiz, Question / 쓰기 : QuizArchiveWriter (JDBC 배치 INSERT)
+
+CREATE TABLE IF NOT EXISTS quiz
+(
+    id          BIGINT        NOT NULL AUTO_INCREMENT,
+    source_hash BINARY(32)    NOT NULL, -- SHA-256(source_key)
+    source_key  VARCHAR(512)  NOT NULL,
+    source_type VARCHAR(16)   NOT NULL,
+    url         VARCHAR(2048) NOT NULL,
+    quiz_count  INT           NOT NULL,
+    title       VARCHAR(500),
+    stale       BIT(1)        NOT NULL,
+    created_at  DATETIME(6)   NOT NULL,
+    PRIMARY KEY (id),
+    -- 원본별 최신 퀴즈 조회는 이 인덱스만 읽음 (InnoDB 보조 인덱스 끝에 id 포함)
+    INDEX idx_quiz_source (source_hash, quiz_count, stale)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS question
+(
+    quiz_id      BIGINT NOT NULL,
+    seq          INT    NOT NULL,
+    question     TEXT   NOT NULL,
+    options      TEXT,
+    answer       TEXT,
+    explanation  TEXT,
+    code_snippet TEXT,
+    -- 한 퀴즈의 문제가 클러스터 인덱스에서 연속으로 놓임
+    PRIMARY KEY (quiz_id, seq),
+    CONSTRAINT fk_question_quiz FOREIGN KEY (quiz_id) REFERENCES quiz (id) ON DELETE CASCADE
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4;
@@ -0,0 +1,115 @@
+package com.ondongne.backend.domain.crawler.extractor;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 저장해 둔 실제 형태의 HTML(src/test/resources/crawler/fixtures)로 본문 추출 결과를 검증합니다.
+ * 처리량 벤치마크는 기본 테스트에서 제외되며 ./gradlew benchmark 로 실행합니다.
+ */
+class ContentExtractorRegistryTest {
+
+    private final ContentExtractorRegistry registry = new ContentExtractorRegistry(List.of(
+            new NaverBlogExtractor(),
+            new TistoryExtractor(),
+            new VelogExtractor(),
+            new GenericContentExtractor()
+    ));
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "naver-postview.html | https://blog.naver.com/PostView.naver?blogId=devnote&logNo=223000000001 | REQUIRES_NEW는 항상 새로운 물리 트랜잭션 | 퍼가요",
+            "tistory.html        | https://devdiary.tistory.com/42                                          | Weak Generational Hypothesis        | 최근 댓글",
+            "velog.html          | https://velog.io/@coder/redis-cache                                      | Cache-Aside                         | 잘 읽었습니다",
+            "generic-blog.html   | https://example.dev/blog/backpressure                                    | request(n)                          | Related posts",
+            "generic-news.html   | https://news.example.co.kr/article/1234                                  | 멀티 클라우드 전략                  | 광고 배너"
+    })
+    void extractsArticleBodyFromFixture(String fixture, String url, String expected, String unexpected) throws IOException {
+        String text = registry.extract(load(fixture, url), url);
+
+        assertThat(text).isNotNull();
+        assertThat(text).contains(expected);
+        assertThat(text).doesNotContain(unexpected);
+        assertThat(text).contains("\n"); // 문단 단위 줄바꿈 유지
+    }
+
+    @Test
+    void resolvesNaverPostUrlToPostViewWithoutIframeHop() {
+        assertThat(registry.resolveFetchUrl("https://blog.naver.com/devnote/223000000001"))
+                .startsWith("https://blog.naver.com/PostView.naver?blogId=devnote&logNo=223000000001");
+        assertThat(registry.resolveFetchUrl("https://m.blog.naver.com/PostView.naver?blogId=devnote&logNo=223000000001"))
+                .startsWith("https://blog.naver.com/PostView.naver?blogId=devnote&logNo=223000000001");
+        assertThat(registry.resolveFetchUrl("https://example.dev/blog/backpressure"))
+                .isEqualTo("https://example.dev/blog/backpressure");
+    }
+
+    @Test
+    @Tag("benchmark")
+    void extractionThroughput() throws IOException {
+        String[][] fixtures = {
+                {"naver-postview.html", "https://blog.naver.com/PostView.naver?blogId=devnote&logNo=223000000001"},
+                {"tistory.html", "https://devdiary.tistory.com/42"},
+                {"velog.html", "https://velog.io/@coder/redis-cache"},
+                {"generic-blog.html", "https://example.dev/blog/backpressure"},
+                {"generic-news.html", "https://news.example.co.kr/article/1234"},
+                {"generic-blog.html", "https://example.dev/blog/backpressure-large"} // 본문을 부풀린 큰 페이지
+        };
+        int warmup = 200;
+        int iterations = 2_000;
+
+        for (String[] fixture : fixtures) {
+            byte[] html = read(fixture[0]);
+            if (fixture[1].endsWith("-large")) {
+                html = inflate(html);
+            }
+
+            for (int i = 0; i < warmup; i++) {
+                registry.extract(parse(html, fixture[1]), fixture[1]);
+            }
+
+            long started = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                registry.extract(parse(html, fixture[1]), fixture[1]);
+            }
+            double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+
+            System.out.printf("%-45s %8d bytes  %10.1f pages/s  %8.1f MB/s%n",
+                    fixture[1], html.length, iterations / seconds, html.length * (double) iterations / seconds / (1024 * 1024));
+        }
+    }
+
+    private Document load(String fixture, String url) throws IOException {
+        return parse(read(fixture), url);
+    }
+
+    private Document parse(byte[] html, String url) throws IOException {
+        return Jsoup.parse(new ByteArrayInputStream(html), null, url);
+    }
+
+    private byte[] read(String fixture) throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/crawler/fixtures/" + fixture)) {
+            assertThat(in).as(fixture).isNotNull();
+            return in.readAllBytes();
+        }
+    }
+
+    // 본문 문단을 200배로 복제한 대형 페이지
+    private byte[] inflate(byte[] html) {
+        String page = new String(html, java.nio.charset.StandardCharsets.UTF_8);
+        int start = page.indexOf("<p>");
+        int end = page.indexOf("</blockquote>");
+        String paragraphs = page.substring(start, end);
+        return page.replace(paragraphs, paragraphs.repeat(200)).getBytes(java.nio.charset.StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,242 @@
+package com.ondongne.backend.domain.gemini.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ondongne.backend.domain.gemini.dto.GeminiBatchEntry;
+import com.ondongne.backend.domain.gemini.dto.GeminiBatchJob;
+import com.ondongne.backend.domain.gemini.dto.GeminiBatchResultEvent;
+import com.ondongne.backend.domain.gemini.repository.GeminiBatchRepository;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 로컬 stub 서버(JDK HttpServer)로 Batch API 연동(입력 업로드 → 배치 생성 → 상태 조회 → 결과 다운로드)을 오프라인에서 검증합니다.
+ */
+class GeminiBatchServiceTest {
+
+    private HttpServer server;
+    private String baseUrl;
+    private final List<String> uploadedBodies = new CopyOnWriteArrayList<>();
+    private final List<String> createBodies = new CopyOnWriteArrayList<>();
+    private final List<Object> events = new CopyOnWriteArrayList<>();
+    private volatile String batchState = "BATCH_STATE_RUNNING";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final GeminiBatchRepository batchRepository = mock(GeminiBatchRepository.class);
+
+    private GeminiKeyPool keyPool;
+    private GeminiBatchService batchService;
+
+    private static final String QUIZ_JSON = "{\"title\":\"배치\",\"questions\":[{\"id\":1,\"question\":\"Q\",\"options\":[\"a\",\"b\",\"c\",\"d\"],\"answer\":\"a\",\"explanation\":\"E\",\"codeSnippet\":\"\"}]}";
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/upload/v1beta/files", this::handleUploadStart);
+        server.createContext("/upload-session", this::handleUploadChunk);
+        server.createContext("/v1beta/models/", this::handleCreateBatch);
+        server.createContext("/v1beta/batches/", this::handleGetBatch);
+        server.createContext("/download/v1beta/", this::handleDownload);
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        keyPool = new GeminiKeyPool(meterRegistry);
+        ReflectionTestUtils.setField(keyPool, "apiKeyValues", List.of("key-a"));
+        ReflectionTestUtils.setField(keyPool, "requestsPerMinute", 10L);
+        ReflectionTestUtils.setField(keyPool, "tokensPerMinute", 250_000L);
+        ReflectionTestUtils.setField(keyPool, "defaultRetryAfterSeconds", 1L);
+        ReflectionTestUtils.setField(keyPool, "maxWaitSeconds", 1L);
+        keyPool.init();
+
+        GeminiFileUploader fileUploader = new GeminiFileUploader(WebClient.builder(), keyPool, meterRegistry);
+        ReflectionTestUtils.setField(fileUploader, "chunkSize", 262_144);
+        ReflectionTestUtils.setField(fileUploader, "maxChunkRetries", 1);
+        ReflectionTestUtils.setField(fileUploader, "prefetchNextChunk", false);
+        ReflectionTestUtils.setField(fileUploader, "baseUrl", baseUrl);
+        fileUploader.init();
+
+        batchService = new GeminiBatchService(batchRepository, fileUploader, keyPool, WebClient.builder(),
+                objectMapper, events::add, meterRegistry);
+        ReflectionTestUtils.setField(batchService, "baseUrl", baseUrl);
+        ReflectionTestUtils.setField(batchService, "modelName", "test-model");
+        ReflectionTestUtils.setField(batchService, "enabled", true);
+        ReflectionTestUtils.setField(batchService, "maxRequests", 100);
+        ReflectionTestUtils.setField(batchService, "maxWaitSeconds", 300L);
+        ReflectionTestUtils.setField(batchService, "maxSubmitAttempts", 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void submitsEntriesAsJsonlAndCreatesBatch() {
+        GeminiBatchJob job = batchService.submit(List.of(entry("job-1"), entry("job-2"))).block();
+
+        assertThat(job).isNotNull();
+        assertThat(job.getName()).isEqualTo("batches/b1");
+        assertThat(job.getKeyId()).isEqualTo(keyPool.getKeys().iterator().next().getId());
+        assertThat(job.getEntries()).extracting(GeminiBatchEntry::getKey).containsExactly("job-1", "job-2");
+        assertThat(job.getEntries()).allSatisfy(entry -> assertThat(entry.getRequest()).isNull()); // 요청 본문은 보관하지 않음
+
+        String[] lines = uploadedBodies.get(0).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("{\"key\":\"job-1\",\"request\":{").contains("본문 job-1");
+        assertThat(createBodies.get(0)).contains("\"file_name\":\"files/input-1\"");
+    }
+
+    @Test
+    void fansOutResultsWhenBatchSucceeds() {
+        GeminiBatchJob job = batchService.submit(List.of(entry("job-1"), entry("job-2"), entry("job-3"))).block();
+        when(batchRepository.claimFinished("batches/b1")).thenReturn(true);
+
+        batchService.check(job);
+        assertThat(events).isEmpty(); // 아직 진행 중
+        verify(batchRepository, never()).claimFinished("batches/b1");
+
+        batchState = "BATCH_STATE_SUCCEEDED";
+        batchService.check(job);
+
+        Map<String, GeminiBatchResultEvent> byKey = resultsByKey();
+        assertThat(byKey.get("job-1").isSucceeded()).isTrue();
+        assertThat(byKey.get("job-1").getResult().getTitle()).isEqualTo("배치");
+        assertThat(byKey.get("job-1").getMetadata()).containsEntry("quizCount", "1");
+        assertThat(byKey.get("job-2").isSucceeded()).isFalse();
+        assertThat(byKey.get("job-2").getErrorMessage()).isEqualTo("quota");
+        assertThat(byKey.get("job-3").isSucceeded()).isFalse(); // 결과 파일에 없음
+    }
+
+    @Test
+    void failsAllEntriesWhenBatchExpires() {
+        GeminiBatchJob job = batchService.submit(List.of(entry("job-1"), entry("job-2"))).block();
+        when(batchRepository.claimFinished("batches/b1")).thenReturn(true);
+
+        batchState = "BATCH_STATE_EXPIRED";
+        batchService.check(job);
+
+        assertThat(resultsByKey().values()).hasSize(2).noneMatch(GeminiBatchResultEvent::isSucceeded);
+    }
+
+    @Test
+    void skipsFanOutWhenAnotherNodeClaimedBatch() {
+        GeminiBatchJob job = batchService.submit(List.of(entry("job-1"))).block();
+        when(batchRepository.claimFinished("batches/b1")).thenReturn(false);
+
+        batchState = "BATCH_STATE_SUCCEEDED";
+        batchService.check(job);
+
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    void flushRecordsSubmittedBatchAndClearsProcessingList() {
+        when(batchRepository.pendingSize()).thenReturn(100L, 0L);
+        when(batchRepository.take(anyString(), eq(100), any())).thenReturn(List.of(entry("job-1"), entry("job-2")));
+
+        batchService.flush();
+
+        verify(batchRepository).recoverAbandoned(anyString());
+        verify(batchRepository).activate(anyString(), argThat(job -> job.getName().equals("batches/b1") && job.getEntries().size() == 2));
+        verify(batchRepository, never()).requeue(anyString(), any());
+    }
+
+    @Test
+    void flushRequeuesEntriesWhenSubmitFails() {
+        server.removeContext("/v1beta/models/");
+        server.createContext("/v1beta/models/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            respond(exchange, 400, "{\"error\":{\"message\":\"bad request\"}}", "application/json");
+        });
+        when(batchRepository.pendingSize()).thenReturn(100L);
+        when(batchRepository.take(anyString(), eq(100), any())).thenReturn(List.of(entry("job-1")));
+
+        batchService.flush();
+
+        verify(batchRepository).requeue(anyString(), argThat(entries -> entries.size() == 1 && entries.get(0).getAttempts() == 1));
+        verify(batchRepository, never()).activate(anyString(), any());
+    }
+
+    private Map<String, GeminiBatchResultEvent> resultsByKey() {
+        return events.stream()
+                .map(GeminiBatchResultEvent.class::cast)
+                .collect(Collectors.toMap(GeminiBatchResultEvent::getKey, event -> event));
+    }
+
+    private GeminiBatchEntry entry(String key) {
+        return GeminiBatchEntry.builder()
+                .key(key)
+                .metadata(Map.of("url", "https://example.com/" + key, "quizCount", "1"))
+                .request("{\"contents\":[{\"role\":\"user\",\"parts\":[{\"text\":\"본문 " + key + "\"}]}]}")
+                .enqueuedAt(System.currentTimeMillis())
+                .build();
+    }
+
+    private void handleUploadStart(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        exchange.getResponseHeaders().add("X-Goog-Upload-URL", baseUrl + "/upload-session/1");
+        respond(exchange, 200, "{}", "application/json");
+    }
+
+    private void handleUploadChunk(HttpExchange exchange) throws IOException {
+        uploadedBodies.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+        respond(exchange, 200, "{\"file\":{\"name\":\"files/input-1\",\"uri\":\"" + baseUrl + "/v1beta/files/input-1\"}}", "application/json");
+    }
+
+    private void handleCreateBatch(HttpExchange exchange) throws IOException {
+        createBodies.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+        respond(exchange, 200, "{\"name\":\"batches/b1\",\"metadata\":{\"state\":\"BATCH_STATE_PENDING\"}}", "application/json");
+    }
+
+    private void handleGetBatch(HttpExchange exchange) throws IOException {
+        String body = "BATCH_STATE_SUCCEEDED".equals(batchState)
+                ? "{\"name\":\"batches/b1\",\"metadata\":{\"state\":\"BATCH_STATE_SUCCEEDED\"},\"done\":true,\"response\":{\"responsesFile\":\"files/out-1\"}}"
+                : "{\"name\":\"batches/b1\",\"metadata\":{\"state\":\"" + batchState + "\"}}";
+        respond(exchange, 200, body, "application/json");
+    }
+
+    private void handleDownload(HttpExchange exchange) throws IOException {
+        String success = objectMapper.createObjectNode()
+                .put("key", "job-1")
+                .set("response", objectMapper.readTree("{\"candidates\":[{\"content\":{\"parts\":[{\"text\":"
+                        + objectMapper.writeValueAsString(QUIZ_JSON) + "}]}}]}"))
+                .toString();
+        String failure = "{\"key\":\"job-2\",\"error\":{\"code\":429,\"message\":\"quota\"}}";
+        respond(exchange, 200, success + "\n" + failure + "\n", "application/octet-stream");
+    }
+
+    private void respond(HttpExchange exchange, int status, String body, String contentType) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+}
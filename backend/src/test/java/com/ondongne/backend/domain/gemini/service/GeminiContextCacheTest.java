@@ -0,0 +1,142 @@
+package com.ondongne.backend.domain.gemini.service;
+
+import com.ondongne.backend.domain.gemini.dto.GeminiRequestDto;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 로컬 stub 서버(JDK HttpServer)로 cachedContents 연동을 오프라인에서 검증합니다.
+ */
+class GeminiContextCacheTest {
+
+    private HttpServer server;
+    private final List<String> requestBodies = new CopyOnWriteArrayList<>();
+    private final AtomicInteger created = new AtomicInteger();
+    private volatile int responseStatus = 200;
+
+    private GeminiContextCache contextCache;
+
+    private final GeminiApiKey keyA = new GeminiApiKey("key-a", 10, 250_000);
+    private final GeminiApiKey keyB = new GeminiApiKey("key-b", 10, 250_000);
+
+    private final GeminiRequestDto.Part systemPart = GeminiRequestDto.Part.builder().text("시스템 지시문").build();
+    private final GeminiRequestDto.Part contentPart = GeminiRequestDto.Part.builder().text("긴 본문").build();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1beta/cachedContents", this::handleCreate);
+        server.start();
+
+        contextCache = new GeminiContextCache(WebClient.builder(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(contextCache, "baseUrl", "http://127.0.0.1:" + server.getAddress().getPort());
+        ReflectionTestUtils.setField(contextCache, "modelName", "test-model");
+        ReflectionTestUtils.setField(contextCache, "enabled", true);
+        ReflectionTestUtils.setField(contextCache, "ttlMinutes", 60L);
+        ReflectionTestUtils.setField(contextCache, "refreshMarginSeconds", 120L);
+        ReflectionTestUtils.setField(contextCache, "minContentTokens", 4096L);
+        ReflectionTestUtils.setField(contextCache, "reuseThreshold", 2);
+        ReflectionTestUtils.setField(contextCache, "failureBackoffMinutes", 30L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void sharesOneSystemPromptCachePerKey() {
+        GeminiContextCache.CachedContext first = contextCache.resolve(keyA, systemPart, contentPart, null, 0).block();
+        GeminiContextCache.CachedContext second = contextCache.resolve(keyA, systemPart, contentPart, null, 0).block();
+        GeminiContextCache.CachedContext otherKey = contextCache.resolve(keyB, systemPart, contentPart, null, 0).block();
+
+        assertThat(first).isNotNull();
+        assertThat(first.includesContent()).isFalse();
+        assertThat(second.name()).isEqualTo(first.name());
+        assertThat(otherKey.name()).isNotEqualTo(first.name()); // 캐시는 키(프로젝트)마다 따로
+        assertThat(created).hasValue(2);
+
+        assertThat(requestBodies.get(0))
+                .contains("\"model\":\"models/test-model\"")
+                .contains("시스템 지시문")
+                .contains("\"ttl\":\"3600s\"")
+                .doesNotContain("긴 본문");
+    }
+
+    @Test
+    void cachesLargeContentOnceItIsReused() {
+        GeminiContextCache.CachedContext firstUse = contextCache.resolve(keyA, systemPart, contentPart, "text:abc", 10_000).block();
+        GeminiContextCache.CachedContext secondUse = contextCache.resolve(keyA, systemPart, contentPart, "text:abc", 10_000).block();
+        GeminiContextCache.CachedContext thirdUse = contextCache.resolve(keyA, systemPart, contentPart, "text:abc", 10_000).block();
+
+        assertThat(firstUse.includesContent()).isFalse();
+        assertThat(secondUse.includesContent()).isTrue();
+        assertThat(thirdUse.name()).isEqualTo(secondUse.name());
+        assertThat(created).hasValue(2); // 시스템 지시문 1 + 입력 포함 1
+        assertThat(requestBodies.get(1)).contains("긴 본문").contains("\"role\":\"user\"");
+    }
+
+    @Test
+    void doesNotCacheSmallContent() {
+        contextCache.resolve(keyA, systemPart, contentPart, "text:small", 100).block();
+        GeminiContextCache.CachedContext secondUse = contextCache.resolve(keyA, systemPart, contentPart, "text:small", 100).block();
+
+        assertThat(secondUse.includesContent()).isFalse();
+        assertThat(created).hasValue(1);
+    }
+
+    @Test
+    void fallsBackWithoutCacheAndBacksOffWhenCreationFails() {
+        responseStatus = 400;
+
+        assertThat(contextCache.resolve(keyA, systemPart, contentPart, null, 0).block()).isNull();
+        assertThat(contextCache.resolve(keyA, systemPart, contentPart, null, 0).block()).isNull();
+        assertThat(requestBodies).hasSize(1); // 실패 후 대기 시간 동안은 다시 만들지 않음
+    }
+
+    @Test
+    void recreatesCacheAfterEviction() {
+        GeminiContextCache.CachedContext first = contextCache.resolve(keyA, systemPart, contentPart, null, 0).block();
+        contextCache.evict(keyA, first);
+        GeminiContextCache.CachedContext recreated = contextCache.resolve(keyA, systemPart, contentPart, null, 0).block();
+
+        assertThat(recreated.name()).isNotEqualTo(first.name());
+        assertThat(created).hasValue(2);
+    }
+
+    private void handleCreate(HttpExchange exchange) throws IOException {
+        requestBodies.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+
+        String body;
+        if (responseStatus == 200) {
+            body = String.format("{\"name\":\"cachedContents/c%d\",\"expireTime\":\"%s\"}",
+                    created.incrementAndGet(), Instant.now().plusSeconds(3600));
+        } else {
+            body = "{\"error\":{\"code\":400,\"message\":\"Cached content is too small.\"}}";
+        }
+
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(responseStatus, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.ondongne.backend.domain.gemini.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 긴 텍스트를 나눌 때 코드 블록(``` 로 감싼 pre)의 들여쓰기와 빈 줄이 유지되고 덩어리 사이에서 끊기지 않는지 검증합니다.
+ */
+class TextChunkerTest {
+
+    private static final String CODE = """
+            ```
+            public int sum(int[] values) {
+                int total = 0;
+
+                for (int value : values) {
+                    total += value;
+                }
+                return total;
+            }
+            ```""";
+
+    @Test
+    void keepsCodeBlockVerbatimInOneChunk() {
+        List<String> paragraphs = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            paragraphs.add(prose(i));
+        }
+        paragraphs.add(CODE);
+        for (int i = 4; i <= 5; i++) {
+            paragraphs.add(prose(i));
+        }
+
+        List<String> chunks = TextChunker.split(String.join("\n", paragraphs), 100);
+
+        assertThat(chunks).hasSizeGreaterThan(1);
+        assertThat(chunks).filteredOn(chunk -> chunk.contains("```")).singleElement().asString().contains(CODE);
+    }
+
+    @Test
+    void splitsOversizedCodeBlockOnLinesAndClosesEachPiece() {
+        List<String> body = IntStream.rangeClosed(1, 40)
+                .mapToObj(i -> i % 10 == 0 ? "" : "    call(" + i + ");")
+                .toList();
+        String code = "```\n" + String.join("\n", body) + "\n```";
+
+        List<String> chunks = TextChunker.split(code, 20);
+
+        assertThat(chunks).hasSizeGreaterThan(1);
+        List<String> restored = new ArrayList<>();
+        for (String chunk : chunks) {
+            assertThat(chunk).startsWith("```\n").endsWith("\n```");
+            chunk.lines().filter(line -> !line.equals("```")).forEach(restored::add);
+        }
+        assertThat(restored).isEqualTo(body);
+    }
+
+    private static String prose(int index) {
+        return "문단 " + index + "의 내용은 " + "가".repeat(30) + "입니다.";
+    }
+}
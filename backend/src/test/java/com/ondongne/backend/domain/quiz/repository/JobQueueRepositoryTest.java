@@ -0,0 +1,138 @@
+package com.ondongne.backend.domain.quiz.repository;
+
+import com.ondongne.backend.domain.quiz.repository.JobQueueRepository.QueuedJob;
+import com.ondongne.backend.global.scheduler.JobPriority;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.PendingMessagesSummary;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Redis Stream 명령을 mock으로 두고 처리 중 항목(PEL) 회수 범위와 대기 순번 계산을 검증합니다.
+ */
+class JobQueueRepositoryTest {
+
+    private static final String TEXT_STREAM = "quiz:jobs:text";
+    private static final Duration MIN_IDLE = Duration.ofSeconds(60);
+
+    @SuppressWarnings("unchecked")
+    private final StreamOperations<String, String, String> streams = mock(StreamOperations.class);
+    private JobQueueRepository jobQueueRepository;
+
+    @BeforeEach
+    void setUp() {
+        StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+        when(stringRedisTemplate.<String, String>opsForStream()).thenReturn(streams);
+        jobQueueRepository = new JobQueueRepository(stringRedisTemplate, mock(ReactiveStringRedisTemplate.class));
+
+        when(streams.pending(anyString(), anyString(), any(Range.class), anyLong()))
+                .thenAnswer(invocation -> pending(invocation.getArgument(2), List.of()));
+    }
+
+    @Test
+    void pagesPastLiveEntriesToReclaimStaleOnes() {
+        // 앞쪽 100개는 살아 있는 노드가 처리 중, 그 뒤의 항목만 죽은 노드의 것
+        List<PendingMessage> page1 = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            page1.add(pendingMessage(i, Duration.ofSeconds(1), 1));
+        }
+        List<PendingMessage> page2 = List.of(pendingMessage(101, Duration.ofSeconds(1), 1), pendingMessage(102, Duration.ofMinutes(5), 2));
+
+        when(streams.pending(eq(TEXT_STREAM), eq(JobQueueRepository.GROUP), any(Range.class), anyLong()))
+                .thenAnswer(invocation -> pending(invocation.getArgument(2), page1))
+                .thenAnswer(invocation -> pending(invocation.getArgument(2), page2));
+        when(streams.claim(eq(TEXT_STREAM), eq(JobQueueRepository.GROUP), eq("node-1"), eq(MIN_IDLE), any(RecordId[].class)))
+                .thenReturn(List.of(record(102)));
+
+        List<QueuedJob> claimed = jobQueueRepository.claimStale("node-1", MIN_IDLE, 5);
+
+        assertThat(claimed).extracting(QueuedJob::id).containsExactly(id(102));
+        assertThat(claimed.get(0).deliveries()).isEqualTo(3);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Range<String>> ranges = ArgumentCaptor.forClass(Range.class);
+        verify(streams, times(2)).pending(eq(TEXT_STREAM), eq(JobQueueRepository.GROUP), ranges.capture(), anyLong());
+        assertThat(ranges.getAllValues().get(1).getLowerBound().getValue()).contains("1000-101");
+    }
+
+    @Test
+    void stopsScanningOnceEnoughStaleEntriesFound() {
+        List<PendingMessage> page = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            page.add(pendingMessage(i, Duration.ofMinutes(5), 1));
+        }
+        when(streams.pending(eq(TEXT_STREAM), eq(JobQueueRepository.GROUP), any(Range.class), anyLong()))
+                .thenAnswer(invocation -> pending(invocation.getArgument(2), page));
+        when(streams.claim(eq(TEXT_STREAM), eq(JobQueueRepository.GROUP), eq("node-1"), eq(MIN_IDLE), any(RecordId[].class)))
+                .thenReturn(List.of(record(1), record(2)));
+
+        List<QueuedJob> claimed = jobQueueRepository.claimStale("node-1", MIN_IDLE, 2);
+
+        assertThat(claimed).extracting(QueuedJob::id).containsExactly(id(1), id(2));
+        verify(streams).pending(eq(TEXT_STREAM), eq(JobQueueRepository.GROUP), any(Range.class), anyLong());
+        verify(streams, never()).pending(eq("quiz:jobs:video"), anyString(), any(Range.class), anyLong());
+    }
+
+    @Test
+    void positionCountsWaitingEntriesOfSameOrHigherPriority() {
+        when(streams.size(TEXT_STREAM)).thenReturn(5L);
+        when(streams.pending(TEXT_STREAM, JobQueueRepository.GROUP)).thenReturn(summary(3));
+        when(streams.size("quiz:jobs:video")).thenReturn(4L);
+        when(streams.pending("quiz:jobs:video", JobQueueRepository.GROUP)).thenReturn(summary(1));
+
+        // TEXT 대기 2개 + VIDEO 대기 3개 (방금 넣은 항목 포함), BATCH는 뒤에 실행되므로 세지 않음
+        assertThat(jobQueueRepository.position(JobPriority.VIDEO)).isEqualTo(5);
+        assertThat(jobQueueRepository.position(JobPriority.TEXT)).isEqualTo(2);
+        verify(streams, never()).size("quiz:jobs:batch");
+    }
+
+    private static PendingMessagesSummary summary(long pending) {
+        return new PendingMessagesSummary(JobQueueRepository.GROUP, pending, Range.unbounded(), Map.of());
+    }
+
+    private static PendingMessages pending(Range<?> range, List<PendingMessage> messages) {
+        return new PendingMessages(JobQueueRepository.GROUP, range, messages);
+    }
+
+    private static PendingMessage pendingMessage(long sequence, Duration idle, long deliveries) {
+        return new PendingMessage(id(sequence), Consumer.from(JobQueueRepository.GROUP, "node-0"), idle, deliveries);
+    }
+
+    private static MapRecord<String, String, String> record(long sequence) {
+        return StreamRecords.newRecord()
+                .in(TEXT_STREAM)
+                .withId(id(sequence))
+                .ofMap(Map.of("jobId", "job-" + sequence, "url", "https://example.dev/" + sequence,
+                        "visualAnalysis", "false", "quizCount", "5", "priority", "TEXT", "batch", "false"));
+    }
+
+    private static RecordId id(long sequence) {
+        return RecordId.of(1000, sequence);
+    }
+}
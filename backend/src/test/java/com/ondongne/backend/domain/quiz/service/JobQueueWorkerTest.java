@@ -0,0 +1,168 @@
+package com.ondongne.backend.domain.quiz.service;
+
+import com.ondongne.backend.domain.quiz.dto.QuizJobMessage;
+import com.ondongne.backend.domain.quiz.repository.JobQueueRepository;
+import com.ondongne.backend.domain.quiz.repository.JobQueueRepository.QueuedJob;
+import com.ondongne.backend.global.scheduler.JobPriority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 대기열 저장소와 QuizService를 mock으로 두고 워커의 확인 응답/동시 실행 수/회수/종료 처리를 검증합니다.
+ */
+class JobQueueWorkerTest {
+
+    private static final long POLL_MILLIS = 20;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final JobQueueRepository jobQueueRepository = mock(JobQueueRepository.class);
+    private final QuizService quizService = mock(QuizService.class);
+    private JobQueueWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        worker = new JobQueueWorker(jobQueueRepository, quizService, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(worker, "enabled", true);
+        ReflectionTestUtils.setField(worker, "concurrency", 2);
+        ReflectionTestUtils.setField(worker, "pollTimeoutMillis", POLL_MILLIS);
+        ReflectionTestUtils.setField(worker, "heartbeatIntervalMillis", 50L);
+        ReflectionTestUtils.setField(worker, "claimIdleMillis", 60_000L);
+        ReflectionTestUtils.setField(worker, "reclaimIntervalMillis", 60_000L);
+        ReflectionTestUtils.setField(worker, "maxDeliveries", 3);
+        ReflectionTestUtils.setField(worker, "drainTimeoutSeconds", 5L);
+
+        when(jobQueueRepository.ack(any())).thenReturn(Mono.empty());
+        when(jobQueueRepository.read(anyString(), anyInt(), any())).thenAnswer(invocation -> idle());
+    }
+
+    @AfterEach
+    void tearDown() {
+        worker.stop();
+    }
+
+    @Test
+    void acksOnlyAfterJobFinishes() {
+        QueuedJob job = job("job-1", 1);
+        Sinks.Empty<Void> finished = Sinks.empty();
+        when(jobQueueRepository.read(anyString(), anyInt(), any()))
+                .thenReturn(List.of(job))
+                .thenAnswer(invocation -> idle());
+        when(quizService.runQueuedJob(job.message())).thenReturn(finished.asMono());
+
+        worker.start();
+
+        verify(quizService, timeout(1_000)).runQueuedJob(job.message());
+        verify(jobQueueRepository, after(100).never()).ack(job);
+
+        finished.tryEmitEmpty();
+        verify(jobQueueRepository, timeout(1_000)).ack(job);
+    }
+
+    @Test
+    void leavesFailedJobUnacked() {
+        QueuedJob job = job("job-1", 1);
+        when(jobQueueRepository.read(anyString(), anyInt(), any()))
+                .thenReturn(List.of(job))
+                .thenAnswer(invocation -> idle());
+        when(quizService.runQueuedJob(job.message())).thenReturn(Mono.error(new IllegalStateException("redis down")));
+
+        worker.start();
+
+        verify(quizService, timeout(1_000)).runQueuedJob(job.message());
+        verify(jobQueueRepository, after(100).never()).ack(any());
+    }
+
+    @Test
+    void readsOnlyAsManyAsFreeSlots() {
+        ReflectionTestUtils.setField(worker, "drainTimeoutSeconds", 0L);
+        Sinks.Empty<Void> never = Sinks.empty();
+        when(jobQueueRepository.read(anyString(), eq(2), any()))
+                .thenReturn(List.of(job("job-1", 1)))
+                .thenAnswer(invocation -> idle());
+        when(jobQueueRepository.read(anyString(), eq(1), any()))
+                .thenReturn(List.of(job("job-2", 1)))
+                .thenAnswer(invocation -> idle());
+        when(quizService.runQueuedJob(any())).thenReturn(never.asMono());
+
+        worker.start();
+
+        verify(quizService, timeout(1_000).times(2)).runQueuedJob(any());
+        // 두 자리가 모두 찼으므로 더 읽지 않음
+        verify(jobQueueRepository, after(200).times(1)).read(anyString(), eq(2), any());
+        verify(jobQueueRepository, times(1)).read(anyString(), eq(1), any());
+        verify(jobQueueRepository, timeout(1_000).atLeastOnce()).heartbeat(anyString(), any());
+        verify(quizService, timeout(1_000).atLeastOnce()).renewInflightLeases(any());
+    }
+
+    @Test
+    void deadLettersJobOverDeliveryLimit() {
+        QueuedJob job = job("job-1", 4);
+        ReflectionTestUtils.setField(worker, "reclaimIntervalMillis", 10L);
+        when(jobQueueRepository.claimStale(anyString(), any(), anyInt()))
+                .thenReturn(List.of(job))
+                .thenReturn(List.of());
+        when(quizService.abandonQueuedJob(job.message())).thenReturn(Mono.empty());
+
+        worker.start();
+
+        verify(jobQueueRepository, timeout(1_000)).deadLetter(job, "max-deliveries");
+        verify(quizService).abandonQueuedJob(job.message());
+        verify(quizService, never()).runQueuedJob(any());
+    }
+
+    @Test
+    void drainsInFlightJobsOnStop() {
+        QueuedJob job = job("job-1", 1);
+        when(jobQueueRepository.read(anyString(), anyInt(), any()))
+                .thenReturn(List.of(job))
+                .thenAnswer(invocation -> idle());
+        when(quizService.runQueuedJob(job.message())).thenReturn(Mono.delay(Duration.ofMillis(300)).then());
+        worker.start();
+        verify(quizService, timeout(1_000)).runQueuedJob(job.message());
+
+        worker.stop();
+
+        verify(jobQueueRepository).ack(job);
+        verify(jobQueueRepository).removeConsumerIfIdle(anyString());
+        assertThat(worker.isRunning()).isFalse();
+    }
+
+    // 빈 대기열 (실제 XREADGROUP BLOCK처럼 잠시 기다렸다가 빈 결과)
+    private List<QueuedJob> idle() throws InterruptedException {
+        Thread.sleep(POLL_MILLIS);
+        return List.of();
+    }
+
+    private QueuedJob job(String jobId, long deliveries) {
+        QuizJobMessage message = QuizJobMessage.builder()
+                .jobId(jobId)
+                .url("https://example.dev/" + jobId)
+                .quizCount(5)
+                .priority(JobPriority.TEXT)
+                .build();
+        return new QueuedJob("quiz:jobs:text", RecordId.of(System.currentTimeMillis(), sequence.incrementAndGet()), message, deliveries);
+    }
+}
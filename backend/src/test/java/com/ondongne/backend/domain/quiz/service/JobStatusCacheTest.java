@@ -0,0 +1,152 @@
+package com.ondongne.backend.domain.quiz.service;
+
+import com.ondongne.backend.domain.quiz.dto.JobStatusEvent;
+import com.ondongne.backend.domain.quiz.dto.QuizResponseDto;
+import com.ondongne.backend.domain.quiz.dto.QuizResultDto;
+import com.ondongne.backend.domain.quiz.repository.JobRedisRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 저장소를 mock으로 두고 캐시 적중/무효화/조회 중 경합을 검증합니다.
+ */
+class JobStatusCacheTest {
+
+    private final JobRedisRepository jobRedisRepository = mock(JobRedisRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private JobStatusCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new JobStatusCache(jobRedisRepository, meterRegistry);
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxEntries", 100);
+        ReflectionTestUtils.setField(cache, "maxBytes", 1_048_576L);
+        ReflectionTestUtils.setField(cache, "activeTtlMillis", 60_000L);
+        ReflectionTestUtils.setField(cache, "terminalTtlMillis", 60_000L);
+        cache.init();
+    }
+
+    @Test
+    void servesRepeatedPollsFromMemory() {
+        when(jobRedisRepository.findById("job-1", false)).thenReturn(Mono.just(status("job-1", QuizResponseDto.JobStatus.PROCESSING, 2)));
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(cache.find("job-1", false).block().getStatus()).isEqualTo(QuizResponseDto.JobStatus.PROCESSING);
+        }
+
+        verify(jobRedisRepository, times(1)).findById("job-1", false);
+        assertThat(meterRegistry.get("job.status.cache.hit.ratio").gauge().value()).isEqualTo(0.8);
+    }
+
+    @Test
+    void reloadsAfterNewerEvent() {
+        when(jobRedisRepository.findById("job-1", false))
+                .thenReturn(Mono.just(status("job-1", QuizResponseDto.JobStatus.PROCESSING, 2)))
+                .thenReturn(Mono.just(status("job-1", QuizResponseDto.JobStatus.FAILED, 3)));
+        cache.find("job-1", false).block();
+
+        cache.invalidate(event("job-1", 2)); // 이미 반영된 version
+        assertThat(cache.find("job-1", false).block().getStatus()).isEqualTo(QuizResponseDto.JobStatus.PROCESSING);
+
+        cache.invalidate(event("job-1", 3));
+        assertThat(cache.find("job-1", false).block().getStatus()).isEqualTo(QuizResponseDto.JobStatus.FAILED);
+        verify(jobRedisRepository, times(2)).findById("job-1", false);
+    }
+
+    @Test
+    void doesNotCacheSnapshotOvertakenDuringLoad() {
+        when(jobRedisRepository.findById("job-1", false)).thenAnswer(invocation -> {
+            cache.invalidate(event("job-1", 3)); // 조회하는 사이 다른 노드에서 완료됨
+            return Mono.just(status("job-1", QuizResponseDto.JobStatus.PROCESSING, 2));
+        });
+
+        cache.find("job-1", false).block();
+        cache.find("job-1", false).block();
+
+        verify(jobRedisRepository, times(2)).findById("job-1", false);
+    }
+
+    @Test
+    void loadsResultWhenOnlyStatusWasCached() {
+        QuizResponseDto completed = status("job-1", QuizResponseDto.JobStatus.COMPLETED, 4);
+        when(jobRedisRepository.findById("job-1", false)).thenReturn(Mono.just(completed));
+        QuizResponseDto withResult = status("job-1", QuizResponseDto.JobStatus.COMPLETED, 4);
+        withResult.setResult(QuizResultDto.builder().title("퀴즈").questions(List.of()).build());
+        when(jobRedisRepository.findById("job-1", true)).thenReturn(Mono.just(withResult));
+
+        cache.find("job-1", false).block();
+        assertThat(cache.find("job-1", true).block().getResult()).isNotNull();
+        assertThat(cache.find("job-1", false).block().getResult()).isNull(); // 결과를 가진 항목에서 상태만 반환
+        assertThat(cache.find("job-1", true).block().getResult()).isNotNull();
+
+        verify(jobRedisRepository, times(1)).findById("job-1", false);
+        verify(jobRedisRepository, times(1)).findById("job-1", true);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedOverEntryLimit() {
+        ReflectionTestUtils.setField(cache, "maxEntries", 2);
+        for (String jobId : List.of("job-1", "job-2", "job-3")) {
+            when(jobRedisRepository.findById(jobId, false)).thenReturn(Mono.just(status(jobId, QuizResponseDto.JobStatus.PROCESSING, 1)));
+        }
+
+        cache.find("job-1", false).block();
+        cache.find("job-2", false).block();
+        cache.find("job-1", false).block();
+        cache.find("job-3", false).block();
+        cache.find("job-1", false).block();
+        cache.find("job-2", false).block();
+
+        verify(jobRedisRepository, times(1)).findById("job-1", false);
+        verify(jobRedisRepository, times(2)).findById("job-2", false);
+        assertThat(meterRegistry.get("job.status.cache.evictions").tag("cause", "size").counter().count()).isPositive();
+    }
+
+    @Test
+    void loadsOnlyMissingJobsInOneBatch() {
+        when(jobRedisRepository.findById("job-1", false)).thenReturn(Mono.just(status("job-1", QuizResponseDto.JobStatus.PROCESSING, 1)));
+        when(jobRedisRepository.findAllById(List.of("job-2", "job-3"), false))
+                .thenReturn(Mono.just(Map.of("job-2", status("job-2", QuizResponseDto.JobStatus.COMPLETED, 5))));
+        cache.find("job-1", false).block();
+
+        Map<String, QuizResponseDto> found = cache.findAll(List.of("job-1", "job-2", "job-3"), false).block();
+
+        assertThat(found).containsOnlyKeys("job-1", "job-2"); // job-3은 없는 작업
+        verify(jobRedisRepository, times(1)).findAllById(List.of("job-2", "job-3"), false);
+
+        cache.findAll(List.of("job-1", "job-2"), false).block();
+        verify(jobRedisRepository, times(1)).findAllById(anyList(), anyBoolean());
+    }
+
+    private QuizResponseDto status(String jobId, QuizResponseDto.JobStatus status, long version) {
+        return QuizResponseDto.builder()
+                .jobId(jobId)
+                .status(status)
+                .message(status.name())
+                .version(version)
+                .build();
+    }
+
+    private JobStatusEvent event(String jobId, long version) {
+        return JobStatusEvent.builder()
+                .jobId(jobId)
+                .version(version)
+                .publishedAt(System.currentTimeMillis())
+                .build();
+    }
+}
@@ -0,0 +1,181 @@
+package com.ondongne.backend.domain.quiz.service;
+
+import com.ondongne.backend.domain.quiz.dto.QuizResultDto;
+import com.ondongne.backend.domain.quiz.dto.QuizSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * JDBC 템플릿을 mock으로 두고 버퍼 크기 제한, 배치 단위 저장, 실패 시 재시도, 잘못된 행 분리를 검증합니다.
+ */
+class QuizArchiveWriterTest {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong nextId = new AtomicLong(100);
+    private QuizArchiveWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new QuizArchiveWriter(jdbcTemplate, new TransactionTemplate(mock(PlatformTransactionManager.class)), meterRegistry);
+        ReflectionTestUtils.setField(writer, "bufferSize", 10);
+        ReflectionTestUtils.setField(writer, "batchSize", 2);
+        ReflectionTestUtils.setField(writer, "maxAttempts", 2);
+        writer.init();
+
+        // MySQL처럼 배치 INSERT 순서대로 생성 id를 돌려줌
+        doAnswer(invocation -> {
+            SqlParameterSource[] rows = invocation.getArgument(1);
+            KeyHolder keyHolder = invocation.getArgument(2);
+            for (int i = 0; i < rows.length; i++) {
+                keyHolder.getKeyList().add(Map.of("GENERATED_KEY", BigInteger.valueOf(nextId.getAndIncrement())));
+            }
+            return new int[rows.length];
+        }).when(jdbcTemplate).batchUpdate(anyString(), any(SqlParameterSource[].class), any(KeyHolder.class), any(String[].class));
+    }
+
+    @Test
+    void writesBufferedQuizzesInBatches() {
+        for (int i = 1; i <= 3; i++) {
+            writer.offer("job-" + i, source(i), 2, quiz(2));
+        }
+
+        writer.flush();
+
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), any(SqlParameterSource[].class), any(KeyHolder.class), any(String[].class));
+        ArgumentCaptor<SqlParameterSource[]> questions = ArgumentCaptor.forClass(SqlParameterSource[].class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), questions.capture());
+
+        List<SqlParameterSource> firstBatch = Arrays.asList(questions.getAllValues().get(0));
+        assertThat(firstBatch).extracting(row -> row.getValue("quizId")).containsExactly(100L, 100L, 101L, 101L);
+        assertThat(firstBatch).extracting(row -> row.getValue("seq")).containsExactly(1, 2, 1, 2);
+        assertThat(firstBatch.get(0).getValue("options")).isEqualTo("[\"보기 1\",\"보기 2\",\"보기 3\",\"보기 4\"]");
+        assertThat(questions.getAllValues().get(1)).hasSize(2);
+        assertThat(meterRegistry.get("quiz.archive.written").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("quiz.archive.buffered").gauge().value()).isZero();
+    }
+
+    @Test
+    void dropsWhenBufferIsFull() {
+        ReflectionTestUtils.setField(writer, "bufferSize", 2);
+
+        for (int i = 1; i <= 3; i++) {
+            writer.offer("job-" + i, source(i), 2, quiz(2));
+        }
+
+        assertThat(meterRegistry.get("quiz.archive.buffered").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("quiz.archive.dropped").tag("reason", "buffer-full").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void retriesFailedBatchUpToMaxAttempts() {
+        doThrow(new DataAccessResourceFailureException("connection refused"))
+                .when(jdbcTemplate).batchUpdate(anyString(), any(SqlParameterSource[].class), any(KeyHolder.class), any(String[].class));
+        writer.offer("job-1", source(1), 2, quiz(2));
+
+        writer.flush(); // 실패 후 다시 버퍼에
+        assertThat(meterRegistry.get("quiz.archive.buffered").gauge().value()).isEqualTo(1);
+
+        writer.flush(); // 두 번째 실패로 버림
+        assertThat(meterRegistry.get("quiz.archive.buffered").gauge().value()).isZero();
+        assertThat(meterRegistry.get("quiz.archive.dropped").tag("reason", "failed").counter().count()).isEqualTo(1);
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), any(SqlParameterSource[].class));
+    }
+
+    @Test
+    void writesRowsOneByOneWhenBatchIsRejected() {
+        // 길이 초과처럼 특정 행 때문에 배치 전체가 거부되는 경우
+        doAnswer(invocation -> {
+            SqlParameterSource[] rows = invocation.getArgument(1);
+            KeyHolder keyHolder = invocation.getArgument(2);
+            for (SqlParameterSource row : rows) {
+                if (String.valueOf(row.getValue("sourceKey")).endsWith("/2")) {
+                    throw new DataIntegrityViolationException("Data too long");
+                }
+            }
+            for (int i = 0; i < rows.length; i++) {
+                keyHolder.getKeyList().add(Map.of("GENERATED_KEY", BigInteger.valueOf(nextId.getAndIncrement())));
+            }
+            return new int[rows.length];
+        }).when(jdbcTemplate).batchUpdate(anyString(), any(SqlParameterSource[].class), any(KeyHolder.class), any(String[].class));
+        writer.offer("job-1", source(1), 2, quiz(2));
+        writer.offer("job-2", source(2), 2, quiz(2));
+
+        writer.flush();
+
+        // 배치 1번 + 한 건씩 2번, 성공한 1건만 문제 저장
+        verify(jdbcTemplate, times(3)).batchUpdate(anyString(), any(SqlParameterSource[].class), any(KeyHolder.class), any(String[].class));
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), any(SqlParameterSource[].class));
+        assertThat(meterRegistry.get("quiz.archive.written").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("quiz.archive.dropped").tag("reason", "rejected").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("quiz.archive.buffered").gauge().value()).isZero();
+    }
+
+    @Test
+    void skipsOversizedSourceKeyAndTruncatesTitle() {
+        QuizResultDto longTitle = quiz(1);
+        longTitle.setTitle("가".repeat(600));
+        writer.offer("job-1", QuizSource.web("https://example.dev/long", "web:" + "a".repeat(600)), 1, quiz(1));
+        writer.offer("job-2", source(2), 1, longTitle);
+
+        writer.flush();
+
+        ArgumentCaptor<SqlParameterSource[]> quizzes = ArgumentCaptor.forClass(SqlParameterSource[].class);
+        verify(jdbcTemplate).batchUpdate(anyString(), quizzes.capture(), any(KeyHolder.class), any(String[].class));
+        assertThat(quizzes.getValue()).hasSize(1);
+        assertThat((String) quizzes.getValue()[0].getValue("title")).hasSize(500);
+        assertThat(meterRegistry.get("quiz.archive.dropped").tag("reason", "invalid").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void truncateKeepsSurrogatePairsWhole() {
+        assertThat(QuizArchiveWriter.truncate("ab\uD83D\uDE00", 3)).isEqualTo("ab");
+        assertThat(QuizArchiveWriter.truncate("abc", 3)).isEqualTo("abc");
+    }
+
+    private QuizSource source(int index) {
+        return QuizSource.web("https://example.dev/post/" + index, "web:example.dev/post/" + index);
+    }
+
+    private QuizResultDto quiz(int questionCount) {
+        return QuizResultDto.builder()
+                .title("퀴즈")
+                .questions(IntStream.rangeClosed(1, questionCount)
+                        .mapToObj(i -> QuizResultDto.QuestionDto.builder()
+                                .id(i)
+                                .question("문제 " + i)
+                                .options(List.of("보기 1", "보기 2", "보기 3", "보기 4"))
+                                .answer("보기 1")
+                                .explanation("해설")
+                                .build())
+                        .toList())
+                .build();
+    }
+}
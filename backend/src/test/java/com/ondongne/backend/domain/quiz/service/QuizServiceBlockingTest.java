@@ -0,0 +1,103 @@
+package com.ondongne.backend.domain.quiz.service;
+
+import com.ondongne.backend.domain.crawler.service.ContentCrawler;
+import com.ondongne.backend.domain.gemini.service.GeminiService;
+import com.ondongne.backend.domain.quiz.dto.QuizResponseDto;
+import com.ondongne.backend.domain.quiz.dto.QuizResultDto;
+import com.ondongne.backend.domain.quiz.dto.QuizSource;
+import com.ondongne.backend.domain.quiz.repository.InflightJobRepository;
+import com.ondongne.backend.domain.quiz.repository.JobQueueRepository;
+import com.ondongne.backend.domain.quiz.repository.JobRedisRepository;
+import com.ondongne.backend.domain.quiz.repository.QuizCacheRepository;
+import com.ondongne.backend.global.exception.FailCrawlException;
+import com.ondongne.backend.global.scheduler.JobScheduler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.BlockingOperationError;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 작업 완료/실패 기록이 논블로킹 스레드(리액터 parallel, Netty 이벤트 루프)를 막지 않는지 BlockHound로 검증합니다.
+ * 저장소 응답은 parallel 스레드에서 도착하게 하고, 블로킹 저장소(결과 캐시, 합류 표식)는 호출될 때 잠깐 멈추게 합니다.
+ */
+class QuizServiceBlockingTest {
+
+    private final JobRedisRepository jobRedisRepository = mock(JobRedisRepository.class);
+    private final QuizCacheRepository quizCacheRepository = mock(QuizCacheRepository.class);
+    private final InflightJobRepository inflightJobRepository = mock(InflightJobRepository.class);
+
+    private final QuizSource source = QuizSource.web("https://example.dev/blog/backpressure", "web:example.dev/blog/backpressure");
+    private final QuizResultDto result = QuizResultDto.builder().title("퀴즈").questions(List.of()).build();
+
+    private QuizService quizService;
+
+    @BeforeAll
+    static void installBlockHound() {
+        BlockHound.install();
+    }
+
+    @BeforeEach
+    void setUp() {
+        quizService = new QuizService(mock(GeminiService.class), mock(ContentCrawler.class), jobRedisRepository,
+                quizCacheRepository, mock(QuizLibraryService.class), mock(QuizArchiveWriter.class),
+                inflightJobRepository, mock(SourceKeyResolver.class), mock(JobScheduler.class),
+                mock(JobQueueRepository.class), mock(JobEventSubscriber.class), mock(JobStatusCache.class),
+                new SimpleMeterRegistry(), mock(YoutubeTranscriptExtractor.class), mock(TextPreprocessor.class));
+
+        // 실제 Redis 응답처럼 논블로킹 스레드에서 완료
+        when(jobRedisRepository.update(anyString(), any(), any(), any()))
+                .thenAnswer(invocation -> Mono.delay(Duration.ofMillis(5)).thenReturn(true));
+        doAnswer(invocation -> {
+            Thread.sleep(5);
+            return null;
+        }).when(quizCacheRepository).save(anyString(), anyInt(), any());
+        when(inflightJobRepository.release(anyString(), anyInt(), anyString())).thenAnswer(invocation -> {
+            Thread.sleep(5);
+            return List.of("follower-1");
+        });
+    }
+
+    @Test
+    void completesJobWithoutBlockingNonBlockingThreads() {
+        quizService.completeJob("job-1", source, 5, result).block(Duration.ofSeconds(5));
+
+        verify(quizCacheRepository).save(source.getSourceKey(), 5, result);
+        verify(jobRedisRepository).update(eq("follower-1"), eq(QuizResponseDto.JobStatus.COMPLETED), anyString(), eq(result));
+    }
+
+    @Test
+    void failsJobWithoutBlockingNonBlockingThreads() {
+        quizService.failJob("job-1", source, 5, new FailCrawlException(new IllegalStateException("timeout"))).block(Duration.ofSeconds(5));
+
+        verify(jobRedisRepository).update(eq("follower-1"), eq(QuizResponseDto.JobStatus.FAILED), anyString(), isNull());
+    }
+
+    @Test
+    void detectsBlockingCallOnNonBlockingThread() {
+        // 저장소 응답 콜백에서 블로킹 저장소를 바로 호출하던 이전 방식
+        Throwable error = Mono.delay(Duration.ofMillis(5))
+                .doOnNext(tick -> quizCacheRepository.save(source.getSourceKey(), 5, result))
+                .then(Mono.<Throwable>empty())
+                .onErrorResume(Mono::just)
+                .block(Duration.ofSeconds(5));
+
+        assertThat(error).isInstanceOf(BlockingOperationError.class);
+    }
+}
@@ -0,0 +1,80 @@
+package com.ondongne.backend.domain.quiz.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 상용구/반복 줄 제거가 코드 블록(``` 로 감싼 pre)을 망가뜨리지 않는지 검증합니다.
+ */
+class TextPreprocessorTest {
+
+    private TextPreprocessor preprocessor;
+
+    @BeforeEach
+    void setUp() {
+        preprocessor = new TextPreprocessor(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(preprocessor, "enabled", true);
+        ReflectionTestUtils.setField(preprocessor, "maxTokens", 100_000L);
+        ReflectionTestUtils.setField(preprocessor, "nearDuplicateSimilarity", 0.8);
+        ReflectionTestUtils.setField(preprocessor, "maxCommentLines", 5);
+    }
+
+    @Test
+    void keepsCodeBlockLinesAndIndentation() {
+        String code = """
+                ```
+                def find(items, key):
+                    for item in items:
+                        if item == key:
+                            return item
+                    return None
+                ```
+                ```
+                switch (type) {
+                    case A:
+                        break;
+                    case B:
+                        break;
+                    case C:
+                        break;
+                }
+                ```""";
+
+        String result = preprocessor.process("반복문으로 값을 찾는 예제입니다.\n" + code);
+
+        assertThat(result).isEqualTo("반복문으로 값을 찾는 예제입니다.\n" + code);
+    }
+
+    @Test
+    void removesRepeatedShortProseLinesOutsideCode() {
+        String text = String.join("\n",
+                "개발 블로그 홈",
+                "트랜잭션 전파 속성 정리",
+                "개발 블로그 홈",
+                "REQUIRES_NEW는 항상 새로운 물리 트랜잭션을 시작합니다.",
+                "return null;",
+                "return null;",
+                "return null;",
+                "개발 블로그 홈",
+                "공유하기");
+
+        String result = preprocessor.process(text);
+
+        assertThat(result).doesNotContain("개발 블로그 홈").doesNotContain("공유하기");
+        assertThat(result).contains("트랜잭션 전파 속성 정리", "REQUIRES_NEW는 항상 새로운 물리 트랜잭션을 시작합니다.");
+        assertThat(result.lines().filter("return null;"::equals).count()).isEqualTo(3);
+    }
+
+    @Test
+    void closesCodeBlockCutByTokenBudget() {
+        ReflectionTestUtils.setField(preprocessor, "maxTokens", 6L);
+
+        String result = preprocessor.process("```\nint a = 1;\nint b = 2;\nint c = 3;\nint d = 4;\nint e = 5;\n```");
+
+        assertThat(result).isEqualTo("```\nint a = 1;\nint b = 2;\n```");
+    }
+}
@@ -0,0 +1,174 @@
+package com.ondongne.backend.global.codec;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ondongne.backend.domain.quiz.dto.QuizResultDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 저장해 둔 실제 형태의 퀴즈 결과(src/test/resources/codec)로 인코딩/디코딩을 검증합니다.
+ * 형식별 크기/속도 비교 벤치마크는 기본 테스트에서 제외되며 ./gradlew benchmark 로 실행합니다.
+ */
+class PayloadCodecTest {
+
+    // 스프링 부트 기본 ObjectMapper와 같이 모르는 필드는 무시
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @ParameterizedTest
+    @EnumSource(PayloadFormat.class)
+    void roundTripsEachFormat(PayloadFormat format) throws IOException {
+        PayloadCodec codec = codec(format, 0);
+        QuizResultDto quiz = load("quiz-5.json");
+
+        byte[] encoded = codec.encode(quiz);
+
+        assertThat(encoded[0]).isEqualTo(PayloadCodec.VERSION);
+        assertThat(encoded[1]).isEqualTo(format.id());
+        assertSameQuiz(codec.decode(encoded, QuizResultDto.class), quiz);
+    }
+
+    @Test
+    void compressesOnlyAboveThreshold() throws IOException {
+        QuizResultDto quiz = load("quiz-10.json");
+
+        byte[] plain = codec(PayloadFormat.SMILE, 0).encode(quiz);
+        byte[] compressed = codec(PayloadFormat.SMILE, 1024).encode(quiz);
+        byte[] belowThreshold = codec(PayloadFormat.SMILE, plain.length + 1).encode(quiz);
+
+        assertThat(compressed[1] & 0x80).isNotZero();
+        assertThat(compressed.length).isLessThan(plain.length);
+        assertThat(belowThreshold).isEqualTo(plain);
+        assertSameQuiz(codec(PayloadFormat.SMILE, 1024).decode(compressed, QuizResultDto.class), quiz);
+    }
+
+    @Test
+    void readsValuesWrittenInAnotherFormat() throws IOException {
+        QuizResultDto quiz = load("quiz-10.json");
+        byte[] cbor = codec(PayloadFormat.CBOR, 1024).encode(quiz);
+
+        // 설정을 바꾼 뒤에도 이전 형식으로 저장된 값을 읽을 수 있어야 함
+        assertSameQuiz(codec(PayloadFormat.SMILE, 0).decode(cbor, QuizResultDto.class), quiz);
+    }
+
+    @Test
+    void readsLegacyJson() throws IOException {
+        byte[] legacy = read("quiz-5.json");
+
+        assertSameQuiz(codec(PayloadFormat.SMILE, 1024).decode(legacy, QuizResultDto.class), load("quiz-5.json"));
+    }
+
+    @Test
+    void rejectsUnknownVersion() {
+        PayloadCodec codec = codec(PayloadFormat.SMILE, 1024);
+
+        assertThatThrownBy(() -> codec.decode(new byte[]{9, 3, 0}, QuizResultDto.class))
+                .isInstanceOf(SerializationException.class);
+        assertThatThrownBy(() -> codec.decode(new byte[]{PayloadCodec.VERSION, 7, 0}, QuizResultDto.class))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    void rejectsCorruptCompressedLength() throws IOException {
+        PayloadCodec codec = codec(PayloadFormat.SMILE, 1024);
+        byte[] compressed = codec.encode(load("quiz-10.json"));
+
+        // 헤더의 원본 길이 : 음수, 상한 초과, 실제보다 큼 (safe 디코더가 입력 끝에서 멈춤)
+        for (int length : new int[]{-1, Integer.MAX_VALUE, 1 << 20}) {
+            byte[] corrupt = compressed.clone();
+            ByteBuffer.wrap(corrupt, 2, 4).putInt(length);
+            assertThatThrownBy(() -> codec.decode(corrupt, QuizResultDto.class))
+                    .isInstanceOf(SerializationException.class);
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    void sizeAndThroughputPerFormat() throws IOException {
+        int warmup = 2_000;
+        int iterations = 20_000;
+
+        for (String fixture : new String[]{"quiz-5.json", "quiz-10.json"}) {
+            QuizResultDto quiz = load(fixture);
+
+            // 기존 방식 (RedisTemplate 기본 값 직렬화, @class 포함 JSON)
+            GenericJackson2JsonRedisSerializer legacy = new GenericJackson2JsonRedisSerializer();
+            measure(fixture, "legacy-json", warmup, iterations,
+                    () -> legacy.serialize(quiz), bytes -> legacy.deserialize(bytes));
+
+            for (PayloadFormat format : PayloadFormat.values()) {
+                for (int threshold : new int[]{0, 1024}) {
+                    PayloadCodec codec = codec(format, threshold);
+                    String name = format.name().toLowerCase() + (threshold > 0 ? "+lz4" : "");
+                    measure(fixture, name, warmup, iterations,
+                            () -> codec.encode(quiz), bytes -> codec.decode(bytes, QuizResultDto.class));
+                }
+            }
+        }
+    }
+
+    private void measure(String fixture, String name, int warmup, int iterations,
+                         Supplier<byte[]> encoder,
+                         Consumer<byte[]> decoder) {
+        byte[] encoded = encoder.get();
+        for (int i = 0; i < warmup; i++) {
+            decoder.accept(encoder.get());
+        }
+
+        long encodeStart = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            encoder.get();
+        }
+        long encodeNanos = System.nanoTime() - encodeStart;
+
+        long decodeStart = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            decoder.accept(encoded);
+        }
+        long decodeNanos = System.nanoTime() - decodeStart;
+
+        System.out.printf("%-14s %-12s %6d bytes  encode %7.2f µs  decode %7.2f µs%n",
+                fixture, name, encoded.length,
+                encodeNanos / 1_000.0 / iterations, decodeNanos / 1_000.0 / iterations);
+    }
+
+    private PayloadCodec codec(PayloadFormat format, int compressionThresholdBytes) {
+        PayloadCodec codec = new PayloadCodec(objectMapper, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(codec, "format", format);
+        ReflectionTestUtils.setField(codec, "compressionThresholdBytes", compressionThresholdBytes);
+        ReflectionTestUtils.setField(codec, "maxDecompressedBytes", 16 * 1024 * 1024);
+        codec.init();
+        return codec;
+    }
+
+    private void assertSameQuiz(QuizResultDto actual, QuizResultDto expected) {
+        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+    }
+
+    private QuizResultDto load(String fixture) throws IOException {
+        return objectMapper.readValue(read(fixture), QuizResultDto.class);
+    }
+
+    private byte[] read(String fixture) throws IOException {
+        try (InputStream input = getClass().getResourceAsStream("/codec/" + fixture)) {
+            assertThat(input).as(fixture).isNotNull();
+            return input.readAllBytes();
+        }
+    }
+}